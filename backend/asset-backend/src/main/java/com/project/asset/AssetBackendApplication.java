@@ -1,7 +1,13 @@
 package com.project.asset;
 
+import com.project.asset.config.AuditProperties;
+import com.project.asset.config.ExportProperties;
+import com.project.asset.config.ImportProperties;
 import com.project.asset.config.JwtProperties;
 import com.project.asset.config.LoanReminderProperties;
+import com.project.asset.config.LoginProperties;
+import com.project.asset.config.NumberingProperties;
+import com.project.asset.config.ReplicaProperties;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
@@ -9,7 +15,11 @@ import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
 @EnableScheduling
-@EnableConfigurationProperties({JwtProperties.class, LoanReminderProperties.class})
+@EnableConfigurationProperties({
+    JwtProperties.class, LoanReminderProperties.class, LoginProperties.class, ExportProperties.class,
+    ReplicaProperties.class, ImportProperties.class, AuditProperties.class,
+    NumberingProperties.class
+})
 public class AssetBackendApplication {
 
     public static void main(String[] args) {
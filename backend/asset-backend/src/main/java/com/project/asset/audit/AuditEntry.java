@@ -0,0 +1,10 @@
+package com.project.asset.audit;
+
+import java.time.LocalDateTime;
+
+/**
+ * 待写入的审计记录，createdAt 为业务操作发生的时间。
+ */
+public record AuditEntry(
+        Long userId, String action, String entity, Long entityId, String detail, LocalDateTime createdAt) {
+}
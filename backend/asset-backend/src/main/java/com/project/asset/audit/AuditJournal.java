@@ -0,0 +1,108 @@
+package com.project.asset.audit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * 本地审计日志文件（NDJSON）：队列溢出或写库失败的记录追加到 pending 文件，每次追加后刷到操作系统，
+ * 进程崩溃也不会丢失。重放时先把 pending 改名为 replaying，新的追加写入新的 pending 文件。
+ */
+class AuditJournal {
+
+    private final Path pending;
+    private final Path replaying;
+    private final ObjectMapper objectMapper;
+    private Writer writer;
+    private long replayed;
+
+    AuditJournal(Path directory, ObjectMapper objectMapper) {
+        this.pending = directory.resolve("pending.ndjson");
+        this.replaying = directory.resolve("replaying.ndjson");
+        this.objectMapper = objectMapper;
+    }
+
+    synchronized void append(List<AuditEntry> entries) {
+        try {
+            if (writer == null) {
+                Files.createDirectories(pending.getParent());
+                writer = Files.newBufferedWriter(
+                        pending, StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+            }
+            for (AuditEntry entry : entries) {
+                writer.write(objectMapper.writeValueAsString(entry));
+                writer.write('\n');
+            }
+            writer.flush();
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Cannot append to audit journal " + pending, ex);
+        }
+    }
+
+    boolean hasEntries() {
+        return Files.exists(replaying) || Files.exists(pending);
+    }
+
+    /**
+     * 按批交给 sink 写库；sink 抛出异常时保留文件，下次从未写入的批次继续。
+     * 同一进程内不会重复写入已成功的批次，进程在重放中途退出时已写入的批次可能再写一次。
+     */
+    void replay(int batchSize, Consumer<List<AuditEntry>> sink) throws IOException {
+        if (!Files.exists(replaying)) {
+            synchronized (this) {
+                if (!Files.exists(pending)) {
+                    return;
+                }
+                closeWriter();
+                Files.move(pending, replaying, StandardCopyOption.ATOMIC_MOVE);
+                replayed = 0;
+            }
+        }
+        try (BufferedReader reader = Files.newBufferedReader(replaying, StandardCharsets.UTF_8)) {
+            long line = 0;
+            List<AuditEntry> batch = new ArrayList<>(batchSize);
+            String json;
+            while ((json = reader.readLine()) != null) {
+                if (line++ < replayed || json.isBlank()) {
+                    continue;
+                }
+                batch.add(objectMapper.readValue(json, AuditEntry.class));
+                if (batch.size() == batchSize) {
+                    sink.accept(batch);
+                    replayed = line;
+                    batch = new ArrayList<>(batchSize);
+                }
+            }
+            if (!batch.isEmpty()) {
+                sink.accept(batch);
+            }
+        }
+        Files.delete(replaying);
+        replayed = 0;
+    }
+
+    synchronized void close() {
+        try {
+            closeWriter();
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    private void closeWriter() throws IOException {
+        if (writer != null) {
+            writer.close();
+            writer = null;
+        }
+    }
+}
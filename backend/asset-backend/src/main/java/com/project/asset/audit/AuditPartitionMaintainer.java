@@ -0,0 +1,270 @@
+package com.project.asset.audit;
+
+import com.project.asset.change.Aggregate;
+import com.project.asset.change.AggregateChangedEvent;
+import com.project.asset.config.AuditProperties;
+import com.project.asset.config.ExportProperties;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Component;
+
+/**
+ * 维护 audit_logs 的月分区：提前从 p_future 拆出后续月份；超过保留期的分区先交换到同结构的普通表，
+ * 再写入归档目录下的段文件（见 {@link AuditSegment}），最后删除该表和空分区。交换与删除分区都只修改元数据，不产生大批量 DELETE。
+ * 每一步都可重入，中途失败后下次运行从断点继续。仅在 MySQL 且表已分区时生效，多实例通过命名锁互斥。
+ * 启动时在 Web 服务器接收请求之前先补齐未来月份，避免停机期间写入的记录落入 p_future 后拆分需要搬数据。
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class AuditPartitionMaintainer implements SmartInitializingSingleton {
+
+    private static final String TABLE = "audit_logs";
+    private static final String FUTURE = "p_future";
+    private static final String LOCK = "asset.audit_logs.partitions";
+    private static final DateTimeFormatter MONTH = DateTimeFormatter.ofPattern("yyyyMM");
+    /**
+     * 等待元数据锁的秒数，避免被长查询阻塞时连带阻塞后续读写。
+     */
+    private static final int LOCK_WAIT_SECONDS = 10;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final AuditProperties properties;
+    private final ExportProperties exportProperties;
+    private final ColdAuditStore coldAuditStore;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TaskScheduler taskScheduler;
+
+    /**
+     * 所有单例创建完成、Web 服务器启动之前执行，只创建分区不归档；归档留给定期任务。
+     */
+    @Override
+    public void afterSingletonsInstantiated() {
+        run(false);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        taskScheduler.scheduleWithFixedDelay(this::maintain, properties.getPartitionMaintenanceInterval());
+    }
+
+    public void maintain() {
+        run(true);
+        // 其他实例归档的段写入共享目录后也在这里加载
+        coldAuditStore.refresh();
+    }
+
+    private void run(boolean archive) {
+        try {
+            jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+                maintain(connection, archive);
+                return null;
+            });
+        } catch (RuntimeException ex) {
+            log.error("Audit log partition maintenance failed", ex);
+        }
+    }
+
+    private void maintain(Connection connection, boolean archive) throws SQLException {
+        if (!"MySQL".equalsIgnoreCase(connection.getMetaData().getDatabaseProductName())) {
+            return;
+        }
+        List<Partition> partitions = partitions(connection, TABLE);
+        if (partitions.isEmpty()) {
+            log.debug("{} is not partitioned, skipping maintenance", TABLE);
+            return;
+        }
+        if (!acquireLock(connection)) {
+            return;
+        }
+        int lockWaitTimeout = queryInt(connection, "SELECT @@SESSION.lock_wait_timeout");
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("SET SESSION lock_wait_timeout = " + LOCK_WAIT_SECONDS);
+            LocalDate month = LocalDate.now().withDayOfMonth(1);
+            addMonths(statement, partitions, month.plusMonths(properties.getPartitionsAhead() + 1L));
+            if (archive && properties.getRetentionMonths() > 0) {
+                LocalDate cutoff = month.minusMonths(properties.getRetentionMonths());
+                for (Partition partition : partitions) {
+                    if (partition.upperBound() != null && !partition.upperBound().isAfter(cutoff)) {
+                        archive(connection, partition.name());
+                    }
+                }
+            }
+        } finally {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("SET SESSION lock_wait_timeout = " + lockWaitTimeout);
+                statement.execute("DO RELEASE_LOCK('" + LOCK + "')");
+            }
+        }
+    }
+
+    /**
+     * 从 p_future 拆出月分区直到 until（不含）。p_future 通常为空，拆分只改元数据。
+     */
+    private void addMonths(Statement statement, List<Partition> partitions, LocalDate until) throws SQLException {
+        if (partitions.stream().noneMatch(partition -> FUTURE.equals(partition.name()))) {
+            log.warn("{} has no {} partition, cannot add monthly partitions", TABLE, FUTURE);
+            return;
+        }
+        LocalDate next = partitions.stream()
+                .map(Partition::upperBound)
+                .filter(Objects::nonNull)
+                .max(LocalDate::compareTo)
+                .orElse(until);
+        if (!next.isBefore(until)) {
+            return;
+        }
+        if (!isEmpty(statement, TABLE + " PARTITION (" + FUTURE + ")")) {
+            log.warn("{} partition {} already holds rows, splitting it copies them and blocks writes meanwhile",
+                    TABLE, FUTURE);
+        }
+        StringBuilder sql = new StringBuilder("ALTER TABLE " + TABLE + " REORGANIZE PARTITION " + FUTURE + " INTO (");
+        List<String> added = new ArrayList<>();
+        for (; next.isBefore(until); next = next.plusMonths(1)) {
+            String name = "p" + next.format(MONTH);
+            sql.append("PARTITION ").append(name)
+                    .append(" VALUES LESS THAN ('").append(next.plusMonths(1)).append("'), ");
+            added.add(name);
+        }
+        sql.append("PARTITION ").append(FUTURE).append(" VALUES LESS THAN (MAXVALUE))");
+        statement.execute(sql.toString());
+        log.info("Added audit log partitions {}", added);
+    }
+
+    private void archive(Connection connection, String partition) throws SQLException {
+        String swap = TABLE + "_archive_" + partition;
+        Path file = properties.getArchiveDir().resolve(TABLE + "-" + partition + ColdAuditStore.SUFFIX);
+        try (Statement statement = connection.createStatement()) {
+            if (!tableExists(connection, swap)) {
+                statement.execute("CREATE TABLE " + swap + " LIKE " + TABLE);
+            }
+            if (!partitions(connection, swap).isEmpty()) {
+                statement.execute("ALTER TABLE " + swap + " REMOVE PARTITIONING");
+            }
+            // 上次中断在交换之后时，数据已在 swap 表中，分区为空，不能再交换回去
+            if (isEmpty(statement, swap) && !isEmpty(statement, TABLE + " PARTITION (" + partition + ")")) {
+                statement.execute("ALTER TABLE " + TABLE + " EXCHANGE PARTITION " + partition
+                        + " WITH TABLE " + swap + " WITHOUT VALIDATION");
+            }
+            if (!isEmpty(statement, swap) || Files.notExists(file)) {
+                long rows = export(connection, swap, file);
+                log.info("Archived {} audit log rows of partition {} to {}", rows, partition, file);
+            }
+            coldAuditStore.refresh();
+            statement.execute("DROP TABLE " + swap);
+            statement.execute("ALTER TABLE " + TABLE + " DROP PARTITION " + partition);
+            eventPublisher.publishEvent(AggregateChangedEvent.of(Aggregate.AUDIT_LOG));
+        }
+    }
+
+    /**
+     * 写入临时段文件并刷盘后原子改名，中途失败不会留下不完整的段。
+     */
+    private long export(Connection connection, String table, Path file) throws SQLException {
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        try (Statement statement =
+                connection.createStatement(ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+            statement.setFetchSize(exportProperties.getFetchSize());
+            Files.createDirectories(file.toAbsolutePath().getParent());
+            long rows;
+            try (ResultSet rs = statement.executeQuery(
+                            "SELECT id, user_id, action, entity, entity_id, detail, created_at FROM " + table
+                                    + " ORDER BY id");
+                    AuditSegmentWriter writer = new AuditSegmentWriter(temp)) {
+                while (rs.next()) {
+                    writer.append(new ColdAuditRow(
+                            rs.getLong("id"),
+                            rs.getObject("user_id", Long.class),
+                            rs.getString("action"),
+                            rs.getString("entity"),
+                            rs.getObject("entity_id", Long.class),
+                            rs.getString("detail"),
+                            rs.getTimestamp("created_at").toLocalDateTime()));
+                }
+                rows = writer.rows();
+            }
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            return rows;
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Cannot write audit segment " + file, ex);
+        }
+    }
+
+    private static List<Partition> partitions(Connection connection, String table) throws SQLException {
+        List<Partition> partitions = new ArrayList<>();
+        try (PreparedStatement statement = connection.prepareStatement(
+                "SELECT partition_name, partition_description FROM information_schema.partitions"
+                        + " WHERE table_schema = DATABASE() AND table_name = ? AND partition_name IS NOT NULL"
+                        + " ORDER BY partition_ordinal_position")) {
+            statement.setString(1, table);
+            try (ResultSet rs = statement.executeQuery()) {
+                while (rs.next()) {
+                    partitions.add(new Partition(rs.getString(1), upperBound(rs.getString(2))));
+                }
+            }
+        }
+        return partitions;
+    }
+
+    /**
+     * RANGE COLUMNS 的分区描述形如 '2026-11-01 00:00:00' 或 MAXVALUE。
+     */
+    static LocalDate upperBound(String description) {
+        if (description == null || "MAXVALUE".equalsIgnoreCase(description)) {
+            return null;
+        }
+        return LocalDate.parse(description.replace("'", "").substring(0, 10));
+    }
+
+    private static boolean tableExists(Connection connection, String table) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(
+                "SELECT 1 FROM information_schema.tables WHERE table_schema = DATABASE() AND table_name = ?")) {
+            statement.setString(1, table);
+            try (ResultSet rs = statement.executeQuery()) {
+                return rs.next();
+            }
+        }
+    }
+
+    private static boolean isEmpty(Statement statement, String source) throws SQLException {
+        try (ResultSet rs = statement.executeQuery("SELECT 1 FROM " + source + " LIMIT 1")) {
+            return !rs.next();
+        }
+    }
+
+    private static boolean acquireLock(Connection connection) throws SQLException {
+        return queryInt(connection, "SELECT GET_LOCK('" + LOCK + "', 0)") == 1;
+    }
+
+    private static int queryInt(Connection connection, String sql) throws SQLException {
+        try (Statement statement = connection.createStatement(); ResultSet rs = statement.executeQuery(sql)) {
+            rs.next();
+            return rs.getInt(1);
+        }
+    }
+
+    private record Partition(String name, LocalDate upperBound) {
+    }
+}
@@ -0,0 +1,9 @@
+package com.project.asset.audit;
+
+import java.util.List;
+
+/**
+ * 业务事务中产生的审计记录，事务提交后进入写入队列，回滚则丢弃。
+ */
+public record AuditRecordedEvent(List<AuditEntry> entries) {
+}
@@ -0,0 +1,463 @@
+package com.project.asset.audit;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.PriorityQueue;
+import java.util.TreeSet;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+/**
+ * 冷审计数据段文件，写入后不再修改。文件由若干行组组成，每个行组按列（id、时间、用户、实体、实体 id、操作、详情）
+ * 分别以 Deflate 压缩；实体与操作以段内字典编码。文件尾部的索引记录每个行组各列的位置，以及 id、时间、用户、
+ * 实体 id 的最小/最大值和出现过的实体、操作编码，扫描时据此跳过整个段或行组，命中的行组也只在有匹配行时才解压详情列。
+ * 文件以只读方式映射到内存，解压直接读取映射区域。
+ *
+ * <pre>
+ * header  : int magic, int version
+ * groups  : 每个行组的 7 个压缩列块
+ * footer  : 操作字典, 实体字典, int groupCount, 行组索引...
+ * trailer : long footerOffset, int magic
+ * </pre>
+ */
+final class AuditSegment {
+
+    static final int MAGIC = 0x41534547;
+    static final int VERSION = 1;
+
+    static final int ID = 0;
+    static final int CREATED_AT = 1;
+    static final int USER_ID = 2;
+    static final int ENTITY = 3;
+    static final int ENTITY_ID = 4;
+    static final int ACTION = 5;
+    static final int DETAIL = 6;
+    static final int COLUMNS = 7;
+
+    /**
+     * 排序顺序：排序键倒序，相同时 id 倒序，与列表接口一致。
+     */
+    static final Comparator<Candidate> ORDER =
+            Comparator.comparingLong(Candidate::key).thenComparingLong(Candidate::id).reversed();
+
+    private final Path file;
+    private final ByteBuffer buffer;
+    private final String[] actions;
+    private final Map<String, Integer> actionCodes;
+    private final String[] entities;
+    private final Map<String, Integer> entityCodes;
+    private final List<RowGroup> groups;
+    private final RowGroup summary;
+
+    private AuditSegment(Path file, ByteBuffer buffer) throws IOException {
+        this.file = file;
+        this.buffer = buffer;
+        if (buffer.capacity() < 20 || buffer.getInt(0) != MAGIC || buffer.getInt(buffer.capacity() - 4) != MAGIC) {
+            throw new IOException("Not an audit segment: " + file);
+        }
+        if (buffer.getInt(4) != VERSION) {
+            throw new IOException("Unsupported audit segment version " + buffer.getInt(4) + ": " + file);
+        }
+        ByteBuffer footer = buffer.duplicate().position((int) buffer.getLong(buffer.capacity() - 12));
+        this.actions = readDictionary(footer);
+        this.actionCodes = codes(actions);
+        this.entities = readDictionary(footer);
+        this.entityCodes = codes(entities);
+        int count = footer.getInt();
+        List<RowGroup> loaded = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            loaded.add(RowGroup.read(footer));
+        }
+        this.groups = List.copyOf(loaded);
+        this.summary = RowGroup.summarize(groups);
+    }
+
+    static AuditSegment open(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IOException("Audit segment larger than 2 GB: " + file);
+            }
+            return new AuditSegment(file, channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+    }
+
+    Path file() {
+        return file;
+    }
+
+    long rows() {
+        return summary.rows;
+    }
+
+    /**
+     * 按排序顺序返回最靠前的 limit 条匹配记录。
+     */
+    List<ColdAuditRow> top(SegmentScan scan, int limit) {
+        Codes codes = resolve(scan);
+        if (codes == null || !scan.mayMatch(summary, codes)) {
+            return List.of();
+        }
+        PriorityQueue<Candidate> best = new PriorityQueue<>(ORDER.reversed());
+        for (RowGroup group : groups) {
+            if (!scan.mayMatch(group, codes)) {
+                continue;
+            }
+            Columns columns = decode(group);
+            for (int row = 0; row < group.rows; row++) {
+                if (!scan.matches(columns, row, codes)) {
+                    continue;
+                }
+                Candidate candidate = new Candidate(scan.key(columns, row), columns.ids[row], columns, row);
+                if (best.size() < limit) {
+                    best.add(candidate);
+                } else if (ORDER.compare(candidate, best.peek()) < 0) {
+                    best.poll();
+                    best.add(candidate);
+                }
+            }
+        }
+        List<Candidate> sorted = new ArrayList<>(best);
+        sorted.sort(ORDER);
+        return sorted.stream().map(this::toRow).toList();
+    }
+
+    /**
+     * 按写入顺序（id 升序）逐行返回匹配记录，行组在读到时才解压。
+     */
+    Stream<ColdAuditRow> rows(SegmentScan scan) {
+        Codes codes = resolve(scan);
+        if (codes == null || !scan.mayMatch(summary, codes)) {
+            return Stream.empty();
+        }
+        return groups.stream()
+                .filter(group -> scan.mayMatch(group, codes))
+                .flatMap(group -> {
+                    Columns columns = decode(group);
+                    return IntStream.range(0, group.rows)
+                            .filter(row -> scan.matches(columns, row, codes))
+                            .mapToObj(row -> toRow(columns, row));
+                });
+    }
+
+    long count(SegmentScan scan) {
+        Codes codes = resolve(scan);
+        if (codes == null || !scan.mayMatch(summary, codes)) {
+            return 0;
+        }
+        long count = 0;
+        for (RowGroup group : groups) {
+            if (!scan.mayMatch(group, codes)) {
+                continue;
+            }
+            Columns columns = decode(group);
+            for (int row = 0; row < group.rows; row++) {
+                if (scan.matches(columns, row, codes)) {
+                    count++;
+                }
+            }
+        }
+        return count;
+    }
+
+    /**
+     * 把筛选条件中的实体、操作转换为本段的字典编码；段内不存在时返回 null，整个段跳过。
+     */
+    private Codes resolve(SegmentScan scan) {
+        int entity = -1;
+        if (scan.entity() != null) {
+            Integer code = entityCodes.get(scan.entity());
+            if (code == null) {
+                return null;
+            }
+            entity = code;
+        }
+        int[] actionFilter = null;
+        if (scan.actions() != null && !scan.actions().isEmpty()) {
+            actionFilter = scan.actions().stream()
+                    .map(actionCodes::get)
+                    .filter(Objects::nonNull)
+                    .mapToInt(Integer::intValue)
+                    .sorted()
+                    .toArray();
+            if (actionFilter.length == 0) {
+                return null;
+            }
+        }
+        return new Codes(entity, actionFilter);
+    }
+
+    private Columns decode(RowGroup group) {
+        int rows = group.rows;
+        Columns columns = new Columns(group);
+        VarReader ids = new VarReader(inflate(group, ID));
+        VarReader createdAt = new VarReader(inflate(group, CREATED_AT));
+        VarReader userIds = new VarReader(inflate(group, USER_ID));
+        VarReader entityIds = new VarReader(inflate(group, ENTITY_ID));
+        VarReader entityCodes = new VarReader(inflate(group, ENTITY));
+        VarReader actionCodes = new VarReader(inflate(group, ACTION));
+        long id = 0;
+        long time = 0;
+        for (int row = 0; row < rows; row++) {
+            id += ids.readSigned();
+            time += createdAt.readSigned();
+            columns.ids[row] = id;
+            columns.createdAt[row] = time;
+            columns.userIds[row] = userIds.readNullable();
+            columns.entityIds[row] = entityIds.readNullable();
+            columns.entities[row] = (int) entityCodes.readUnsigned() - 1;
+            columns.actions[row] = (int) actionCodes.readUnsigned() - 1;
+        }
+        return columns;
+    }
+
+    private ColdAuditRow toRow(Candidate candidate) {
+        return toRow(candidate.columns(), candidate.row());
+    }
+
+    private ColdAuditRow toRow(Columns columns, int row) {
+        int entity = columns.entities[row];
+        int action = columns.actions[row];
+        return new ColdAuditRow(
+                columns.ids[row],
+                columns.userIds[row],
+                action >= 0 ? actions[action] : null,
+                entity >= 0 ? entities[entity] : null,
+                columns.entityIds[row],
+                details(columns)[row],
+                time(columns.createdAt[row]));
+    }
+
+    /**
+     * 详情列只在行组中有记录进入结果时解压一次。
+     */
+    private String[] details(Columns columns) {
+        if (columns.details == null) {
+            VarReader reader = new VarReader(inflate(columns.group, DETAIL));
+            String[] details = new String[columns.group.rows];
+            for (int row = 0; row < details.length; row++) {
+                details[row] = reader.readString();
+            }
+            columns.details = details;
+        }
+        return columns.details;
+    }
+
+    private byte[] inflate(RowGroup group, int column) {
+        byte[] raw = new byte[group.rawLengths[column]];
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(buffer.slice((int) group.offsets[column], group.lengths[column]));
+            int read = 0;
+            while (read < raw.length && !inflater.finished()) {
+                read += inflater.inflate(raw, read, raw.length - read);
+            }
+            return raw;
+        } catch (DataFormatException ex) {
+            throw new IllegalStateException("Corrupt audit segment " + file, ex);
+        } finally {
+            inflater.end();
+        }
+    }
+
+    private static String[] readDictionary(ByteBuffer footer) {
+        String[] values = new String[footer.getInt()];
+        for (int i = 0; i < values.length; i++) {
+            byte[] bytes = new byte[footer.getInt()];
+            footer.get(bytes);
+            values[i] = new String(bytes, StandardCharsets.UTF_8);
+        }
+        return values;
+    }
+
+    private static Map<String, Integer> codes(String[] dictionary) {
+        Map<String, Integer> codes = new HashMap<>(dictionary.length * 2);
+        for (int i = 0; i < dictionary.length; i++) {
+            codes.put(dictionary[i], i);
+        }
+        return codes;
+    }
+
+    static long micros(LocalDateTime time) {
+        return time.toEpochSecond(ZoneOffset.UTC) * 1_000_000L + time.getNano() / 1_000;
+    }
+
+    static LocalDateTime time(long micros) {
+        return LocalDateTime.ofEpochSecond(
+                Math.floorDiv(micros, 1_000_000L), (int) Math.floorMod(micros, 1_000_000L) * 1_000, ZoneOffset.UTC);
+    }
+
+    /**
+     * 行组索引。min/max 依次为 id、时间、用户 id、实体 id，用户与实体 id 只统计非空值。
+     */
+    static final class RowGroup {
+
+        final int rows;
+        final long[] min;
+        final long[] max;
+        final int[] entityCodes;
+        final int[] actionCodes;
+        final long[] offsets;
+        final int[] lengths;
+        final int[] rawLengths;
+
+        private RowGroup(int rows, long[] min, long[] max, int[] entityCodes, int[] actionCodes,
+                long[] offsets, int[] lengths, int[] rawLengths) {
+            this.rows = rows;
+            this.min = min;
+            this.max = max;
+            this.entityCodes = entityCodes;
+            this.actionCodes = actionCodes;
+            this.offsets = offsets;
+            this.lengths = lengths;
+            this.rawLengths = rawLengths;
+        }
+
+        private static RowGroup read(ByteBuffer footer) {
+            int rows = footer.getInt();
+            long[] min = new long[4];
+            long[] max = new long[4];
+            for (int i = 0; i < 4; i++) {
+                min[i] = footer.getLong();
+                max[i] = footer.getLong();
+            }
+            int[] entityCodes = readInts(footer);
+            int[] actionCodes = readInts(footer);
+            long[] offsets = new long[COLUMNS];
+            int[] lengths = new int[COLUMNS];
+            int[] rawLengths = new int[COLUMNS];
+            for (int column = 0; column < COLUMNS; column++) {
+                offsets[column] = footer.getLong();
+                lengths[column] = footer.getInt();
+                rawLengths[column] = footer.getInt();
+            }
+            return new RowGroup(rows, min, max, entityCodes, actionCodes, offsets, lengths, rawLengths);
+        }
+
+        /**
+         * 段级索引：合并全部行组的统计，不含列位置。
+         */
+        private static RowGroup summarize(List<RowGroup> groups) {
+            int rows = 0;
+            long[] min = {Long.MAX_VALUE, Long.MAX_VALUE, Long.MAX_VALUE, Long.MAX_VALUE};
+            long[] max = {Long.MIN_VALUE, Long.MIN_VALUE, Long.MIN_VALUE, Long.MIN_VALUE};
+            TreeSet<Integer> entityCodes = new TreeSet<>();
+            TreeSet<Integer> actionCodes = new TreeSet<>();
+            for (RowGroup group : groups) {
+                rows += group.rows;
+                for (int i = 0; i < 4; i++) {
+                    min[i] = Math.min(min[i], group.min[i]);
+                    max[i] = Math.max(max[i], group.max[i]);
+                }
+                Arrays.stream(group.entityCodes).forEach(entityCodes::add);
+                Arrays.stream(group.actionCodes).forEach(actionCodes::add);
+            }
+            return new RowGroup(rows, min, max,
+                    entityCodes.stream().mapToInt(Integer::intValue).toArray(),
+                    actionCodes.stream().mapToInt(Integer::intValue).toArray(),
+                    null, null, null);
+        }
+
+        private static int[] readInts(ByteBuffer footer) {
+            int[] values = new int[footer.getInt()];
+            for (int i = 0; i < values.length; i++) {
+                values[i] = footer.getInt();
+            }
+            return values;
+        }
+    }
+
+    /**
+     * 一个行组解码后的筛选列，详情列按需解码。
+     */
+    static final class Columns {
+
+        final RowGroup group;
+        final long[] ids;
+        final long[] createdAt;
+        final Long[] userIds;
+        final Long[] entityIds;
+        final int[] entities;
+        final int[] actions;
+        String[] details;
+
+        private Columns(RowGroup group) {
+            this.group = group;
+            this.ids = new long[group.rows];
+            this.createdAt = new long[group.rows];
+            this.userIds = new Long[group.rows];
+            this.entityIds = new Long[group.rows];
+            this.entities = new int[group.rows];
+            this.actions = new int[group.rows];
+        }
+    }
+
+    /**
+     * 筛选条件在本段中的字典编码，entity 为 -1 表示不按实体筛选，actions 为 null 表示不按操作筛选。
+     */
+    record Codes(int entity, int[] actions) {
+    }
+
+    record Candidate(long key, long id, Columns columns, int row) {
+    }
+
+    private static final class VarReader {
+
+        private final byte[] data;
+        private int position;
+
+        VarReader(byte[] data) {
+            this.data = data;
+        }
+
+        long readUnsigned() {
+            long value = 0;
+            int shift = 0;
+            byte current;
+            do {
+                current = data[position++];
+                value |= (long) (current & 0x7F) << shift;
+                shift += 7;
+            } while (current < 0);
+            return value;
+        }
+
+        long readSigned() {
+            long raw = readUnsigned();
+            return (raw >>> 1) ^ -(raw & 1);
+        }
+
+        Long readNullable() {
+            long raw = readUnsigned();
+            if (raw == 0) {
+                return null;
+            }
+            raw -= 1;
+            return (raw >>> 1) ^ -(raw & 1);
+        }
+
+        String readString() {
+            int length = (int) readUnsigned();
+            if (length == 0) {
+                return null;
+            }
+            String value = new String(data, position, length - 1, StandardCharsets.UTF_8);
+            position += length - 1;
+            return value;
+        }
+    }
+}
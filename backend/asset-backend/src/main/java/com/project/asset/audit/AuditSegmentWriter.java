@@ -0,0 +1,224 @@
+package com.project.asset.audit;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.zip.Deflater;
+
+/**
+ * 顺序写入一个段文件，格式见 {@link AuditSegment}。行需按 id 递增追加，关闭时写入文件尾索引并刷盘。
+ */
+final class AuditSegmentWriter implements Closeable {
+
+    static final int DEFAULT_ROW_GROUP_SIZE = 65_536;
+
+    private final FileChannel channel;
+    private final int rowGroupSize;
+    private final List<ColdAuditRow> pending;
+    private final Map<String, Integer> actions = new LinkedHashMap<>();
+    private final Map<String, Integer> entities = new LinkedHashMap<>();
+    private final ByteArrayOutputStream groupIndex = new ByteArrayOutputStream();
+    private final Deflater deflater = new Deflater();
+    private int groups;
+    private long rows;
+    private long position;
+
+    AuditSegmentWriter(Path file) throws IOException {
+        this(file, DEFAULT_ROW_GROUP_SIZE);
+    }
+
+    AuditSegmentWriter(Path file, int rowGroupSize) throws IOException {
+        this.rowGroupSize = rowGroupSize;
+        this.pending = new ArrayList<>(Math.min(rowGroupSize, 4096));
+        this.channel = FileChannel.open(
+                file, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+        write(ByteBuffer.allocate(8).putInt(AuditSegment.MAGIC).putInt(AuditSegment.VERSION).flip());
+    }
+
+    void append(ColdAuditRow row) throws IOException {
+        pending.add(row);
+        if (pending.size() == rowGroupSize) {
+            flushGroup();
+        }
+    }
+
+    long rows() {
+        return rows;
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            flushGroup();
+            ByteArrayOutputStream footer = new ByteArrayOutputStream();
+            DataOutputStream out = new DataOutputStream(footer);
+            writeDictionary(out, actions);
+            writeDictionary(out, entities);
+            out.writeInt(groups);
+            groupIndex.writeTo(out);
+            long footerOffset = position;
+            write(ByteBuffer.wrap(footer.toByteArray()));
+            write(ByteBuffer.allocate(12).putLong(footerOffset).putInt(AuditSegment.MAGIC).flip());
+            channel.force(true);
+        } finally {
+            deflater.end();
+            channel.close();
+        }
+    }
+
+    private void flushGroup() throws IOException {
+        if (pending.isEmpty()) {
+            return;
+        }
+        ByteSink[] columns = new ByteSink[AuditSegment.COLUMNS];
+        for (int i = 0; i < columns.length; i++) {
+            columns[i] = new ByteSink();
+        }
+        long[] min = {Long.MAX_VALUE, Long.MAX_VALUE, Long.MAX_VALUE, Long.MAX_VALUE};
+        long[] max = {Long.MIN_VALUE, Long.MIN_VALUE, Long.MIN_VALUE, Long.MIN_VALUE};
+        TreeSet<Integer> entityCodes = new TreeSet<>();
+        TreeSet<Integer> actionCodes = new TreeSet<>();
+        long previousId = 0;
+        long previousCreatedAt = 0;
+        for (ColdAuditRow row : pending) {
+            long createdAt = AuditSegment.micros(row.createdAt());
+            columns[AuditSegment.ID].writeSigned(row.id() - previousId);
+            columns[AuditSegment.CREATED_AT].writeSigned(createdAt - previousCreatedAt);
+            columns[AuditSegment.USER_ID].writeNullable(row.userId());
+            columns[AuditSegment.ENTITY_ID].writeNullable(row.entityId());
+            int entity = code(entities, row.entity());
+            int action = code(actions, row.action());
+            columns[AuditSegment.ENTITY].writeUnsigned(entity + 1L);
+            columns[AuditSegment.ACTION].writeUnsigned(action + 1L);
+            columns[AuditSegment.DETAIL].writeString(row.detail());
+            previousId = row.id();
+            previousCreatedAt = createdAt;
+            track(min, max, 0, row.id());
+            track(min, max, 1, createdAt);
+            if (row.userId() != null) {
+                track(min, max, 2, row.userId());
+            }
+            if (row.entityId() != null) {
+                track(min, max, 3, row.entityId());
+            }
+            if (entity >= 0) {
+                entityCodes.add(entity);
+            }
+            if (action >= 0) {
+                actionCodes.add(action);
+            }
+        }
+        DataOutputStream index = new DataOutputStream(groupIndex);
+        index.writeInt(pending.size());
+        for (int i = 0; i < min.length; i++) {
+            index.writeLong(min[i]);
+            index.writeLong(max[i]);
+        }
+        writeCodes(index, entityCodes);
+        writeCodes(index, actionCodes);
+        for (ByteSink column : columns) {
+            byte[] compressed = deflate(column);
+            index.writeLong(position);
+            index.writeInt(compressed.length);
+            index.writeInt(column.size());
+            write(ByteBuffer.wrap(compressed));
+        }
+        groups++;
+        rows += pending.size();
+        pending.clear();
+    }
+
+    private byte[] deflate(ByteSink column) {
+        deflater.reset();
+        deflater.setInput(column.buffer(), 0, column.size());
+        deflater.finish();
+        ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(64, column.size() / 4));
+        byte[] chunk = new byte[16 * 1024];
+        while (!deflater.finished()) {
+            out.write(chunk, 0, deflater.deflate(chunk));
+        }
+        return out.toByteArray();
+    }
+
+    private void write(ByteBuffer bytes) throws IOException {
+        while (bytes.hasRemaining()) {
+            position += channel.write(bytes);
+        }
+    }
+
+    private static void track(long[] min, long[] max, int index, long value) {
+        min[index] = Math.min(min[index], value);
+        max[index] = Math.max(max[index], value);
+    }
+
+    private static int code(Map<String, Integer> dictionary, String value) {
+        return value == null ? -1 : dictionary.computeIfAbsent(value, ignored -> dictionary.size());
+    }
+
+    private static void writeCodes(DataOutputStream out, TreeSet<Integer> codes) throws IOException {
+        out.writeInt(codes.size());
+        for (int code : codes) {
+            out.writeInt(code);
+        }
+    }
+
+    private static void writeDictionary(DataOutputStream out, Map<String, Integer> dictionary) throws IOException {
+        out.writeInt(dictionary.size());
+        for (String value : dictionary.keySet()) {
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            out.writeInt(bytes.length);
+            out.write(bytes);
+        }
+    }
+
+    /**
+     * 列缓冲：整数按 varint 编码，有符号值先做 zigzag 变换，可为空的值以 0 表示 null。
+     */
+    private static final class ByteSink extends ByteArrayOutputStream {
+
+        ByteSink() {
+            super(4096);
+        }
+
+        byte[] buffer() {
+            return buf;
+        }
+
+        void writeUnsigned(long value) {
+            while ((value & ~0x7FL) != 0) {
+                write((int) ((value & 0x7F) | 0x80));
+                value >>>= 7;
+            }
+            write((int) value);
+        }
+
+        void writeSigned(long value) {
+            writeUnsigned((value << 1) ^ (value >> 63));
+        }
+
+        void writeNullable(Long value) {
+            writeUnsigned(value == null ? 0 : ((value << 1) ^ (value >> 63)) + 1);
+        }
+
+        void writeString(String value) {
+            if (value == null) {
+                writeUnsigned(0);
+                return;
+            }
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            writeUnsigned(bytes.length + 1L);
+            write(bytes, 0, bytes.length);
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package com.project.asset.audit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 异步写入的预写日志：记录入队前先追加到当前段文件并刷到操作系统，进程被强制终止时队列中尚未写库的记录不会丢失。
+ * 段内记录全部写库（或转入 {@link AuditJournal}）后删除该段；当前段写满 {@link #SEGMENT_ENTRIES} 条后切换新段。
+ * 启动时遗留的段文件说明上次未正常停止，其中的记录转入 AuditJournal 重放，已写库的记录可能再写一次。
+ */
+class AuditWriteAheadLog {
+
+    static final int SEGMENT_ENTRIES = 1000;
+    private static final String PREFIX = "wal-";
+    private static final String SUFFIX = ".ndjson";
+
+    private final Path directory;
+    private final ObjectMapper objectMapper;
+    private final Map<Long, Segment> segments = new HashMap<>();
+    private Segment current;
+    private long nextSegment;
+
+    AuditWriteAheadLog(Path directory, ObjectMapper objectMapper) {
+        this.directory = directory;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * 追加一批记录并返回所在段号，记录写库后须按段号调用 {@link #release}。
+     */
+    synchronized long append(List<AuditEntry> entries) {
+        try {
+            if (current == null || current.appended >= SEGMENT_ENTRIES) {
+                roll();
+            }
+            for (AuditEntry entry : entries) {
+                current.writer.write(objectMapper.writeValueAsString(entry));
+                current.writer.write('\n');
+            }
+            current.writer.flush();
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Cannot append to audit write-ahead log " + current.path, ex);
+        }
+        current.appended += entries.size();
+        current.outstanding += entries.size();
+        return current.number;
+    }
+
+    /**
+     * 段内 count 条记录已持久化到别处，段内没有待写记录时删除段文件。
+     */
+    synchronized void release(long segment, int count) {
+        Segment released = segments.get(segment);
+        if (released == null) {
+            return;
+        }
+        released.outstanding -= count;
+        if (released.outstanding > 0) {
+            return;
+        }
+        try {
+            released.writer.close();
+            Files.deleteIfExists(released.path);
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Cannot delete audit write-ahead log " + released.path, ex);
+        }
+        segments.remove(segment);
+        if (released == current) {
+            current = null;
+        }
+    }
+
+    /**
+     * 把上次进程遗留的段文件中的记录转入 journal 并删除段文件，须在写入开始前调用。
+     */
+    synchronized int recover(AuditJournal journal) throws IOException {
+        if (!Files.isDirectory(directory)) {
+            return 0;
+        }
+        List<Path> leftovers = new ArrayList<>();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, PREFIX + "*" + SUFFIX)) {
+            files.forEach(leftovers::add);
+        }
+        int recovered = 0;
+        for (Path leftover : leftovers) {
+            List<AuditEntry> entries = new ArrayList<>();
+            try (BufferedReader reader = Files.newBufferedReader(leftover, StandardCharsets.UTF_8)) {
+                String json;
+                while ((json = reader.readLine()) != null) {
+                    if (json.isBlank()) {
+                        continue;
+                    }
+                    try {
+                        entries.add(objectMapper.readValue(json, AuditEntry.class));
+                    } catch (IOException ex) {
+                        // 崩溃时写了一半的最后一行
+                        break;
+                    }
+                }
+            }
+            if (!entries.isEmpty()) {
+                journal.append(entries);
+            }
+            Files.delete(leftover);
+            recovered += entries.size();
+        }
+        return recovered;
+    }
+
+    private void roll() throws IOException {
+        Files.createDirectories(directory);
+        long number = nextSegment++;
+        Path path = directory.resolve(PREFIX + number + SUFFIX);
+        Segment segment = new Segment(number, path, Files.newBufferedWriter(
+                path, StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING));
+        segments.put(number, segment);
+        current = segment;
+    }
+
+    private static final class Segment {
+
+        private final long number;
+        private final Path path;
+        private final Writer writer;
+        private int appended;
+        private int outstanding;
+
+        private Segment(long number, Path path, Writer writer) {
+            this.number = number;
+            this.path = path;
+            this.writer = writer;
+        }
+    }
+}
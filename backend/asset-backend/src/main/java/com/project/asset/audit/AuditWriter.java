@@ -0,0 +1,320 @@
+package com.project.asset.audit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.project.asset.change.Aggregate;
+import com.project.asset.change.AggregateChangedEvent;
+import com.project.asset.config.AuditProperties;
+import com.project.asset.domain.entity.AuditLog;
+import com.project.asset.domain.entity.User;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.persistence.EntityManager;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.web.context.WebServerGracefulShutdownLifecycle;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * 审计记录写入器。异步模式下业务事务提交后记录先追加到预写日志，再进入有界队列，由后台线程攒满 batchSize
+ * 或等待 flushInterval 后在一个事务中批量插入，插入提交后从预写日志中释放；进程被强制终止时，
+ * 下次启动从预写日志恢复未写库的记录。队列满时按溢出策略阻塞或写入本地日志文件；写库失败的批次同样写入日志文件，
+ * 空闲时重放回数据库。停止时先写完队列中的记录；停止晚于 Web 服务器的优雅关闭，此后才提交的记录直接同步写入。
+ */
+@Slf4j
+@Component
+public class AuditWriter implements SmartLifecycle {
+
+    private static final Duration REPLAY_BACKOFF = Duration.ofSeconds(30);
+    /**
+     * 低于 Web 服务器优雅关闭及停止的阶段：停止时不再有进行中的请求产生新的记录。
+     */
+    static final int PHASE = WebServerGracefulShutdownLifecycle.SMART_LIFECYCLE_PHASE - 2048;
+
+    private final AuditProperties properties;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final AuditJournal journal;
+    private final AuditWriteAheadLog writeAheadLog;
+    private final BlockingQueue<Queued> queue;
+    private final Timer writeLag;
+    private final Counter journaled;
+    private final Counter writeFailures;
+    private volatile boolean running;
+    private Thread worker;
+    private long nextReplayAt;
+
+    public AuditWriter(
+            AuditProperties properties,
+            EntityManager entityManager,
+            PlatformTransactionManager transactionManager,
+            ApplicationEventPublisher eventPublisher,
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.entityManager = entityManager;
+        // 提交后监听器中同步写入时外层事务已提交，必须开启新事务
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.eventPublisher = eventPublisher;
+        this.journal = new AuditJournal(properties.getJournalDir(), objectMapper);
+        this.writeAheadLog = new AuditWriteAheadLog(properties.getJournalDir(), objectMapper);
+        this.queue = new ArrayBlockingQueue<>(properties.getQueueCapacity());
+        this.writeLag = Timer.builder("audit.write.lag")
+                .description("Time from recording an audit entry to committing it to audit_logs")
+                .register(meterRegistry);
+        this.journaled = Counter.builder("audit.journal.appended")
+                .description("Audit entries written to the local journal because of overflow or write failures")
+                .register(meterRegistry);
+        this.writeFailures = Counter.builder("audit.write.failures")
+                .description("Audit batches that failed to write to the database")
+                .register(meterRegistry);
+        Gauge.builder("audit.queue.size", queue, BlockingQueue::size)
+                .description("Audit entries waiting for the background writer")
+                .register(meterRegistry);
+    }
+
+    public boolean isAsync() {
+        return properties.isAsync();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onRecorded(AuditRecordedEvent event) {
+        if (!running) {
+            writeEntries(event.entries());
+            return;
+        }
+        long segment;
+        try {
+            segment = writeAheadLog.append(event.entries());
+        } catch (UncheckedIOException ex) {
+            log.warn("Appending to the audit write-ahead log failed, writing synchronously: {}", ex.getMessage());
+            writeEntries(event.entries());
+            return;
+        }
+        for (AuditEntry entry : event.entries()) {
+            enqueue(new Queued(entry, segment));
+        }
+    }
+
+    /**
+     * 在调用方的事务中直接写入，同步模式与后台批次共用。
+     */
+    public void persist(List<AuditEntry> entries) {
+        for (AuditEntry entry : entries) {
+            AuditLog log = new AuditLog();
+            if (entry.userId() != null) {
+                log.setUser(entityManager.getReference(User.class, entry.userId()));
+            }
+            log.setAction(entry.action());
+            log.setEntity(entry.entity());
+            log.setEntityId(entry.entityId());
+            log.setDetail(entry.detail());
+            log.setCreatedAt(entry.createdAt());
+            entityManager.persist(log);
+        }
+        eventPublisher.publishEvent(AggregateChangedEvent.of(Aggregate.AUDIT_LOG));
+    }
+
+    private void enqueue(Queued entry) {
+        if (queue.offer(entry)) {
+            if (!running) {
+                // 入队与停止同时发生时写入线程可能已退出，由当前线程写完剩余记录
+                drain();
+            }
+            return;
+        }
+        if (properties.getOverflowPolicy() == AuditProperties.OverflowPolicy.BLOCK) {
+            try {
+                while (running) {
+                    if (queue.offer(entry, 100, TimeUnit.MILLISECONDS)) {
+                        if (!running) {
+                            drain();
+                        }
+                        return;
+                    }
+                }
+                write(List.of(entry));
+                return;
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        toJournal(List.of(entry));
+    }
+
+    private void drain() {
+        List<Queued> remaining = new ArrayList<>();
+        queue.drainTo(remaining);
+        if (!remaining.isEmpty()) {
+            write(remaining);
+        }
+    }
+
+    private void run() {
+        List<Queued> batch = new ArrayList<>(properties.getBatchSize());
+        long flushNanos = properties.getFlushInterval().toNanos();
+        while (running || !queue.isEmpty()) {
+            try {
+                Queued first = queue.poll(flushNanos, TimeUnit.NANOSECONDS);
+                if (first == null) {
+                    replayJournal();
+                    continue;
+                }
+                batch.add(first);
+                long deadline = System.nanoTime() + flushNanos;
+                while (batch.size() < properties.getBatchSize()) {
+                    queue.drainTo(batch, properties.getBatchSize() - batch.size());
+                    long remaining = deadline - System.nanoTime();
+                    if (batch.size() >= properties.getBatchSize() || remaining <= 0 || !running) {
+                        break;
+                    }
+                    Queued next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+                write(batch);
+            } catch (InterruptedException ex) {
+                // 停止时不中断写入线程，这里只在外部强制中断时出现，剩余记录写入日志文件
+                toJournal(batch);
+                List<Queued> remaining = new ArrayList<>();
+                queue.drainTo(remaining);
+                toJournal(remaining);
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException ex) {
+                log.error("Audit writer iteration failed", ex);
+            }
+            batch.clear();
+        }
+    }
+
+    /**
+     * 写库或转入本地日志文件后，记录才从预写日志中释放；两者都失败时保留在预写日志中，下次启动恢复。
+     */
+    private void write(List<Queued> batch) {
+        writeEntries(batch.stream().map(Queued::entry).toList());
+        release(batch);
+    }
+
+    private void writeEntries(List<AuditEntry> batch) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> persist(batch));
+        } catch (RuntimeException ex) {
+            writeFailures.increment();
+            log.warn("Writing {} audit entries failed, appending them to the journal: {}", batch.size(), ex.getMessage());
+            appendJournal(batch);
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        for (AuditEntry entry : batch) {
+            writeLag.record(Duration.between(entry.createdAt(), now));
+        }
+    }
+
+    private void replayJournal() {
+        if (!journal.hasEntries() || System.nanoTime() - nextReplayAt < 0) {
+            return;
+        }
+        try {
+            journal.replay(properties.getBatchSize(),
+                    entries -> transactionTemplate.executeWithoutResult(status -> persist(entries)));
+            log.info("Replayed audit journal into audit_logs");
+        } catch (IOException | RuntimeException ex) {
+            nextReplayAt = System.nanoTime() + REPLAY_BACKOFF.toNanos();
+            log.warn("Replaying audit journal failed, retrying in {}: {}", REPLAY_BACKOFF, ex.getMessage());
+        }
+    }
+
+    private void toJournal(List<Queued> entries) {
+        appendJournal(entries.stream().map(Queued::entry).toList());
+        release(entries);
+    }
+
+    private void appendJournal(List<AuditEntry> entries) {
+        if (entries.isEmpty()) {
+            return;
+        }
+        journal.append(entries);
+        journaled.increment(entries.size());
+    }
+
+    private void release(List<Queued> entries) {
+        Map<Long, Integer> counts = new HashMap<>();
+        for (Queued entry : entries) {
+            counts.merge(entry.segment(), 1, Integer::sum);
+        }
+        counts.forEach(writeAheadLog::release);
+    }
+
+    @Override
+    public void start() {
+        if (!properties.isAsync() || running) {
+            return;
+        }
+        try {
+            int recovered = writeAheadLog.recover(journal);
+            if (recovered > 0) {
+                log.warn("Recovered {} audit entries left in the write-ahead log by an unclean shutdown", recovered);
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Cannot recover the audit write-ahead log", ex);
+        }
+        running = true;
+        nextReplayAt = System.nanoTime();
+        worker = new Thread(this::run, "audit-writer");
+        worker.start();
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (worker != null) {
+            try {
+                worker.join();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+            worker = null;
+        }
+        drain();
+        journal.close();
+    }
+
+    @Override
+    public int getPhase() {
+        return PHASE;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * 队列中的记录及其所在的预写日志段。
+     */
+    private record Queued(AuditEntry entry, long segment) {
+    }
+}
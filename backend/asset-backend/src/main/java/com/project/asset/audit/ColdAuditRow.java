@@ -0,0 +1,10 @@
+package com.project.asset.audit;
+
+import java.time.LocalDateTime;
+
+/**
+ * 已归档到段文件中的审计记录。
+ */
+public record ColdAuditRow(
+        long id, Long userId, String action, String entity, Long entityId, String detail, LocalDateTime createdAt) {
+}
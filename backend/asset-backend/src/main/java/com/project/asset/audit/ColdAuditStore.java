@@ -0,0 +1,169 @@
+package com.project.asset.audit;
+
+import com.project.asset.config.AuditProperties;
+import com.project.asset.dto.audit.AuditLogFilter;
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+/**
+ * 冷审计数据：归档目录下的只读段文件。查询时按段索引筛掉不相关的段，其余段在线程池中并行扫描后合并。
+ * 段列表在 {@link #refresh()} 时按目录内容更新，归档任务写入新段后调用。
+ */
+@Slf4j
+@Component
+public class ColdAuditStore {
+
+    static final String SUFFIX = ".seg";
+
+    private final Path directory;
+    private final ExecutorService scanners;
+    private volatile List<AuditSegment> segments = List.of();
+
+    public ColdAuditStore(AuditProperties properties) {
+        this.directory = properties.getArchiveDir();
+        int threads = properties.getColdScanThreads() > 0
+                ? properties.getColdScanThreads()
+                : Runtime.getRuntime().availableProcessors();
+        AtomicInteger sequence = new AtomicInteger();
+        this.scanners = Executors.newFixedThreadPool(threads, task -> {
+            Thread thread = new Thread(task, "audit-cold-scan-" + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * 重新读取归档目录，新段被映射加载，已删除的段被移除。
+     */
+    public synchronized void refresh() {
+        Map<Path, AuditSegment> loaded = new HashMap<>();
+        segments.forEach(segment -> loaded.put(segment.file(), segment));
+        List<AuditSegment> current = new ArrayList<>();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "*" + SUFFIX)) {
+            for (Path file : files) {
+                AuditSegment segment = loaded.get(file);
+                if (segment == null) {
+                    try {
+                        segment = AuditSegment.open(file);
+                        log.info("Loaded audit segment {} with {} rows", file, segment.rows());
+                    } catch (IOException | RuntimeException ex) {
+                        log.error("Skipping unreadable audit segment {}", file, ex);
+                        continue;
+                    }
+                }
+                current.add(segment);
+            }
+        } catch (NoSuchFileException ex) {
+            // 还没有归档过
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Cannot list audit segments in " + directory, ex);
+        }
+        segments = List.copyOf(current);
+    }
+
+    public boolean isEmpty() {
+        return segments.isEmpty();
+    }
+
+    /**
+     * 按列表接口的排序（排序键倒序、id 倒序）返回最靠前的 limit 条匹配记录。
+     */
+    public List<ColdAuditRow> top(AuditLogFilter filter, boolean byId, Position after, Position floor, int limit) {
+        SegmentScan scan = scan(filter, byId, after, floor);
+        List<ColdAuditRow> rows = new ArrayList<>();
+        for (List<ColdAuditRow> partial : scanAll(segment -> segment.top(scan, limit))) {
+            rows.addAll(partial);
+        }
+        rows.sort((left, right) -> AuditSegment.ORDER.compare(candidate(left, byId), candidate(right, byId)));
+        return rows.size() > limit ? List.copyOf(rows.subList(0, limit)) : rows;
+    }
+
+    /**
+     * 按分区月份（段文件名）与 id 升序逐行返回匹配记录，供导出流式写出。
+     */
+    public Stream<ColdAuditRow> stream(AuditLogFilter filter) {
+        SegmentScan scan = scan(filter, true, null, null);
+        return segments.stream()
+                .sorted(Comparator.comparing(segment -> segment.file().getFileName().toString()))
+                .flatMap(segment -> segment.rows(scan));
+    }
+
+    public long count(AuditLogFilter filter) {
+        SegmentScan scan = scan(filter, false, null, null);
+        return scanAll(segment -> segment.count(scan)).stream().mapToLong(Long::longValue).sum();
+    }
+
+    private <T> List<T> scanAll(Function<AuditSegment, T> task) {
+        List<Future<T>> futures = new ArrayList<>();
+        for (AuditSegment segment : segments) {
+            futures.add(scanners.submit(() -> task.apply(segment)));
+        }
+        List<T> results = new ArrayList<>(futures.size());
+        try {
+            for (Future<T> future : futures) {
+                results.add(future.get());
+            }
+        } catch (InterruptedException ex) {
+            futures.forEach(future -> future.cancel(true));
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while scanning audit segments", ex);
+        } catch (ExecutionException ex) {
+            futures.forEach(future -> future.cancel(true));
+            throw new IllegalStateException("Scanning audit segments failed", ex.getCause());
+        }
+        return results;
+    }
+
+    private static SegmentScan scan(AuditLogFilter filter, boolean byId, Position after, Position floor) {
+        return new SegmentScan(
+                filter.getUserId(),
+                StringUtils.hasText(filter.getEntity()) ? filter.getEntity() : null,
+                filter.getEntityId(),
+                filter.getAction(),
+                filter.getCreatedFrom() != null ? AuditSegment.micros(filter.getCreatedFrom()) : null,
+                filter.getCreatedTo() != null ? AuditSegment.micros(filter.getCreatedTo()) : null,
+                byId,
+                after,
+                floor);
+    }
+
+    private static AuditSegment.Candidate candidate(ColdAuditRow row, boolean byId) {
+        return new AuditSegment.Candidate(byId ? row.id() : AuditSegment.micros(row.createdAt()), row.id(), null, 0);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scanners.shutdownNow();
+    }
+
+    /**
+     * 排序位置：排序键为 id 或创建时间，与 id 一起确定一行在列表中的位置。
+     */
+    public record Position(long key, long id) {
+
+        public static Position of(Object key, long id) {
+            return new Position(key instanceof LocalDateTime time ? AuditSegment.micros(time) : (Long) key, id);
+        }
+    }
+}
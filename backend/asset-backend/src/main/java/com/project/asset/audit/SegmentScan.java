@@ -0,0 +1,79 @@
+package com.project.asset.audit;
+
+import java.util.Arrays;
+import java.util.Set;
+
+/**
+ * 段扫描条件。时间为 {@link AuditSegment#micros} 编码；byId 为 true 时排序键为 id，否则为时间。
+ * after 为上一页最后一行，只返回排在其后的行；floor 为热数据本页最后一行，排在其后的冷数据不会进入本页。
+ */
+record SegmentScan(
+        Long userId,
+        String entity,
+        Long entityId,
+        Set<String> actions,
+        Long createdFrom,
+        Long createdTo,
+        boolean byId,
+        ColdAuditStore.Position after,
+        ColdAuditStore.Position floor) {
+
+    boolean mayMatch(AuditSegment.RowGroup group, AuditSegment.Codes codes) {
+        if (group.rows == 0) {
+            return false;
+        }
+        if (userId != null && (userId < group.min[2] || userId > group.max[2])) {
+            return false;
+        }
+        if (entityId != null && (entityId < group.min[3] || entityId > group.max[3])) {
+            return false;
+        }
+        if (createdFrom != null && group.max[1] < createdFrom) {
+            return false;
+        }
+        if (createdTo != null && group.min[1] >= createdTo) {
+            return false;
+        }
+        if (codes.entity() >= 0 && Arrays.binarySearch(group.entityCodes, codes.entity()) < 0) {
+            return false;
+        }
+        if (codes.actions() != null && Arrays.stream(codes.actions())
+                .noneMatch(action -> Arrays.binarySearch(group.actionCodes, action) >= 0)) {
+            return false;
+        }
+        int key = byId ? 0 : 1;
+        if (after != null && group.min[key] > after.key()) {
+            return false;
+        }
+        return floor == null || group.max[key] >= floor.key();
+    }
+
+    boolean matches(AuditSegment.Columns columns, int row, AuditSegment.Codes codes) {
+        if (userId != null && !userId.equals(columns.userIds[row])) {
+            return false;
+        }
+        if (entityId != null && !entityId.equals(columns.entityIds[row])) {
+            return false;
+        }
+        long createdAt = columns.createdAt[row];
+        if ((createdFrom != null && createdAt < createdFrom) || (createdTo != null && createdAt >= createdTo)) {
+            return false;
+        }
+        if (codes.entity() >= 0 && columns.entities[row] != codes.entity()) {
+            return false;
+        }
+        if (codes.actions() != null && Arrays.binarySearch(codes.actions(), columns.actions[row]) < 0) {
+            return false;
+        }
+        long key = key(columns, row);
+        long id = columns.ids[row];
+        if (after != null && (key > after.key() || (key == after.key() && id >= after.id()))) {
+            return false;
+        }
+        return floor == null || key > floor.key() || (key == floor.key() && id > floor.id());
+    }
+
+    long key(AuditSegment.Columns columns, int row) {
+        return byId ? columns.ids[row] : columns.createdAt[row];
+    }
+}
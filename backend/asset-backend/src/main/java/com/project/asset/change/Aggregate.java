@@ -0,0 +1,19 @@
+package com.project.asset.change;
+
+/**
+ * 以变更版本号跟踪的数据集合，列表与详情的 ETag 由相关集合的版本号计算。
+ */
+public enum Aggregate {
+    ASSET,
+    /**
+     * 申请明细展示资产类型名称，类型修改后申请的列表与详情随之变化。
+     */
+    ASSET_TYPE,
+    INVENTORY,
+    ASSET_REQUEST,
+    AUDIT_LOG,
+    /**
+     * 库存列表展示领用人姓名，用户资料变化也会影响其内容。
+     */
+    USER
+}
@@ -0,0 +1,11 @@
+package com.project.asset.change;
+
+/**
+ * 数据写入后发布，事务提交后递增对应集合的版本号。
+ */
+public record AggregateChangedEvent(Aggregate aggregate) {
+
+    public static AggregateChangedEvent of(Aggregate aggregate) {
+        return new AggregateChangedEvent(aggregate);
+    }
+}
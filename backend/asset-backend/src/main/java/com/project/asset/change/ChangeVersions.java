@@ -0,0 +1,79 @@
+package com.project.asset.change;
+
+import com.project.asset.datasource.ReplicaRoutingDataSource;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.DigestUtils;
+import org.springframework.web.context.request.ServletWebRequest;
+
+/**
+ * 各数据集合的变更版本号，保存在 change_versions 表中，写事务提交后在独立事务中递增，供条件 GET 计算 ETag。
+ * 版本号由所有实例共享，任一实例上的写入都会使其他实例计算出新的 ETag。
+ */
+@Component
+public class ChangeVersions {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    public ChangeVersions(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onChanged(AggregateChangedEvent event) {
+        String aggregate = event.aggregate().name();
+        transactionTemplate.executeWithoutResult(status -> {
+            if (increment(aggregate) > 0) {
+                return;
+            }
+            // 迁移脚本会预置各集合的行，未预置时（如测试库）由第一次递增创建，并发创建时失败的一方改为递增
+            try {
+                jdbcTemplate.update("INSERT INTO change_versions (aggregate_name, version) VALUES (?, 1)", aggregate);
+            } catch (DuplicateKeyException ex) {
+                increment(aggregate);
+            }
+        });
+    }
+
+    /**
+     * 请求的内容未变化时写入 304 并返回 true，调用方应直接返回，只查询一次版本号表。
+     * ETag 由相关集合的版本号、请求路径与参数以及 Accept 头计算，不同编码的响应互不复用。
+     */
+    public boolean checkNotModified(ServletWebRequest request, Aggregate... aggregates) {
+        // 先取版本号再读数据，数据须来自主库才不会旧于版本号
+        ReplicaRoutingDataSource.readFromPrimary(request);
+        Map<String, Long> versions = new HashMap<>();
+        jdbcTemplate.query("SELECT aggregate_name, version FROM change_versions",
+                row -> {
+                    versions.put(row.getString(1), row.getLong(2));
+                });
+        StringBuilder key = new StringBuilder();
+        for (Aggregate aggregate : aggregates) {
+            key.append(aggregate).append('=').append(versions.getOrDefault(aggregate.name(), 0L)).append('|');
+        }
+        key.append(request.getRequest().getRequestURI())
+                .append('?').append(request.getRequest().getQueryString())
+                .append('|').append(request.getHeader(HttpHeaders.ACCEPT));
+        String etag = '"' + DigestUtils.md5DigestAsHex(key.toString().getBytes(StandardCharsets.UTF_8)) + '"';
+        // 允许浏览器缓存并在每次使用前重新校验，覆盖默认的 no-store
+        request.getResponse().setHeader(HttpHeaders.CACHE_CONTROL, "private, no-cache");
+        return request.checkNotModified(etag);
+    }
+
+    private int increment(String aggregate) {
+        return jdbcTemplate.update(
+                "UPDATE change_versions SET version = version + 1 WHERE aggregate_name = ?", aggregate);
+    }
+}
@@ -0,0 +1,84 @@
+package com.project.asset.config;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import java.nio.file.Path;
+import java.time.Duration;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+@Data
+@Validated
+@ConfigurationProperties(prefix = "asset.audit")
+public class AuditProperties {
+
+    /**
+     * Queue audit entries after the business transaction commits and write them in batches on a background
+     * thread; false writes them inside the business transaction.
+     */
+    private boolean async = true;
+
+    @Min(1)
+    private int queueCapacity = 10_000;
+
+    /**
+     * Entries written per transaction by the background writer.
+     */
+    @Min(1)
+    private int batchSize = 500;
+
+    /**
+     * Longest time an entry waits for a batch to fill before it is written.
+     */
+    @NotNull
+    private Duration flushInterval = Duration.ofSeconds(1);
+
+    /**
+     * What to do when the queue is full: BLOCK waits for space, JOURNAL appends the entry to the local journal.
+     */
+    @NotNull
+    private OverflowPolicy overflowPolicy = OverflowPolicy.JOURNAL;
+
+    /**
+     * Directory of the local journal holding overflowed entries and batches that failed to write; it is replayed
+     * into audit_logs once the database accepts writes again. Queued entries are also appended to write-ahead log
+     * segments here until their batch commits, so a killed process recovers them on the next start.
+     */
+    @NotNull
+    private Path journalDir = Path.of("audit-journal");
+
+    /**
+     * Monthly partitions of audit_logs kept ahead of the current month so inserts never land in p_future.
+     */
+    @Min(1)
+    private int partitionsAhead = 3;
+
+    /**
+     * Months kept online in audit_logs besides the current one; older partitions are exported to archive files
+     * and dropped. 0 disables archival.
+     */
+    @Min(0)
+    private int retentionMonths = 12;
+
+    /**
+     * Directory receiving one compressed columnar segment file per archived partition; the audit query API reads
+     * the segments found here after the rows in audit_logs.
+     */
+    @NotNull
+    private Path archiveDir = Path.of("audit-archive");
+
+    /**
+     * Threads scanning archived segments in parallel; 0 uses one per CPU core.
+     */
+    @Min(0)
+    private int coldScanThreads;
+
+    @NotNull
+    private Duration partitionMaintenanceInterval = Duration.ofHours(1);
+
+    public enum OverflowPolicy {
+        BLOCK,
+        JOURNAL
+    }
+}
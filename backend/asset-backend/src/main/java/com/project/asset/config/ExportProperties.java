@@ -0,0 +1,19 @@
+package com.project.asset.config;
+
+import jakarta.validation.constraints.Min;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+@Data
+@Validated
+@ConfigurationProperties(prefix = "asset.export")
+public class ExportProperties {
+
+    /**
+     * Rows fetched per round trip by the forward-only export cursor.
+     * MySQL needs useCursorFetch=true in the JDBC URL to honour it instead of buffering the whole result.
+     */
+    @Min(1)
+    private int fetchSize = 1000;
+}
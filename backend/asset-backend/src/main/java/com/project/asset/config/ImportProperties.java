@@ -0,0 +1,24 @@
+package com.project.asset.config;
+
+import jakarta.validation.constraints.Min;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+@Data
+@Validated
+@ConfigurationProperties(prefix = "asset.import")
+public class ImportProperties {
+
+    /**
+     * Rows parsed by one task and inserted by one transaction.
+     */
+    @Min(1)
+    private int chunkSize = 1000;
+
+    /**
+     * Threads parsing and validating chunks, 0 means one per available processor.
+     */
+    @Min(0)
+    private int parserThreads = 0;
+}
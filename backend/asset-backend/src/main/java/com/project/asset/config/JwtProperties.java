@@ -1,5 +1,7 @@
 package com.project.asset.config;
 
+import com.project.asset.security.PrincipalSource;
+import java.time.Duration;
 import lombok.Data;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
@@ -20,6 +22,41 @@ public class JwtProperties {
      * Refresh token expiration seconds.
      */
     private long refreshTokenExpiration = 604800;
-}
 
+    /**
+     * Maximum number of recently verified tokens kept in memory.
+     */
+    private long verifiedTokenCacheSize = 10000;
+
+    /**
+     * Where the authenticated principal is built from: the database on every request,
+     * a bounded cache of user snapshots, or the verified token claims guarded by the
+     * per-user security version.
+     */
+    private PrincipalSource principalSource = PrincipalSource.DATABASE;
 
+    private PrincipalCache principalCache = new PrincipalCache();
+
+    private RefreshRevocation refreshRevocation = new RefreshRevocation();
+
+    @Data
+    public static class PrincipalCache {
+        /**
+         * Maximum number of cached user snapshots.
+         */
+        private long maximumSize = 20000;
+
+        /**
+         * How long a snapshot is kept after it was loaded.
+         */
+        private Duration ttl = Duration.ofMinutes(10);
+    }
+
+    @Data
+    public static class RefreshRevocation {
+        /**
+         * How often expired revocations are deleted.
+         */
+        private Duration pruneInterval = Duration.ofMinutes(10);
+    }
+}
@@ -0,0 +1,45 @@
+package com.project.asset.config;
+
+import jakarta.validation.constraints.Min;
+import java.time.Duration;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+@Data
+@Validated
+@ConfigurationProperties(prefix = "asset.login")
+public class LoginProperties {
+
+    /**
+     * Password verification threads, 0 means one per available processor.
+     */
+    @Min(0)
+    private int verifierThreads = 0;
+
+    /**
+     * Logins allowed to wait for a verifier thread before new ones are rejected with 429.
+     */
+    @Min(0)
+    private int queueCapacity = 32;
+
+    private Duration window = Duration.ofMinutes(1);
+
+    /**
+     * Login attempts allowed per username within the sliding window.
+     */
+    @Min(1)
+    private int userMaxAttempts = 5;
+
+    /**
+     * Login attempts allowed per client IP within the sliding window.
+     */
+    @Min(1)
+    private int ipMaxAttempts = 300;
+
+    /**
+     * Upper bound of usernames/IPs tracked by each throttle.
+     */
+    @Min(1)
+    private long throttleMaxKeys = 100000;
+}
@@ -0,0 +1,48 @@
+package com.project.asset.config;
+
+import com.project.asset.numbering.BusinessNumberType;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import java.util.EnumMap;
+import java.util.Map;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+@Data
+@Validated
+@ConfigurationProperties(prefix = "asset.numbering")
+public class NumberingProperties {
+
+    /**
+     * Node id embedded in TIME numbers, unique per running instance; required when any type uses TIME, startup
+     * fails otherwise.
+     */
+    @Min(0)
+    @Max(1023)
+    private Integer nodeId;
+
+    /**
+     * Sequence values reserved from the database per round trip for SEQUENCE numbers.
+     */
+    @Min(1)
+    private int blockSize = 1000;
+
+    /**
+     * Number format per business number type; types not listed use SEQUENCE.
+     */
+    @NotNull
+    private Map<BusinessNumberType, Format> formats = new EnumMap<>(BusinessNumberType.class);
+
+    public enum Format {
+        /**
+         * Prefix, date and a database-allocated sequence, e.g. REQ-20261018-000123.
+         */
+        SEQUENCE,
+        /**
+         * Prefix and a time-ordered number generated on the node without database access.
+         */
+        TIME
+    }
+}
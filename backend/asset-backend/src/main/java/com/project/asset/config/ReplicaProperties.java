@@ -0,0 +1,40 @@
+package com.project.asset.config;
+
+import jakarta.validation.constraints.NotNull;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+@Data
+@Validated
+@ConfigurationProperties(prefix = "asset.datasource")
+public class ReplicaProperties {
+
+    /**
+     * JDBC URLs of read replicas. Read-only transactions are spread over them, empty keeps all traffic on the primary.
+     */
+    private List<String> replicaUrls = new ArrayList<>();
+
+    /**
+     * Replica credentials, blank falls back to spring.datasource.username/password.
+     */
+    private String replicaUsername;
+
+    private String replicaPassword;
+
+    /**
+     * How long a user's reads stay on the primary after one of their write transactions commits, 0 disables it.
+     */
+    @NotNull
+    private Duration readYourWritesWindow = Duration.ZERO;
+
+    /**
+     * Interval between replica health checks; a replica that fails a check or a connection attempt is skipped
+     * until it passes again.
+     */
+    @NotNull
+    private Duration healthCheckInterval = Duration.ofSeconds(5);
+}
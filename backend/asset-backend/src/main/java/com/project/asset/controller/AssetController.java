@@ -1,13 +1,30 @@
 package com.project.asset.controller;
 
+import com.project.asset.change.Aggregate;
+import com.project.asset.change.ChangeVersions;
 import com.project.asset.dto.asset.AssetDto;
+import com.project.asset.dto.asset.AssetFilter;
 import com.project.asset.response.ApiResponse;
+import com.project.asset.response.ExportFormat;
+import com.project.asset.response.PageQuery;
 import com.project.asset.response.PageResponse;
+import com.project.asset.service.AssetImportService;
 import com.project.asset.service.AssetService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
@@ -15,6 +32,12 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @Tag(name = "Asset", description = "资产主数据管理")
 @RestController
@@ -23,15 +46,39 @@ import org.springframework.web.bind.annotation.RestController;
 public class AssetController {
 
     private final AssetService assetService;
+    private final AssetImportService assetImportService;
+    private final ChangeVersions changeVersions;
 
-    @Operation(summary = "分页查询资产")
+    @Operation(summary = "分页查询资产", description = "传入 after 游标或首页 count=false 时按游标分页，nextCursor 为下一页游标；fields 以逗号分隔指定返回字段")
     @PreAuthorize("hasAuthority('asset:view')")
     @GetMapping
     public ApiResponse<PageResponse<AssetDto>> list(
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "20") int size,
-            @RequestParam(defaultValue = "id") String sort) {
-        return ApiResponse.success(assetService.list(page, size, sort));
+            @RequestParam(defaultValue = "id") String sort,
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "true") boolean count,
+            @RequestParam(required = false) Set<String> fields,
+            @Valid AssetFilter filter,
+            @RequestParam Map<String, String> parameters,
+            ServletWebRequest webRequest) {
+        PageQuery.requireKnownParameters(parameters.keySet(), AssetFilter.PARAMETERS);
+        if (changeVersions.checkNotModified(webRequest, Aggregate.ASSET)) {
+            return null;
+        }
+        return ApiResponse.success(assetService.list(new PageQuery(page, size, sort, after, count, fields), filter));
+    }
+
+    @Operation(summary = "导出资产", description = "按 id 顺序流式导出全部匹配资产，筛选参数与列表一致，format 为 CSV 或 NDJSON")
+    @PreAuthorize("hasAuthority('asset:view')")
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> export(
+            @RequestParam(defaultValue = "CSV") ExportFormat format,
+            @RequestParam(defaultValue = "false") boolean gzip,
+            @Valid AssetFilter filter,
+            @RequestParam Map<String, String> parameters) {
+        ExportFormat.requireKnownParameters(parameters.keySet(), AssetFilter.PARAMETERS);
+        return format.attachment("assets", gzip, out -> assetService.export(filter, format, out));
     }
 
     @Operation(summary = "创建资产")
@@ -40,5 +87,46 @@ public class AssetController {
     public ApiResponse<AssetDto> create(@Valid @RequestBody AssetDto dto) {
         return ApiResponse.success(assetService.create(dto));
     }
-}
 
+    @Operation(summary = "导入资产", description = "上传 CSV，表头与导出一致；资产类型、供应商、创建人可填 id 或编码、名称、用户名。"
+            + "按块并行校验、批量插入，dryRun=true 时只校验不写入。响应为失败行报告 CSV，汇总见 X-Import-* 响应头")
+    @PreAuthorize("hasAuthority('asset:admin')")
+    @PostMapping(value = "/import", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<StreamingResponseBody> importCsv(
+            @RequestParam("file") MultipartFile file,
+            @RequestParam(defaultValue = "false") boolean dryRun,
+            NativeWebRequest webRequest)
+            throws IOException {
+        // 失败行可能很多，报告先写入临时文件，异步响应结束（写完、超时或客户端断开）后删除
+        Path report = Files.createTempFile("asset-import-", ".csv");
+        AssetImportService.Result result;
+        try (InputStream in = file.getInputStream();
+                Writer writer = Files.newBufferedWriter(report, StandardCharsets.UTF_8)) {
+            result = assetImportService.importCsv(in, dryRun, writer);
+        } catch (IOException | RuntimeException ex) {
+            Files.deleteIfExists(report);
+            throw ex;
+        }
+        WebAsyncUtils.getAsyncManager(webRequest).registerCallableInterceptor(report, new CallableProcessingInterceptor() {
+            @Override
+            public <T> void afterCompletion(NativeWebRequest request, Callable<T> task) throws IOException {
+                Files.deleteIfExists(report);
+            }
+        });
+        StreamingResponseBody body = out -> {
+            try {
+                Files.copy(report, out);
+            } finally {
+                Files.deleteIfExists(report);
+            }
+        };
+        ResponseEntity<StreamingResponseBody> attachment = ExportFormat.CSV.attachment("asset-import-errors", false, body);
+        return ResponseEntity.ok()
+                .headers(attachment.getHeaders())
+                .header("X-Import-Total", String.valueOf(result.total()))
+                .header("X-Import-Imported", String.valueOf(result.imported()))
+                .header("X-Import-Failed", String.valueOf(result.failed()))
+                .header("X-Import-Dry-Run", String.valueOf(result.dryRun()))
+                .body(attachment.getBody());
+    }
+}
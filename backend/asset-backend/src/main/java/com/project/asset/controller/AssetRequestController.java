@@ -1,14 +1,18 @@
 package com.project.asset.controller;
 
+import com.project.asset.change.Aggregate;
+import com.project.asset.change.ChangeVersions;
 import com.project.asset.dto.asset.ApprovalRequestDto;
 import com.project.asset.dto.asset.AssetRequestCreateDto;
 import com.project.asset.dto.asset.AssetRequestDetailDto;
 import com.project.asset.response.ApiResponse;
+import com.project.asset.response.PageQuery;
 import com.project.asset.response.PageResponse;
 import com.project.asset.service.AssetRequestService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import java.util.Set;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -18,6 +22,7 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.ServletWebRequest;
 
 @Tag(name = "AssetRequest", description = "资产申请管理")
 @RestController
@@ -26,15 +31,23 @@ import org.springframework.web.bind.annotation.RestController;
 public class AssetRequestController {
 
     private final AssetRequestService assetRequestService;
+    private final ChangeVersions changeVersions;
 
-    @Operation(summary = "分页查询资产申请")
+    @Operation(summary = "分页查询资产申请", description = "传入 after 游标或首页 count=false 时按游标分页，nextCursor 为下一页游标；fields 以逗号分隔指定返回字段")
     @PreAuthorize("hasAuthority('asset:view')")
     @GetMapping
     public ApiResponse<PageResponse<AssetRequestDetailDto>> list(
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "20") int size,
-            @RequestParam(defaultValue = "createdAt") String sort) {
-        return ApiResponse.success(assetRequestService.list(page, size, sort));
+            @RequestParam(defaultValue = "createdAt") String sort,
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "true") boolean count,
+            @RequestParam(required = false) Set<String> fields,
+            ServletWebRequest webRequest) {
+        if (changeVersions.checkNotModified(webRequest, Aggregate.ASSET_REQUEST, Aggregate.ASSET_TYPE)) {
+            return null;
+        }
+        return ApiResponse.success(assetRequestService.list(new PageQuery(page, size, sort, after, count, fields)));
     }
 
     @Operation(summary = "创建资产申请")
@@ -47,7 +60,10 @@ public class AssetRequestController {
     @Operation(summary = "获取申请详情")
     @PreAuthorize("hasAuthority('asset:view')")
     @GetMapping("/{id}")
-    public ApiResponse<AssetRequestDetailDto> detail(@PathVariable Long id) {
+    public ApiResponse<AssetRequestDetailDto> detail(@PathVariable Long id, ServletWebRequest webRequest) {
+        if (changeVersions.checkNotModified(webRequest, Aggregate.ASSET_REQUEST, Aggregate.ASSET_TYPE)) {
+            return null;
+        }
         return ApiResponse.success(assetRequestService.getDetail(id));
     }
 
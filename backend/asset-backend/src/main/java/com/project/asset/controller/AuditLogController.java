@@ -1,17 +1,29 @@
 package com.project.asset.controller;
 
+import com.project.asset.change.Aggregate;
+import com.project.asset.change.ChangeVersions;
 import com.project.asset.dto.audit.AuditLogDto;
+import com.project.asset.dto.audit.AuditLogFilter;
 import com.project.asset.response.ApiResponse;
+import com.project.asset.response.ExportFormat;
+import com.project.asset.response.PageQuery;
 import com.project.asset.response.PageResponse;
 import com.project.asset.service.AuditLogService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import java.util.Map;
+import java.util.Set;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @Tag(name = "Audit", description = "审计日志")
 @RestController
@@ -20,15 +32,55 @@ import org.springframework.web.bind.annotation.RestController;
 public class AuditLogController {
 
     private final AuditLogService auditLogService;
+    private final ChangeVersions changeVersions;
 
-    @Operation(summary = "分页查询审计日志")
+    @Operation(summary = "分页查询审计日志", description = "传入 after 游标或首页 count=false 时按游标分页，nextCursor 为下一页游标；fields 以逗号分隔指定返回字段")
     @PreAuthorize("hasAuthority('audit:view')")
     @GetMapping
     public ApiResponse<PageResponse<AuditLogDto>> list(
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "20") int size,
-            @RequestParam(defaultValue = "createdAt") String sort) {
-        return ApiResponse.success(auditLogService.list(page, size, sort));
+            @RequestParam(defaultValue = "createdAt") String sort,
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "true") boolean count,
+            @RequestParam(required = false) Set<String> fields,
+            @Valid AuditLogFilter filter,
+            @RequestParam Map<String, String> parameters,
+            ServletWebRequest webRequest) {
+        PageQuery.requireKnownParameters(parameters.keySet(), AuditLogFilter.PARAMETERS);
+        if (changeVersions.checkNotModified(webRequest, Aggregate.AUDIT_LOG)) {
+            return null;
+        }
+        return ApiResponse.success(
+                auditLogService.list(new PageQuery(page, size, sort, after, count, fields), filter));
+    }
+
+    @Operation(summary = "查询实体变更历史", description = "按时间倒序游标分页，nextCursor 为下一页游标；entity 为实体类型，如 Inventory、AssetRequest")
+    @PreAuthorize("hasAuthority('audit:view')")
+    @GetMapping("/entities/{entity}/{entityId}")
+    public ApiResponse<PageResponse<AuditLogDto>> history(
+            @PathVariable String entity,
+            @PathVariable Long entityId,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(required = false) String after,
+            @RequestParam(required = false) Set<String> fields,
+            ServletWebRequest webRequest) {
+        if (changeVersions.checkNotModified(webRequest, Aggregate.AUDIT_LOG)) {
+            return null;
+        }
+        return ApiResponse.success(auditLogService.history(entity, entityId, size, after, fields));
+    }
+
+    @Operation(summary = "导出审计日志", description = "按 id 顺序流式导出，筛选参数与列表一致，format 为 CSV 或 NDJSON")
+    @PreAuthorize("hasAuthority('audit:export')")
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> export(
+            @RequestParam(defaultValue = "CSV") ExportFormat format,
+            @RequestParam(defaultValue = "false") boolean gzip,
+            @Valid AuditLogFilter filter,
+            @RequestParam Map<String, String> parameters) {
+        ExportFormat.requireKnownParameters(parameters.keySet(), AuditLogFilter.PARAMETERS);
+        return format.attachment("audit-logs", gzip, out -> auditLogService.export(filter, format, out));
     }
 }
 
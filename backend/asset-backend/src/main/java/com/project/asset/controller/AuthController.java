@@ -7,7 +7,9 @@ import com.project.asset.response.ApiResponse;
 import com.project.asset.service.AuthService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
+import java.util.concurrent.CompletableFuture;
 import lombok.RequiredArgsConstructor;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
@@ -24,8 +26,9 @@ public class AuthController {
 
     @Operation(summary = "用户名密码登录，返回 access/refresh token")
     @PostMapping("/login")
-    public ApiResponse<TokenResponse> login(@Valid @RequestBody LoginRequest request) {
-        return ApiResponse.success(authService.login(request));
+    public CompletableFuture<ApiResponse<TokenResponse>> login(
+            @Valid @RequestBody LoginRequest request, HttpServletRequest httpRequest) {
+        return authService.login(request, httpRequest.getRemoteAddr()).thenApply(ApiResponse::success);
     }
 
     @Operation(summary = "刷新 access token")
@@ -33,6 +36,11 @@ public class AuthController {
     public ApiResponse<TokenResponse> refresh(@Valid @RequestBody RefreshTokenRequest request) {
         return ApiResponse.success(authService.refresh(request.getRefreshToken()));
     }
-}
-
 
+    @Operation(summary = "注销刷新令牌")
+    @PostMapping("/logout")
+    public ApiResponse<Void> logout(@Valid @RequestBody RefreshTokenRequest request) {
+        authService.logout(request.getRefreshToken());
+        return ApiResponse.success();
+    }
+}
@@ -1,17 +1,30 @@
 package com.project.asset.controller;
 
+import com.project.asset.change.Aggregate;
+import com.project.asset.change.ChangeVersions;
 import com.project.asset.domain.entity.Inventory;
+import com.project.asset.dto.asset.BatchCheckoutRequestDto;
+import com.project.asset.dto.asset.BatchResultDto;
+import com.project.asset.dto.asset.BatchReturnRequestDto;
+import com.project.asset.dto.asset.BatchStockInRequestDto;
 import com.project.asset.dto.asset.CheckoutRequestDto;
 import com.project.asset.dto.asset.InventoryDto;
+import com.project.asset.dto.asset.InventoryFilter;
 import com.project.asset.dto.asset.ReturnRequestDto;
 import com.project.asset.dto.asset.StockInRequestDto;
 import com.project.asset.response.ApiResponse;
+import com.project.asset.response.ExportFormat;
+import com.project.asset.response.PageQuery;
 import com.project.asset.response.PageResponse;
 import com.project.asset.service.InventoryService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -20,6 +33,8 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @Tag(name = "Inventory", description = "库存管理")
 @RestController
@@ -28,15 +43,59 @@ import org.springframework.web.bind.annotation.RestController;
 public class InventoryController {
 
     private final InventoryService inventoryService;
+    private final ChangeVersions changeVersions;
 
-    @Operation(summary = "分页查询库存")
+    @Operation(summary = "分页查询库存", description = "传入 after 游标或首页 count=false 时按游标分页，nextCursor 为下一页游标；fields 以逗号分隔指定返回字段")
     @PreAuthorize("hasAuthority('asset:view')")
     @GetMapping
     public ApiResponse<PageResponse<InventoryDto>> list(
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "20") int size,
-            @RequestParam(defaultValue = "updatedAt") String sort) {
-        return ApiResponse.success(inventoryService.list(page, size, sort));
+            @RequestParam(defaultValue = "updatedAt") String sort,
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "true") boolean count,
+            @RequestParam(required = false) Set<String> fields,
+            @Valid InventoryFilter filter,
+            @RequestParam Map<String, String> parameters,
+            ServletWebRequest webRequest) {
+        PageQuery.requireKnownParameters(parameters.keySet(), InventoryFilter.PARAMETERS);
+        if (changeVersions.checkNotModified(webRequest, Aggregate.INVENTORY, Aggregate.ASSET, Aggregate.USER)) {
+            return null;
+        }
+        return ApiResponse.success(
+                inventoryService.list(new PageQuery(page, size, sort, after, count, fields), filter));
+    }
+
+    @Operation(summary = "导出库存", description = "按 id 顺序流式导出全部匹配库存，筛选参数与列表一致，format 为 CSV 或 NDJSON")
+    @PreAuthorize("hasAuthority('asset:view')")
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> export(
+            @RequestParam(defaultValue = "CSV") ExportFormat format,
+            @RequestParam(defaultValue = "false") boolean gzip,
+            @Valid InventoryFilter filter,
+            @RequestParam Map<String, String> parameters) {
+        ExportFormat.requireKnownParameters(parameters.keySet(), InventoryFilter.PARAMETERS);
+        return format.attachment("inventory", gzip, out -> inventoryService.export(filter, format, out));
+    }
+
+    @Operation(summary = "查询逾期未归还的库存")
+    @PreAuthorize("hasAuthority('asset:view')")
+    @GetMapping("/overdue")
+    public ApiResponse<List<InventoryDto>> listOverdue(ServletWebRequest webRequest) {
+        if (changeVersions.checkNotModified(webRequest, Aggregate.INVENTORY, Aggregate.ASSET, Aggregate.USER)) {
+            return null;
+        }
+        return ApiResponse.success(inventoryService.listOverdue());
+    }
+
+    @Operation(summary = "查询用户当前领用的库存")
+    @PreAuthorize("hasAuthority('asset:view')")
+    @GetMapping("/holders/{userId}")
+    public ApiResponse<List<InventoryDto>> listByHolder(@PathVariable Long userId, ServletWebRequest webRequest) {
+        if (changeVersions.checkNotModified(webRequest, Aggregate.INVENTORY, Aggregate.ASSET, Aggregate.USER)) {
+            return null;
+        }
+        return ApiResponse.success(inventoryService.listByHolder(userId));
     }
 
     @Operation(summary = "资产入库")
@@ -46,20 +105,40 @@ public class InventoryController {
         return ApiResponse.success(inventoryService.stockIn(dto));
     }
 
+    @Operation(summary = "批量入库", description = "同一资产一次入库多个序列号，逐项返回失败原因，其余序列号正常入库")
+    @PreAuthorize("hasAuthority('asset:stockin')")
+    @PostMapping("/stock-in/batch")
+    public ApiResponse<BatchResultDto> stockInBatch(@Valid @RequestBody BatchStockInRequestDto dto) {
+        return ApiResponse.success(inventoryService.stockInBatch(dto));
+    }
+
     @Operation(summary = "库存领用")
     @PreAuthorize("hasAuthority('asset:checkout')")
     @PostMapping("/{id}/checkout")
-    public ApiResponse<Inventory> checkout(
+    public ApiResponse<InventoryDto> checkout(
             @PathVariable Long id, @Valid @RequestBody CheckoutRequestDto dto) {
         return ApiResponse.success(inventoryService.checkout(id, dto));
     }
 
+    @Operation(summary = "批量领用", description = "一次领用多件库存，逐项返回失败原因，其余条目正常领用")
+    @PreAuthorize("hasAuthority('asset:checkout')")
+    @PostMapping("/checkout/batch")
+    public ApiResponse<BatchResultDto> checkoutBatch(@Valid @RequestBody BatchCheckoutRequestDto dto) {
+        return ApiResponse.success(inventoryService.checkoutBatch(dto));
+    }
+
     @Operation(summary = "库存归还")
     @PreAuthorize("hasAuthority('asset:return')")
     @PostMapping("/{id}/return")
-    public ApiResponse<Inventory> returnAsset(
+    public ApiResponse<InventoryDto> returnAsset(
             @PathVariable Long id, @Valid @RequestBody ReturnRequestDto dto) {
         return ApiResponse.success(inventoryService.returnAsset(id, dto));
     }
-}
 
+    @Operation(summary = "批量归还", description = "一次归还多件库存，逐项返回失败原因，其余条目正常归还")
+    @PreAuthorize("hasAuthority('asset:return')")
+    @PostMapping("/return/batch")
+    public ApiResponse<BatchResultDto> returnBatch(@Valid @RequestBody BatchReturnRequestDto dto) {
+        return ApiResponse.success(inventoryService.returnBatch(dto));
+    }
+}
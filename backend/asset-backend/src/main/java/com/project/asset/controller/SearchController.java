@@ -0,0 +1,35 @@
+package com.project.asset.controller;
+
+import com.project.asset.dto.search.SearchHitDto;
+import com.project.asset.response.ApiResponse;
+import com.project.asset.response.PageResponse;
+import com.project.asset.search.SearchDocumentType;
+import com.project.asset.service.SearchService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@Tag(name = "Search", description = "资产与库存检索")
+@RestController
+@RequestMapping("/api/search")
+@RequiredArgsConstructor
+public class SearchController {
+
+    private final SearchService searchService;
+
+    @Operation(summary = "按资产名称、型号、资产编号或序列号片段检索", description = "结果按匹配程度排序；size 最大 100，page 与 size 只能翻到前 10000 条结果")
+    @PreAuthorize("hasAuthority('asset:view')")
+    @GetMapping
+    public ApiResponse<PageResponse<SearchHitDto>> search(
+            @RequestParam String q,
+            @RequestParam(required = false) SearchDocumentType type,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+        return ApiResponse.success(searchService.search(q, type, page, size));
+    }
+}
@@ -0,0 +1,81 @@
+package com.project.asset.datasource;
+
+import com.project.asset.config.ReplicaProperties;
+import com.zaxxer.hikari.HikariDataSource;
+import java.util.ArrayList;
+import java.util.List;
+import javax.sql.DataSource;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.util.StringUtils;
+
+/**
+ * 配置了从库地址时启用读写分离，主库与各从库各自使用一个连接池，连接池参数共用 spring.datasource.hikari。
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnExpression("!'${asset.datasource.replica-urls:}'.isEmpty()")
+@RequiredArgsConstructor
+public class ReplicaDataSourceConfig {
+
+    private final ReplicaProperties replicaProperties;
+    private final ObjectProvider<ReplicaRoutingDataSource> router;
+    private final ObjectProvider<TaskScheduler> taskScheduler;
+
+    @Bean(destroyMethod = "close")
+    public ReplicaRoutingDataSource replicaRoutingDataSource(
+            DataSourceProperties dataSourceProperties, Environment environment) {
+        HikariDataSource primary = pool(dataSourceProperties, environment);
+        primary.setPoolName("primary");
+        List<DataSource> replicas = new ArrayList<>();
+        String username = StringUtils.hasText(replicaProperties.getReplicaUsername())
+                ? replicaProperties.getReplicaUsername()
+                : dataSourceProperties.determineUsername();
+        String password = StringUtils.hasText(replicaProperties.getReplicaPassword())
+                ? replicaProperties.getReplicaPassword()
+                : dataSourceProperties.determinePassword();
+        for (String url : replicaProperties.getReplicaUrls()) {
+            HikariDataSource replica = pool(dataSourceProperties, environment);
+            replica.setPoolName("replica-" + replicas.size());
+            replica.setJdbcUrl(url.trim());
+            replica.setUsername(username);
+            replica.setPassword(password);
+            replica.setReadOnly(true);
+            replicas.add(replica);
+        }
+        return new ReplicaRoutingDataSource(primary, replicas, replicaProperties.getReadYourWritesWindow());
+    }
+
+    /**
+     * 延迟到第一条语句才取物理连接，此时事务的只读标记已经设置，路由才能区分读写。
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(ReplicaRoutingDataSource replicaRoutingDataSource) {
+        return new LazyConnectionDataSourceProxy(replicaRoutingDataSource);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void scheduleHealthCheck() {
+        ReplicaRoutingDataSource dataSource = router.getObject();
+        taskScheduler.ifAvailable(scheduler -> scheduler.scheduleWithFixedDelay(
+                dataSource::checkHealth, replicaProperties.getHealthCheckInterval()));
+    }
+
+    private static HikariDataSource pool(DataSourceProperties properties, Environment environment) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        Binder.get(environment).bind("spring.datasource.hikari", Bindable.ofInstance(dataSource));
+        return dataSource;
+    }
+}
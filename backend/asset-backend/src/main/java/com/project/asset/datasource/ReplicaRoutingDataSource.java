@@ -0,0 +1,187 @@
+package com.project.asset.datasource;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.sql.DataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+/**
+ * 只读事务轮询分发到健康的从库，其余连接（读写事务、无事务）使用主库。
+ * 须由 {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy} 包装，
+ * 保证取连接时事务的只读标记已经设置。
+ * 开启读己之写窗口时，用户的写事务提交后，其只读事务在窗口内仍走主库，避免读到复制延迟前的旧数据。
+ * 按版本号计算 ETag 的请求也走主库：版本号在主库提交后递增，从库未追上时读到的旧数据会以新 ETag 被缓存。
+ */
+@Slf4j
+public class ReplicaRoutingDataSource extends AbstractDataSource implements AutoCloseable {
+
+    private static final int VALIDATION_TIMEOUT_SECONDS = 2;
+    private static final long MAX_TRACKED_WRITERS = 100_000;
+    private static final String PRIMARY_ATTRIBUTE = ReplicaRoutingDataSource.class.getName() + ".PRIMARY";
+
+    private final DataSource primary;
+    private final List<Replica> replicas;
+    private final AtomicInteger next = new AtomicInteger();
+    private final Cache<String, Boolean> recentWriters;
+
+    public ReplicaRoutingDataSource(DataSource primary, List<DataSource> replicas, Duration readYourWritesWindow) {
+        this.primary = primary;
+        this.replicas = replicas.stream().map(Replica::new).toList();
+        this.recentWriters = readYourWritesWindow.isZero()
+                ? null
+                : Caffeine.newBuilder()
+                        .expireAfterWrite(readYourWritesWindow)
+                        .maximumSize(MAX_TRACKED_WRITERS)
+                        .build();
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return connect(DataSource::getConnection);
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return connect(dataSource -> dataSource.getConnection(username, password));
+    }
+
+    private Connection connect(Connector connector) throws SQLException {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            trackWrite();
+            return connector.connect(primary);
+        }
+        if (primaryRequired()) {
+            return connector.connect(primary);
+        }
+        if (recentWriters != null) {
+            String user = currentUser();
+            if (user != null && recentWriters.getIfPresent(user) != null) {
+                return connector.connect(primary);
+            }
+        }
+        int start = Math.floorMod(next.getAndIncrement(), Math.max(1, replicas.size()));
+        for (int i = 0; i < replicas.size(); i++) {
+            Replica replica = replicas.get((start + i) % replicas.size());
+            if (!replica.healthy) {
+                continue;
+            }
+            try {
+                return connector.connect(replica.dataSource);
+            } catch (SQLException ex) {
+                replica.markDown(ex);
+            }
+        }
+        return connector.connect(primary);
+    }
+
+    /**
+     * 当前请求余下的只读事务都走主库。
+     */
+    public static void readFromPrimary(RequestAttributes request) {
+        request.setAttribute(PRIMARY_ATTRIBUTE, Boolean.TRUE, RequestAttributes.SCOPE_REQUEST);
+    }
+
+    /**
+     * 校验各从库连接，恢复或摘除从库。
+     */
+    public void checkHealth() {
+        for (Replica replica : replicas) {
+            try (Connection connection = replica.dataSource.getConnection()) {
+                if (!connection.isValid(VALIDATION_TIMEOUT_SECONDS)) {
+                    throw new SQLException("Connection validation failed");
+                }
+                if (!replica.healthy) {
+                    log.info("Read replica {} is back in rotation", replicas.indexOf(replica));
+                    replica.healthy = true;
+                }
+            } catch (SQLException ex) {
+                replica.markDown(ex);
+            }
+        }
+    }
+
+    int healthyReplicas() {
+        return (int) replicas.stream().filter(replica -> replica.healthy).count();
+    }
+
+    @Override
+    public void close() throws Exception {
+        for (DataSource dataSource : replicasAndPrimary()) {
+            if (dataSource instanceof AutoCloseable closeable) {
+                closeable.close();
+            }
+        }
+    }
+
+    private List<DataSource> replicasAndPrimary() {
+        List<DataSource> all = new ArrayList<>(replicas.stream().map(replica -> replica.dataSource).toList());
+        all.add(primary);
+        return all;
+    }
+
+    /**
+     * 读写事务提交后记录当前用户，开启读己之写窗口时生效。
+     */
+    private void trackWrite() {
+        if (recentWriters == null
+                || !TransactionSynchronizationManager.isActualTransactionActive()
+                || !TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        String user = currentUser();
+        if (user == null) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                recentWriters.put(user, Boolean.TRUE);
+            }
+        });
+    }
+
+    private static boolean primaryRequired() {
+        RequestAttributes request = RequestContextHolder.getRequestAttributes();
+        return request != null && request.getAttribute(PRIMARY_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST) != null;
+    }
+
+    private static String currentUser() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication != null && authentication.isAuthenticated() ? authentication.getName() : null;
+    }
+
+    @FunctionalInterface
+    private interface Connector {
+        Connection connect(DataSource dataSource) throws SQLException;
+    }
+
+    private final class Replica {
+
+        private final DataSource dataSource;
+        private volatile boolean healthy = true;
+
+        private Replica(DataSource dataSource) {
+            this.dataSource = dataSource;
+        }
+
+        private void markDown(SQLException ex) {
+            if (healthy) {
+                log.warn("Read replica {} taken out of rotation: {}", replicas.indexOf(this), ex.getMessage());
+                healthy = false;
+            }
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.project.asset.domain.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * 数据集合的变更版本号，由 {@link com.project.asset.change.ChangeVersions} 通过 JDBC 读写。
+ */
+@Getter
+@Setter
+@Entity
+@Table(name = "change_versions")
+public class ChangeVersion {
+
+    @Id
+    @Column(name = "aggregate_name", length = 32)
+    private String aggregateName;
+
+    @Column(nullable = false)
+    private Long version;
+}
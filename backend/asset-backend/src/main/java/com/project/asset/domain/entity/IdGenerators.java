@@ -0,0 +1,13 @@
+package com.project.asset.domain.entity;
+
+/**
+ * 批量写入的表使用 id_generators 表分配主键：每次取号预留一段 id，插入语句不再依赖自增回填，
+ * Hibernate 才能把多条 insert 合并为 JDBC 批处理。
+ */
+public final class IdGenerators {
+
+    public static final int ALLOCATION_SIZE = 100;
+
+    private IdGenerators() {
+    }
+}
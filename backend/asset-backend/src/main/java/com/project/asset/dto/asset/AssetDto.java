@@ -12,6 +12,7 @@ import lombok.Data;
 @Schema(description = "资产信息")
 public class AssetDto {
     private Long id;
+    @Schema(description = "资产编号，新建时留空则自动生成")
     private String assetNo;
     private String name;
     private Long assetTypeId;
@@ -0,0 +1,28 @@
+package com.project.asset.dto.asset;
+
+import com.project.asset.domain.enums.AssetStatus;
+import java.time.LocalDate;
+import java.util.Set;
+import lombok.Data;
+import org.springframework.format.annotation.DateTimeFormat;
+
+@Data
+public class AssetFilter {
+
+    public static final Set<String> PARAMETERS =
+            Set.of("status", "assetTypeId", "vendorId", "location", "purchasedFrom", "purchasedTo");
+
+    private AssetStatus status;
+    private Long assetTypeId;
+    private Long vendorId;
+    /**
+     * 按前缀匹配。
+     */
+    private String location;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate purchasedFrom;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate purchasedTo;
+}
@@ -0,0 +1,36 @@
+package com.project.asset.dto.asset;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import java.time.LocalDateTime;
+import java.util.List;
+import lombok.Data;
+
+@Data
+@Schema(description = "批量领用请求")
+public class BatchCheckoutRequestDto {
+
+    public static final int MAX_ITEMS = 1000;
+
+    @Valid
+    @NotEmpty
+    @Size(max = MAX_ITEMS, message = "单次最多领用 " + MAX_ITEMS + " 件")
+    private List<Item> items;
+
+    private String remark;
+
+    @Data
+    public static class Item {
+        @NotNull
+        private Long inventoryId;
+
+        @NotNull
+        private Long userId;
+
+        @Schema(description = "预计归还时间，未填写则按默认天数计算")
+        private LocalDateTime expectedReturnAt;
+    }
+}
@@ -0,0 +1,24 @@
+package com.project.asset.dto.asset;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.util.List;
+import lombok.Builder;
+import lombok.Value;
+
+@Value
+@Builder
+@Schema(description = "批量操作结果，失败项不影响其余条目")
+public class BatchResultDto {
+    int total;
+    int succeeded;
+    List<Long> ids;
+    List<Failure> failures;
+
+    @Value
+    public static class Failure {
+        @Schema(description = "失败条目在请求列表中的下标")
+        int index;
+        String key;
+        String message;
+    }
+}
@@ -0,0 +1,25 @@
+package com.project.asset.dto.asset;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import java.util.List;
+import lombok.Data;
+
+@Data
+@Schema(description = "批量入库请求")
+public class BatchStockInRequestDto {
+
+    public static final int MAX_ITEMS = 5000;
+
+    @NotNull
+    private Long assetId;
+
+    @NotEmpty
+    @Size(max = MAX_ITEMS, message = "单次最多入库 " + MAX_ITEMS + " 个序列号")
+    @Schema(description = "序列号列表，空白、批次内重复或已存在的序列号作为失败项返回，其余正常入库")
+    private List<String> serialNos;
+
+    private String location;
+}
@@ -2,11 +2,13 @@ package com.project.asset.dto.asset;
 
 import com.project.asset.domain.enums.InventoryStatus;
 import java.time.LocalDateTime;
+import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Value;
 
 @Value
 @Builder
+@AllArgsConstructor
 public class InventoryDto {
     Long id;
     Long assetId;
@@ -15,6 +17,7 @@ public class InventoryDto {
     InventoryStatus status;
     String serialNo;
     String location;
+    LocalDateTime createdAt;
     LocalDateTime updatedAt;
     Long currentHolderId;
     String currentHolderName;
@@ -0,0 +1,52 @@
+package com.project.asset.dto.asset;
+
+import com.project.asset.domain.enums.InventoryStatus;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Set;
+import lombok.Data;
+import org.springframework.format.annotation.DateTimeFormat;
+
+@Data
+public class InventoryFilter {
+
+    public static final Set<String> PARAMETERS = Set.of(
+            "status",
+            "assetTypeId",
+            "vendorId",
+            "location",
+            "holderId",
+            "holderDepartmentId",
+            "purchasedFrom",
+            "purchasedTo",
+            "expectedReturnFrom",
+            "expectedReturnTo",
+            "overdue");
+
+    private InventoryStatus status;
+    private Long assetTypeId;
+    private Long vendorId;
+    /**
+     * 按前缀匹配。
+     */
+    private String location;
+    private Long holderId;
+    private Long holderDepartmentId;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate purchasedFrom;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate purchasedTo;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime expectedReturnFrom;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime expectedReturnTo;
+
+    /**
+     * 仅返回已领用且超过预计归还时间的库存。
+     */
+    private boolean overdue;
+}
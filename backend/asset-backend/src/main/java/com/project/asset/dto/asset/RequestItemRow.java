@@ -0,0 +1,18 @@
+package com.project.asset.dto.asset;
+
+/**
+ * 申请项扁平投影，按申请批量查询后再按 requestId 归组。
+ */
+public record RequestItemRow(
+        Long requestId, Long id, Long assetTypeId, String assetTypeName, Integer quantity, String purpose) {
+
+    public RequestItemDto toDto() {
+        return RequestItemDto.builder()
+                .id(id)
+                .assetTypeId(assetTypeId)
+                .assetTypeName(assetTypeName)
+                .quantity(quantity)
+                .purpose(purpose)
+                .build();
+    }
+}
@@ -0,0 +1,36 @@
+package com.project.asset.dto.audit;
+
+import java.time.LocalDateTime;
+import java.util.Set;
+import lombok.Data;
+import org.springframework.format.annotation.DateTimeFormat;
+
+@Data
+public class AuditLogFilter {
+
+    public static final Set<String> PARAMETERS =
+            Set.of("userId", "entity", "entityId", "action", "createdFrom", "createdTo");
+
+    private Long userId;
+    private String entity;
+    /**
+     * 需同时指定 entity。
+     */
+    private Long entityId;
+    /**
+     * 匹配任一操作，多个值以逗号分隔。
+     */
+    private Set<String> action;
+
+    /**
+     * 包含该时间。
+     */
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime createdFrom;
+
+    /**
+     * 不包含该时间，按月查询时传下月第一天即可只命中一个分区。
+     */
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime createdTo;
+}
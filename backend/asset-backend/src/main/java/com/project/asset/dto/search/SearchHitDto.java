@@ -0,0 +1,16 @@
+package com.project.asset.dto.search;
+
+import com.project.asset.search.SearchDocumentType;
+import lombok.Builder;
+import lombok.Value;
+
+@Value
+@Builder
+public class SearchHitDto {
+    SearchDocumentType type;
+    Long id;
+    String code;
+    String title;
+    String detail;
+    int score;
+}
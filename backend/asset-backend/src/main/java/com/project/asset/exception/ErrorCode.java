@@ -11,6 +11,7 @@ public enum ErrorCode {
     FORBIDDEN(4030, "没有访问权限"),
     NOT_FOUND(4040, "资源不存在"),
     CONFLICT(4090, "资源冲突"),
+    TOO_MANY_REQUESTS(4290, "请求过于频繁"),
     SERVER_ERROR(5000, "系统内部异常");
 
     private final int code;
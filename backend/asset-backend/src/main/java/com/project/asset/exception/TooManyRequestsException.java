@@ -0,0 +1,14 @@
+package com.project.asset.exception;
+
+import java.time.Duration;
+import lombok.Getter;
+
+@Getter
+public class TooManyRequestsException extends BusinessException {
+    private final Duration retryAfter;
+
+    public TooManyRequestsException(String message, Duration retryAfter) {
+        super(ErrorCode.TOO_MANY_REQUESTS, message);
+        this.retryAfter = retryAfter;
+    }
+}
@@ -0,0 +1,51 @@
+package com.project.asset.numbering;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.IntToLongFunction;
+
+/**
+ * 从数据库一次取一段序号，在内存中逐个发放。段内发放只有一次原子自增，段用完时由一个线程取下一段，其余线程等待。
+ * 进程重启会丢弃当前段剩余的序号，编号可能有空缺但不会重复。
+ */
+final class BlockSequence {
+
+    private final int blockSize;
+    private final IntToLongFunction allocator;
+    private volatile Block block = new Block(0, 0);
+
+    /**
+     * @param allocator 按段大小分配一段，返回该段第一个序号
+     */
+    BlockSequence(int blockSize, IntToLongFunction allocator) {
+        this.blockSize = blockSize;
+        this.allocator = allocator;
+    }
+
+    long next() {
+        while (true) {
+            Block current = block;
+            long value = current.next.getAndIncrement();
+            if (value < current.end) {
+                return value;
+            }
+            refill(current);
+        }
+    }
+
+    private synchronized void refill(Block exhausted) {
+        if (block == exhausted) {
+            long start = allocator.applyAsLong(blockSize);
+            block = new Block(start, start + blockSize);
+        }
+    }
+
+    private static final class Block {
+        private final AtomicLong next;
+        private final long end;
+
+        private Block(long start, long end) {
+            this.next = new AtomicLong(start);
+            this.end = end;
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package com.project.asset.numbering;
+
+/**
+ * 业务编号生成器，申请单号、资产编号、采购单号都由它分配。需要其他编号规则时提供一个标注 {@code @Primary} 的实现即可替换。
+ */
+public interface BusinessNumberGenerator {
+
+    /**
+     * 返回一个全局唯一的编号，可在任意线程并发调用。
+     */
+    String next(BusinessNumberType type);
+}
@@ -0,0 +1,26 @@
+package com.project.asset.numbering;
+
+/**
+ * 业务编号种类：前缀出现在编号中，序列名对应 id_generators 中分段分配的行。
+ */
+public enum BusinessNumberType {
+    REQUEST("REQ", "request_no"),
+    ASSET("AST", "asset_no"),
+    PURCHASE("PO", "purchase_no");
+
+    private final String prefix;
+    private final String sequenceName;
+
+    BusinessNumberType(String prefix, String sequenceName) {
+        this.prefix = prefix;
+        this.sequenceName = sequenceName;
+    }
+
+    public String prefix() {
+        return prefix;
+    }
+
+    public String sequenceName() {
+        return sequenceName;
+    }
+}
@@ -0,0 +1,64 @@
+package com.project.asset.numbering;
+
+import com.project.asset.config.NumberingProperties;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.EnumMap;
+import java.util.Map;
+import org.springframework.stereotype.Component;
+
+/**
+ * 按配置为每种编号选择格式：
+ * SEQUENCE 形如 REQ-20261018-000123，序号来自数据库分段，便于人工辨认；
+ * TIME 形如 REQ-1234567890123456789，节点内按时间生成，不访问数据库，须为每个实例配置不同的节点号。
+ * 两种格式都不会与对方或历史编号重复。
+ */
+@Component
+public class DefaultBusinessNumberGenerator implements BusinessNumberGenerator {
+
+    private static final DateTimeFormatter DATE = DateTimeFormatter.BASIC_ISO_DATE;
+    private static final int SEQUENCE_DIGITS = 6;
+
+    private final Map<BusinessNumberType, NumberingProperties.Format> formats;
+    private final TimeOrderedNumbers timeOrdered;
+    private final Map<BusinessNumberType, BlockSequence> sequences = new EnumMap<>(BusinessNumberType.class);
+
+    public DefaultBusinessNumberGenerator(NumberingProperties properties, SequenceBlockAllocator allocator) {
+        this.formats = new EnumMap<>(properties.getFormats());
+        this.timeOrdered = formats.containsValue(NumberingProperties.Format.TIME)
+                ? new TimeOrderedNumbers(requireNodeId(properties), System::currentTimeMillis)
+                : null;
+        for (BusinessNumberType type : BusinessNumberType.values()) {
+            sequences.put(type, new BlockSequence(
+                    properties.getBlockSize(), size -> allocator.allocate(type.sequenceName(), size)));
+        }
+    }
+
+    @Override
+    public String next(BusinessNumberType type) {
+        if (formats.getOrDefault(type, NumberingProperties.Format.SEQUENCE) == NumberingProperties.Format.TIME) {
+            return type.prefix() + "-" + timeOrdered.next();
+        }
+        String sequence = Long.toString(sequences.get(type).next());
+        StringBuilder number = new StringBuilder(32)
+                .append(type.prefix())
+                .append('-')
+                .append(LocalDate.now().format(DATE))
+                .append('-');
+        for (int i = sequence.length(); i < SEQUENCE_DIGITS; i++) {
+            number.append('0');
+        }
+        return number.append(sequence).toString();
+    }
+
+    /**
+     * 按主机推算的节点号无法保证各实例不同，重复时会生成相同编号，因此未配置时启动失败。
+     */
+    private static int requireNodeId(NumberingProperties properties) {
+        if (properties.getNodeId() == null) {
+            throw new IllegalStateException("asset.numbering.node-id must be set when a business number uses the"
+                    + " TIME format; give every instance a distinct value between 0 and " + TimeOrderedNumbers.MAX_NODE);
+        }
+        return properties.getNodeId();
+    }
+}
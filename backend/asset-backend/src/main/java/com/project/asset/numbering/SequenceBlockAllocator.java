@@ -0,0 +1,53 @@
+package com.project.asset.numbering;
+
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * 在 id_generators 中为业务编号分段：一次 update 把 next_val 推进一段，在独立事务中立即提交，
+ * 不随业务事务持有行锁，多实例同时分段也不会重叠。
+ */
+@Component
+public class SequenceBlockAllocator {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    public SequenceBlockAllocator(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * 分配 size 个连续序号，返回第一个。
+     */
+    public long allocate(String sequenceName, int size) {
+        while (true) {
+            Long start = transactionTemplate.execute(status -> {
+                int updated = jdbcTemplate.update(
+                        "UPDATE id_generators SET next_val = next_val + ? WHERE sequence_name = ?", size, sequenceName);
+                if (updated == 0) {
+                    return null;
+                }
+                return jdbcTemplate.queryForObject(
+                        "SELECT next_val FROM id_generators WHERE sequence_name = ?", Long.class, sequenceName) - size;
+            });
+            if (start != null) {
+                return start;
+            }
+            // 迁移脚本会预置序列行，未预置时（如测试库）由第一次分配创建，并发创建时失败的一方重试 update
+            try {
+                transactionTemplate.executeWithoutResult(status -> jdbcTemplate.update(
+                        "INSERT INTO id_generators (sequence_name, next_val) VALUES (?, ?)", sequenceName, 1L + size));
+                return 1L;
+            } catch (DuplicateKeyException ex) {
+                // 已被其他线程或实例创建
+            }
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.project.asset.numbering;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * 按时间递增的 63 位数字：高位为自 2026-01-01 起的毫秒数，其后是毫秒内序号，最低 10 位是节点号。
+ * 时间与序号合为一个状态，通过 CAS 推进，不加锁；同一毫秒超过 4096 个时借用下一毫秒，时钟回拨时沿用上一状态继续递增，
+ * 因此同一节点内严格递增，不同节点靠节点号区分。
+ */
+final class TimeOrderedNumbers {
+
+    static final long EPOCH = 1_767_225_600_000L;
+    static final int NODE_BITS = 10;
+    static final int MAX_NODE = (1 << NODE_BITS) - 1;
+    private static final int SEQUENCE_BITS = 12;
+
+    private final long node;
+    private final LongSupplier clock;
+    private final AtomicLong state = new AtomicLong();
+
+    TimeOrderedNumbers(int node, LongSupplier clock) {
+        if (node < 0 || node > MAX_NODE) {
+            throw new IllegalArgumentException("Node id must be between 0 and " + MAX_NODE + ": " + node);
+        }
+        this.node = node;
+        this.clock = clock;
+    }
+
+    long next() {
+        while (true) {
+            long previous = state.get();
+            long tick = (clock.getAsLong() - EPOCH) << SEQUENCE_BITS;
+            long current = tick > previous ? tick : previous + 1;
+            if (state.compareAndSet(previous, current)) {
+                return current << NODE_BITS | node;
+            }
+        }
+    }
+}
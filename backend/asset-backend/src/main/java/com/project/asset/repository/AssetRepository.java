@@ -1,15 +1,30 @@
 package com.project.asset.repository;
 
 import com.project.asset.domain.entity.Asset;
+import com.project.asset.search.SearchDocument;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
-public interface AssetRepository extends JpaRepository<Asset, Long> {
+public interface AssetRepository extends JpaRepository<Asset, Long>, JpaSpecificationExecutor<Asset> {
     @EntityGraph(attributePaths = {"assetType"})
     Optional<Asset> findByAssetNo(String assetNo);
 
+    @Query("select a.assetNo from Asset a where a.assetNo in :assetNos")
+    List<String> findExistingAssetNos(@Param("assetNos") Collection<String> assetNos);
+
     boolean existsByAssetType_Id(Long assetTypeId);
+
+    @Query("select new com.project.asset.search.SearchDocument("
+            + "com.project.asset.search.SearchDocumentType.ASSET, a.id, a.assetNo, a.name, a.model) "
+            + "from Asset a where a.id > :afterId order by a.id")
+    List<SearchDocument> findSearchDocuments(@Param("afterId") Long afterId, Pageable pageable);
 }
 
 
@@ -3,8 +3,9 @@ package com.project.asset.repository;
 import com.project.asset.domain.entity.AssetRequest;
 import java.util.Optional;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 
-public interface AssetRequestRepository extends JpaRepository<AssetRequest, Long> {
+public interface AssetRequestRepository extends JpaRepository<AssetRequest, Long>, JpaSpecificationExecutor<AssetRequest> {
     Optional<AssetRequest> findByRequestNo(String requestNo);
 }
 
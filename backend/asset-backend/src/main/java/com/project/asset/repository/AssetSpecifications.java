@@ -0,0 +1,86 @@
+package com.project.asset.repository;
+
+import com.project.asset.domain.entity.Asset;
+import com.project.asset.domain.enums.AssetStatus;
+import com.project.asset.dto.asset.AssetFilter;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.From;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.util.StringUtils;
+
+/**
+ * 资产列表筛选条件，只对白名单字段生成条件，均有对应索引。
+ */
+public final class AssetSpecifications {
+
+    private AssetSpecifications() {}
+
+    public static Specification<Asset> matching(AssetFilter filter) {
+        return (root, query, cb) -> {
+            List<Predicate> predicates = new ArrayList<>();
+            addAssetPredicates(predicates, root, cb, filter.getStatus(), filter.getAssetTypeId(),
+                    filter.getVendorId(), filter.getLocation(), filter.getPurchasedFrom(), filter.getPurchasedTo());
+            return cb.and(predicates.toArray(Predicate[]::new));
+        };
+    }
+
+    static void addAssetPredicates(
+            List<Predicate> predicates,
+            Path<Asset> asset,
+            CriteriaBuilder cb,
+            AssetStatus status,
+            Long assetTypeId,
+            Long vendorId,
+            String location,
+            LocalDate purchasedFrom,
+            LocalDate purchasedTo) {
+        if (status != null) {
+            predicates.add(cb.equal(asset.get("status"), status));
+        }
+        if (assetTypeId != null) {
+            predicates.add(cb.equal(asset.get("assetType").get("id"), assetTypeId));
+        }
+        if (vendorId != null) {
+            predicates.add(cb.equal(asset.get("vendor").get("id"), vendorId));
+        }
+        if (StringUtils.hasText(location)) {
+            predicates.add(startsWith(cb, asset.get("location"), location));
+        }
+        Path<LocalDate> purchaseDate = asset.get("purchaseDate");
+        if (purchasedFrom != null) {
+            predicates.add(cb.greaterThanOrEqualTo(purchaseDate, purchasedFrom));
+        }
+        if (purchasedTo != null) {
+            predicates.add(cb.lessThanOrEqualTo(purchaseDate, purchasedTo));
+        }
+    }
+
+    /**
+     * 前缀匹配，可走索引。
+     */
+    static Predicate startsWith(CriteriaBuilder cb, Expression<String> path, String prefix) {
+        String escaped = prefix.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+        return cb.like(path, escaped + "%", '\\');
+    }
+
+    /**
+     * 复用查询中已有的关联，避免投影与筛选条件重复关联同一张表。
+     */
+    @SuppressWarnings("unchecked")
+    public static <X, Y> Join<X, Y> join(From<?, X> from, String attribute, JoinType type) {
+        for (Join<X, ?> join : from.getJoins()) {
+            if (join.getAttribute().getName().equals(attribute) && join.getJoinType() == type) {
+                return (Join<X, Y>) join;
+            }
+        }
+        return from.join(attribute, type);
+    }
+}
@@ -0,0 +1,46 @@
+package com.project.asset.repository;
+
+import com.project.asset.domain.entity.AuditLog;
+import com.project.asset.dto.audit.AuditLogFilter;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.util.StringUtils;
+
+/**
+ * 审计日志筛选条件。等值条件分别对应 (user_id, created_at)、(entity, entity_id, created_at)、(action, created_at)
+ * 索引，按 createdAt 游标分页时沿索引顺序读取；created_at 上的区间条件让 MySQL 只扫描相关的月分区。
+ */
+public final class AuditLogSpecifications {
+
+    private AuditLogSpecifications() {}
+
+    public static Specification<AuditLog> matching(AuditLogFilter filter) {
+        return (root, query, cb) -> {
+            List<Predicate> predicates = new ArrayList<>();
+            if (filter.getUserId() != null) {
+                predicates.add(cb.equal(root.get("user").get("id"), filter.getUserId()));
+            }
+            if (StringUtils.hasText(filter.getEntity())) {
+                predicates.add(cb.equal(root.get("entity"), filter.getEntity()));
+            }
+            if (filter.getEntityId() != null) {
+                predicates.add(cb.equal(root.get("entityId"), filter.getEntityId()));
+            }
+            if (filter.getAction() != null && !filter.getAction().isEmpty()) {
+                predicates.add(root.get("action").in(filter.getAction()));
+            }
+            Path<LocalDateTime> createdAt = root.get("createdAt");
+            if (filter.getCreatedFrom() != null) {
+                predicates.add(cb.greaterThanOrEqualTo(createdAt, filter.getCreatedFrom()));
+            }
+            if (filter.getCreatedTo() != null) {
+                predicates.add(cb.lessThan(createdAt, filter.getCreatedTo()));
+            }
+            return cb.and(predicates.toArray(Predicate[]::new));
+        };
+    }
+}
@@ -1,19 +1,93 @@
 package com.project.asset.repository;
 
 import com.project.asset.domain.entity.Inventory;
+import com.project.asset.domain.entity.User;
 import com.project.asset.domain.enums.InventoryStatus;
+import com.project.asset.dto.asset.InventoryDto;
+import com.project.asset.search.SearchDocument;
+import jakarta.persistence.LockModeType;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+public interface InventoryRepository extends JpaRepository<Inventory, Long>, JpaSpecificationExecutor<Inventory> {
+
+    /**
+     * 库存扁平投影，一次关联查询直接映射为 DTO，不加载实体。
+     */
+    String VIEW = "select new com.project.asset.dto.asset.InventoryDto("
+            + "i.id, a.id, a.name, a.assetNo, i.status, i.serialNo, i.location, i.createdAt, i.updatedAt, h.id, "
+            + "case when trim(h.fullName) <> '' then h.fullName else h.username end, "
+            + "i.checkedOutAt, i.expectedReturnAt, i.lastReminderAt, i.reminderCount) "
+            + "from Inventory i join i.asset a left join i.currentHolder h ";
 
-public interface InventoryRepository extends JpaRepository<Inventory, Long> {
     Optional<Inventory> findBySerialNo(String serialNo);
 
+    /**
+     * 按 id 顺序加锁，并发的批量操作以相同顺序等待锁，避免死锁。
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select i from Inventory i where i.id in :ids order by i.id")
+    List<Inventory> findAllByIdForUpdate(@Param("ids") Collection<Long> ids);
+
+    /**
+     * 条件领用：库存在库且用户存在时才更新，状态判断与修改在同一条 update 中完成，
+     * 并发领用同一件库存时只有一条能命中。返回受影响行数，0 表示条件不满足，由调用方再查询原因。
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("update Inventory i set i.status = com.project.asset.domain.enums.InventoryStatus.CHECKED_OUT, "
+            + "i.currentHolder = :holder, i.checkedOutAt = :now, i.updatedAt = :now, "
+            + "i.expectedReturnAt = :expectedReturnAt, i.lastReminderAt = null, i.reminderCount = 0 "
+            + "where i.id = :id and i.status = com.project.asset.domain.enums.InventoryStatus.IN_STOCK "
+            + "and exists (select u.id from User u where u = :holder)")
+    int checkOutIfInStock(
+            @Param("id") Long id,
+            @Param("holder") User holder,
+            @Param("now") LocalDateTime now,
+            @Param("expectedReturnAt") LocalDateTime expectedReturnAt);
+
+    /**
+     * 条件归还：库存处于领用状态、由该用户持有（或未记录持有人）且用户存在时才更新，返回受影响行数。
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("update Inventory i set i.status = com.project.asset.domain.enums.InventoryStatus.IN_STOCK, "
+            + "i.currentHolder = null, i.checkedOutAt = null, i.expectedReturnAt = null, "
+            + "i.lastReminderAt = null, i.reminderCount = 0, i.updatedAt = :now "
+            + "where i.id = :id and i.status = com.project.asset.domain.enums.InventoryStatus.CHECKED_OUT "
+            + "and (i.currentHolder is null or i.currentHolder.id = :holderId) "
+            + "and exists (select u.id from User u where u.id = :holderId)")
+    int returnIfHeldBy(@Param("id") Long id, @Param("holderId") Long holderId, @Param("now") LocalDateTime now);
+
+    @Query("select i.serialNo from Inventory i where i.serialNo in :serialNos")
+    List<String> findExistingSerialNos(@Param("serialNos") Collection<String> serialNos);
+
     List<Inventory> findByStatus(InventoryStatus status);
 
+    @EntityGraph(attributePaths = {"asset", "currentHolder"})
     List<Inventory> findByStatusAndExpectedReturnAtBefore(
             InventoryStatus status, LocalDateTime expectedReturnAt);
-}
 
+    @Query(VIEW + "where i.status = com.project.asset.domain.enums.InventoryStatus.CHECKED_OUT "
+            + "and i.expectedReturnAt < :now order by i.expectedReturnAt, i.id")
+    List<InventoryDto> findOverdueViews(@Param("now") LocalDateTime now);
+
+    @Query(VIEW + "where i.id = :id")
+    Optional<InventoryDto> findViewById(@Param("id") Long id);
 
+    @Query(VIEW + "where h.id = :holderId order by i.checkedOutAt desc, i.id desc")
+    List<InventoryDto> findViewsByHolderId(@Param("holderId") Long holderId);
+
+    @Query("select new com.project.asset.search.SearchDocument("
+            + "com.project.asset.search.SearchDocumentType.INVENTORY, i.id, i.serialNo, a.name, a.assetNo) "
+            + "from Inventory i join i.asset a where i.id > :afterId order by i.id")
+    List<SearchDocument> findSearchDocuments(@Param("afterId") Long afterId, Pageable pageable);
+}
@@ -0,0 +1,64 @@
+package com.project.asset.repository;
+
+import static com.project.asset.repository.AssetSpecifications.join;
+
+import com.project.asset.domain.entity.Asset;
+import com.project.asset.domain.entity.Inventory;
+import com.project.asset.domain.entity.User;
+import com.project.asset.domain.enums.InventoryStatus;
+import com.project.asset.dto.asset.InventoryFilter;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.util.StringUtils;
+
+/**
+ * 库存列表筛选条件，资产相关条件通过与投影共用的资产关联过滤。
+ */
+public final class InventorySpecifications {
+
+    private InventorySpecifications() {}
+
+    public static Specification<Inventory> matching(InventoryFilter filter) {
+        return (root, query, cb) -> {
+            List<Predicate> predicates = new ArrayList<>();
+            if (filter.getStatus() != null) {
+                predicates.add(cb.equal(root.get("status"), filter.getStatus()));
+            }
+            if (StringUtils.hasText(filter.getLocation())) {
+                predicates.add(AssetSpecifications.startsWith(cb, root.get("location"), filter.getLocation()));
+            }
+            if (filter.getHolderId() != null) {
+                predicates.add(cb.equal(root.get("currentHolder").get("id"), filter.getHolderId()));
+            }
+            if (filter.getHolderDepartmentId() != null) {
+                Path<User> holder = join(root, "currentHolder", JoinType.LEFT);
+                predicates.add(cb.equal(holder.get("department").get("id"), filter.getHolderDepartmentId()));
+            }
+            Path<LocalDateTime> expectedReturnAt = root.get("expectedReturnAt");
+            if (filter.getExpectedReturnFrom() != null) {
+                predicates.add(cb.greaterThanOrEqualTo(expectedReturnAt, filter.getExpectedReturnFrom()));
+            }
+            if (filter.getExpectedReturnTo() != null) {
+                predicates.add(cb.lessThanOrEqualTo(expectedReturnAt, filter.getExpectedReturnTo()));
+            }
+            if (filter.isOverdue()) {
+                predicates.add(cb.equal(root.get("status"), InventoryStatus.CHECKED_OUT));
+                predicates.add(cb.lessThan(expectedReturnAt, LocalDateTime.now()));
+            }
+            if (filter.getAssetTypeId() != null
+                    || filter.getVendorId() != null
+                    || filter.getPurchasedFrom() != null
+                    || filter.getPurchasedTo() != null) {
+                Path<Asset> asset = join(root, "asset", JoinType.INNER);
+                AssetSpecifications.addAssetPredicates(predicates, asset, cb, null, filter.getAssetTypeId(),
+                        filter.getVendorId(), null, filter.getPurchasedFrom(), filter.getPurchasedTo());
+            }
+            return cb.and(predicates.toArray(Predicate[]::new));
+        };
+    }
+}
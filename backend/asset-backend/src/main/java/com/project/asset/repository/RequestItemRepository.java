@@ -1,11 +1,19 @@
 package com.project.asset.repository;
 
 import com.project.asset.domain.entity.RequestItem;
+import com.project.asset.dto.asset.RequestItemRow;
+import java.util.Collection;
 import java.util.List;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 public interface RequestItemRepository extends JpaRepository<RequestItem, Long> {
     List<RequestItem> findByRequestId(Long requestId);
-}
-
 
+    @Query("select new com.project.asset.dto.asset.RequestItemRow("
+            + "ri.request.id, ri.id, t.id, t.name, ri.quantity, ri.purpose) "
+            + "from RequestItem ri left join ri.assetType t "
+            + "where ri.request.id in :requestIds order by ri.id")
+    List<RequestItemRow> findRowsByRequestIdIn(@Param("requestIds") Collection<Long> requestIds);
+}
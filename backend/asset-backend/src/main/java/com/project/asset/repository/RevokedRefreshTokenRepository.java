@@ -0,0 +1,29 @@
+package com.project.asset.repository;
+
+import com.project.asset.domain.entity.RevokedRefreshToken;
+import java.time.LocalDateTime;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+public interface RevokedRefreshTokenRepository extends JpaRepository<RevokedRefreshToken, String> {
+
+    /**
+     * 直接插入，主键冲突说明该令牌已被使用或注销。
+     */
+    @Modifying
+    @Query(
+            value = "insert into revoked_refresh_tokens (jti, user_id, expires_at, revoked_at) "
+                    + "values (:jti, :userId, :expiresAt, :revokedAt)",
+            nativeQuery = true)
+    int insert(
+            @Param("jti") String jti,
+            @Param("userId") Long userId,
+            @Param("expiresAt") LocalDateTime expiresAt,
+            @Param("revokedAt") LocalDateTime revokedAt);
+
+    @Modifying
+    @Query("delete from RevokedRefreshToken r where r.expiresAt <= :now")
+    int deleteExpired(@Param("now") LocalDateTime now);
+}
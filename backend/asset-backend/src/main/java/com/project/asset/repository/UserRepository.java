@@ -2,8 +2,11 @@ package com.project.asset.repository;
 
 import com.project.asset.domain.entity.User;
 import java.util.Optional;
+import java.util.Set;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 public interface UserRepository extends JpaRepository<User, Long> {
     @EntityGraph(attributePaths = {"roles", "roles.permissions"})
@@ -14,5 +17,8 @@ public interface UserRepository extends JpaRepository<User, Long> {
     boolean existsByUsernameAndIdNot(String username, Long id);
 
     boolean existsByDepartment_Id(Long departmentId);
+
+    @Query("select u.id from User u join u.roles r where r.id = :roleId")
+    Set<Long> findIdsByRoleId(@Param("roleId") Long roleId);
 }
 
@@ -0,0 +1,65 @@
+package com.project.asset.response;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.Set;
+import java.util.zip.GZIPOutputStream;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+/**
+ * 导出文件格式，按行流式写出。
+ */
+public enum ExportFormat {
+    CSV("text/csv;charset=UTF-8", "csv"),
+    NDJSON("application/x-ndjson;charset=UTF-8", "ndjson");
+
+    public static final Set<String> PARAMETERS = Set.of("format", "gzip");
+
+    private static final int GZIP_BUFFER_SIZE = 64 * 1024;
+
+    private final String contentType;
+    private final String extension;
+
+    ExportFormat(String contentType, String extension) {
+        this.contentType = contentType;
+        this.extension = extension;
+    }
+
+    public String contentType() {
+        return contentType;
+    }
+
+    public String extension() {
+        return extension;
+    }
+
+    /**
+     * 以附件形式流式返回，gzip 时输出 .gz 文件。
+     */
+    public ResponseEntity<StreamingResponseBody> attachment(String name, boolean gzip, StreamingResponseBody body) {
+        String filename = name + "-" + LocalDate.now() + "." + extension + (gzip ? ".gz" : "");
+        StreamingResponseBody stream = gzip
+                ? out -> {
+                    GZIPOutputStream compressed = new GZIPOutputStream(out, GZIP_BUFFER_SIZE);
+                    body.writeTo(compressed);
+                    compressed.finish();
+                }
+                : body;
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        ContentDisposition.attachment().filename(filename).build().toString())
+                .contentType(gzip ? MediaType.parseMediaType("application/gzip") : MediaType.parseMediaType(contentType))
+                .body(stream);
+    }
+
+    /**
+     * 导出只接受筛选条件与格式参数，分页参数没有意义，一并拒绝。
+     */
+    public static void requireKnownParameters(Collection<String> names, Set<String> filterParameters) {
+        QueryParameters.requireKnown(names, PARAMETERS, filterParameters);
+    }
+}
@@ -0,0 +1,70 @@
+package com.project.asset.response;
+
+import com.project.asset.exception.BusinessException;
+import com.project.asset.exception.ErrorCode;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * 游标分页的不透明游标：按排序字段记录上一页最后一行的键值，编码为 base64url。
+ * 排序字段可为空，空值编码为 {@code N:}。
+ */
+public final class KeysetCursor {
+
+    private KeysetCursor() {}
+
+    public static String encode(Map<String, ?> keys) {
+        String raw = keys.entrySet().stream()
+                .map(entry -> entry.getKey() + "=" + encodeValue(entry.getValue()))
+                .collect(Collectors.joining(";"));
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * 解码游标，字段必须与当前排序字段一致。
+     */
+    public static Map<String, Object> decode(String cursor, Set<String> expectedKeys) {
+        Map<String, Object> keys = new LinkedHashMap<>();
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            for (String pair : raw.split(";")) {
+                int eq = pair.indexOf('=');
+                keys.put(pair.substring(0, eq), decodeValue(pair.substring(eq + 1)));
+            }
+        } catch (RuntimeException ex) {
+            throw new BusinessException(ErrorCode.BAD_REQUEST, "分页游标无效");
+        }
+        if (!keys.keySet().equals(expectedKeys)) {
+            throw new BusinessException(ErrorCode.BAD_REQUEST, "分页游标与排序字段不匹配");
+        }
+        return keys;
+    }
+
+    private static String encodeValue(Object value) {
+        if (value == null) {
+            return "N:";
+        }
+        if (value instanceof Long number) {
+            return "L:" + number;
+        }
+        if (value instanceof LocalDateTime time) {
+            return "T:" + time;
+        }
+        throw new IllegalStateException("Unsupported cursor value type: " + value.getClass().getName());
+    }
+
+    private static Object decodeValue(String value) {
+        String payload = value.substring(2);
+        return switch (value.substring(0, 2)) {
+            case "N:" -> null;
+            case "L:" -> Long.valueOf(payload);
+            case "T:" -> LocalDateTime.parse(payload);
+            default -> throw new IllegalArgumentException("Unsupported cursor value: " + value);
+        };
+    }
+}
@@ -0,0 +1,28 @@
+package com.project.asset.response;
+
+import java.util.Collection;
+import java.util.Set;
+
+/**
+ * 列表查询参数。提供 {@code after} 游标或在首页关闭计数时使用游标分页（不带 OFFSET），否则沿用页码分页。
+ * {@code fields} 为需要返回的 DTO 字段，为空时返回全部字段。
+ */
+public record PageQuery(int page, int size, String sort, String after, boolean count, Set<String> fields) {
+
+    public static final Set<String> PARAMETERS = Set.of("page", "size", "sort", "after", "count", "fields");
+
+    public static PageQuery of(int page, int size, String sort) {
+        return new PageQuery(page, size, sort, null, true, null);
+    }
+
+    public boolean isSeek() {
+        return after != null || (!count && page == 0);
+    }
+
+    /**
+     * 拒绝未知的查询参数，避免拼写错误的筛选条件被静默忽略而返回全表数据。
+     */
+    public static void requireKnownParameters(Collection<String> names, Set<String> filterParameters) {
+        QueryParameters.requireKnown(names, PARAMETERS, filterParameters);
+    }
+}
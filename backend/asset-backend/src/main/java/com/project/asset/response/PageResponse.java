@@ -9,10 +9,17 @@ import org.springframework.data.domain.Page;
 @Builder
 public class PageResponse<T> {
     private List<T> content;
-    private long totalElements;
-    private int totalPages;
+    /**
+     * 未要求计数（count=false）时为空。
+     */
+    private Long totalElements;
+    private Integer totalPages;
     private int page;
     private int size;
+    /**
+     * 下一页游标，作为 {@code after} 参数传回；没有更多数据或页码分页时为空。
+     */
+    private String nextCursor;
 
     public static <T> PageResponse<T> from(Page<T> page) {
         return PageResponse.<T>builder()
@@ -24,5 +31,3 @@ public class PageResponse<T> {
                 .build();
     }
 }
-
-
@@ -0,0 +1,33 @@
+package com.project.asset.response;
+
+import com.project.asset.exception.BusinessException;
+import com.project.asset.exception.ErrorCode;
+import java.util.Collection;
+import java.util.Set;
+
+/**
+ * 查询参数白名单校验，列表与导出接口共用。
+ */
+final class QueryParameters {
+
+    private QueryParameters() {}
+
+    /**
+     * 任一参数不在 {@code allowed} 的任何集合中时拒绝请求。
+     */
+    @SafeVarargs
+    static void requireKnown(Collection<String> names, Set<String>... allowed) {
+        for (String name : names) {
+            boolean known = false;
+            for (Set<String> parameters : allowed) {
+                if (parameters.contains(name)) {
+                    known = true;
+                    break;
+                }
+            }
+            if (!known) {
+                throw new BusinessException(ErrorCode.BAD_REQUEST, "不支持的查询参数：" + name);
+            }
+        }
+    }
+}
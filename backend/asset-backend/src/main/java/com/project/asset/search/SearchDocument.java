@@ -0,0 +1,26 @@
+package com.project.asset.search;
+
+import com.project.asset.domain.entity.Asset;
+import com.project.asset.domain.entity.Inventory;
+
+/**
+ * 可检索的文档：code 为资产编号或序列号，title 为资产名称，detail 为型号或所属资产编号。
+ * 也作为事件发布，事务提交后更新索引。
+ */
+public record SearchDocument(SearchDocumentType type, Long id, String code, String title, String detail) {
+
+    public static SearchDocument of(Asset asset) {
+        return new SearchDocument(
+                SearchDocumentType.ASSET, asset.getId(), asset.getAssetNo(), asset.getName(), asset.getModel());
+    }
+
+    public static SearchDocument of(Inventory inventory) {
+        Asset asset = inventory.getAsset();
+        return new SearchDocument(
+                SearchDocumentType.INVENTORY,
+                inventory.getId(),
+                inventory.getSerialNo(),
+                asset.getName(),
+                asset.getAssetNo());
+    }
+}
@@ -0,0 +1,6 @@
+package com.project.asset.search;
+
+public enum SearchDocumentType {
+    ASSET,
+    INVENTORY
+}
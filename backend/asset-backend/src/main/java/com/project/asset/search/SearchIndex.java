@@ -0,0 +1,328 @@
+package com.project.asset.search;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 基于二元组（bigram）的内存倒排索引，支持任意位置的子串检索，兼顾中文两字词。
+ * 倒排表为按文档号递增的 int 数组，查询时以最短的倒排表为驱动、其余倒排表游标单向跳跃求交，
+ * 再校验子串并打分。写入（新增/覆盖）持写锁，查询持读锁。
+ */
+public class SearchIndex {
+
+    public static final int MIN_QUERY_LENGTH = 2;
+    public static final int MAX_PAGE_SIZE = 100;
+    /**
+     * 单次查询最多保留的结果数（offset + limit），排序堆按此分配，避免超大分页参数占满内存。
+     */
+    public static final int MAX_RESULT_WINDOW = 10_000;
+
+    private static final Comparator<Hit> RANKING = (left, right) -> {
+        int byScore = Integer.compare(right.score(), left.score());
+        return byScore != 0 ? byScore : Long.compare(left.document().id(), right.document().id());
+    };
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final List<Entry> entries = new ArrayList<>();
+    private final Map<Integer, Postings> postings = new HashMap<>();
+    private final LongIntMap docIds = new LongIntMap();
+    private final BitSet replaced = new BitSet();
+    /**
+     * 同名资产的多个库存单元共用名称等字符串，去重后既省内存又便于按字符串缓存打分。
+     */
+    private final Map<String, String> strings = new HashMap<>();
+
+    /**
+     * 新增文档，同一类型与 id 的旧文档被覆盖。
+     */
+    public void add(SearchDocument document) {
+        lock.writeLock().lock();
+        try {
+            SearchDocument shared = new SearchDocument(
+                    document.type(),
+                    document.id(),
+                    document.code(),
+                    share(document.title()),
+                    share(document.detail()));
+            Entry entry = new Entry(
+                    shared,
+                    normalize(shared.code()),
+                    share(normalize(shared.title())),
+                    share(normalize(shared.detail())));
+            int docId = entries.size();
+            entries.add(entry);
+            int previous = docIds.put(key(document.type(), document.id()), docId);
+            if (previous >= 0) {
+                replaced.set(previous);
+            }
+            for (int gram : distinctGrams(entry.code(), entry.title(), entry.detail())) {
+                postings.computeIfAbsent(gram, ignored -> new Postings()).add(docId);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public Result search(String query, SearchDocumentType type, int offset, int limit) {
+        if (offset < 0 || limit < 1 || limit > MAX_PAGE_SIZE || offset > MAX_RESULT_WINDOW - limit) {
+            throw new IllegalArgumentException("Result window out of range: offset=" + offset + ", limit=" + limit);
+        }
+        String normalized = normalize(query);
+        if (normalized.length() < MIN_QUERY_LENGTH) {
+            return new Result(List.of(), 0);
+        }
+        int[] grams = distinctGrams(normalized);
+        int keep = offset + limit;
+        PriorityQueue<Hit> top = new PriorityQueue<>(Math.max(1, keep), RANKING.reversed());
+        Map<String, Integer> titleScores = new IdentityHashMap<>();
+        Map<String, Integer> detailScores = new IdentityHashMap<>();
+        int total = 0;
+        lock.readLock().lock();
+        try {
+            Cursor[] cursors = new Cursor[grams.length];
+            for (int i = 0; i < grams.length; i++) {
+                Postings list = postings.get(grams[i]);
+                if (list == null) {
+                    return new Result(List.of(), 0);
+                }
+                cursors[i] = new Cursor(list);
+            }
+            Arrays.sort(cursors, Comparator.comparingInt(cursor -> cursor.postings.size));
+            Postings driver = cursors[0].postings;
+            candidates:
+            for (int i = 0; i < driver.size; i++) {
+                int docId = driver.docIds[i];
+                for (int j = 1; j < cursors.length; j++) {
+                    int found = cursors[j].advanceTo(docId);
+                    if (found == Integer.MAX_VALUE) {
+                        break candidates;
+                    }
+                    if (found != docId) {
+                        continue candidates;
+                    }
+                }
+                if (replaced.get(docId)) {
+                    continue;
+                }
+                Entry entry = entries.get(docId);
+                if (type != null && entry.document().type() != type) {
+                    continue;
+                }
+                int score = fieldScore(entry.code(), normalized, 100, 60, 40)
+                        + titleScores.computeIfAbsent(entry.title(), title -> fieldScore(title, normalized, 50, 30, 20))
+                        + detailScores.computeIfAbsent(entry.detail(), detail -> fieldScore(detail, normalized, 20, 10, 5));
+                if (score == 0) {
+                    continue;
+                }
+                total++;
+                if (keep > 0) {
+                    if (top.size() < keep) {
+                        top.add(new Hit(entry.document(), score));
+                    } else {
+                        Hit worst = top.peek();
+                        if (score > worst.score()
+                                || (score == worst.score() && entry.document().id() < worst.document().id())) {
+                            top.poll();
+                            top.add(new Hit(entry.document(), score));
+                        }
+                    }
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        List<Hit> ranked = new ArrayList<>(top);
+        ranked.sort(RANKING);
+        return new Result(offset < ranked.size() ? ranked.subList(offset, ranked.size()) : List.of(), total);
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return docIds.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    static String normalize(String value) {
+        if (value == null) {
+            return "";
+        }
+        return Normalizer.normalize(value, Normalizer.Form.NFKC).toLowerCase(Locale.ROOT).strip();
+    }
+
+    /**
+     * 编号精确/前缀匹配优先，其次名称，最后型号等附加信息；不包含查询串时为 0。
+     */
+    private static int fieldScore(String field, String query, int exact, int prefix, int contains) {
+        if (field.equals(query)) {
+            return exact;
+        }
+        if (field.startsWith(query)) {
+            return prefix;
+        }
+        return field.contains(query) ? contains : 0;
+    }
+
+    private String share(String value) {
+        return value == null ? null : strings.computeIfAbsent(value, ignored -> value);
+    }
+
+    private static long key(SearchDocumentType type, Long id) {
+        return (id << 1) | type.ordinal();
+    }
+
+    private static int[] distinctGrams(String... values) {
+        int count = 0;
+        for (String value : values) {
+            count += Math.max(0, value.length() - 1);
+        }
+        int[] grams = new int[count];
+        int n = 0;
+        for (String value : values) {
+            for (int i = 0; i + 1 < value.length(); i++) {
+                grams[n++] = (value.charAt(i) << 16) | value.charAt(i + 1);
+            }
+        }
+        Arrays.sort(grams, 0, n);
+        int distinct = 0;
+        for (int i = 0; i < n; i++) {
+            if (distinct == 0 || grams[distinct - 1] != grams[i]) {
+                grams[distinct++] = grams[i];
+            }
+        }
+        return Arrays.copyOf(grams, distinct);
+    }
+
+    public record Hit(SearchDocument document, int score) {}
+
+    public record Result(List<Hit> hits, int total) {}
+
+    private record Entry(SearchDocument document, String code, String title, String detail) {}
+
+    /**
+     * 递增的文档号数组。
+     */
+    private static final class Postings {
+        private int[] docIds = new int[4];
+        private int size;
+
+        void add(int docId) {
+            if (size == docIds.length) {
+                docIds = Arrays.copyOf(docIds, size + (size >> 1));
+            }
+            docIds[size++] = docId;
+        }
+    }
+
+    /**
+     * 倒排表游标，只向前移动，先倍增步长再二分定位。
+     */
+    private static final class Cursor {
+        private final Postings postings;
+        private int position;
+
+        Cursor(Postings postings) {
+            this.postings = postings;
+        }
+
+        /**
+         * 移动到第一个不小于 target 的文档号并返回它，已到末尾时返回 Integer.MAX_VALUE。
+         */
+        int advanceTo(int target) {
+            int[] ids = postings.docIds;
+            int size = postings.size;
+            if (position >= size) {
+                return Integer.MAX_VALUE;
+            }
+            if (ids[position] >= target) {
+                return ids[position];
+            }
+            int step = 1;
+            int low = position;
+            int high = position + 1;
+            while (high < size && ids[high] < target) {
+                low = high;
+                step <<= 1;
+                high = position + step;
+            }
+            int found = Arrays.binarySearch(ids, low + 1, Math.min(high + 1, size), target);
+            position = found >= 0 ? found : -found - 1;
+            return position < size ? ids[position] : Integer.MAX_VALUE;
+        }
+    }
+
+    /**
+     * 开放寻址的 long 到 int 映射，避免百万级装箱键。
+     */
+    private static final class LongIntMap {
+        private long[] keys = new long[1024];
+        private int[] values = new int[1024];
+        private boolean[] used = new boolean[1024];
+        private int size;
+
+        /**
+         * 返回旧值，不存在时返回 -1。
+         */
+        int put(long key, int value) {
+            if ((size + 1) * 4 > keys.length * 3) {
+                resize();
+            }
+            int slot = slot(key, keys.length);
+            while (used[slot]) {
+                if (keys[slot] == key) {
+                    int previous = values[slot];
+                    values[slot] = value;
+                    return previous;
+                }
+                slot = (slot + 1) & (keys.length - 1);
+            }
+            used[slot] = true;
+            keys[slot] = key;
+            values[slot] = value;
+            size++;
+            return -1;
+        }
+
+        int size() {
+            return size;
+        }
+
+        private void resize() {
+            long[] oldKeys = keys;
+            int[] oldValues = values;
+            boolean[] oldUsed = used;
+            keys = new long[oldKeys.length << 1];
+            values = new int[keys.length];
+            used = new boolean[keys.length];
+            for (int i = 0; i < oldKeys.length; i++) {
+                if (oldUsed[i]) {
+                    int slot = slot(oldKeys[i], keys.length);
+                    while (used[slot]) {
+                        slot = (slot + 1) & (keys.length - 1);
+                    }
+                    used[slot] = true;
+                    keys[slot] = oldKeys[i];
+                    values[slot] = oldValues[i];
+                }
+            }
+        }
+
+        private static int slot(long key, int capacity) {
+            long mixed = key * 0x9E3779B97F4A7C15L;
+            return (int) (mixed >>> 40) & (capacity - 1);
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package com.project.asset.security;
+
+import java.util.Set;
+
+/**
+ * 用户角色、权限或启用状态发生变化时发布，事务提交后由安全组件处理。
+ */
+public record AccessChangedEvent(Set<Long> userIds, Set<Long> roleIds) {
+
+    public static AccessChangedEvent ofUser(Long userId) {
+        return new AccessChangedEvent(Set.of(userId), Set.of());
+    }
+
+    public static AccessChangedEvent ofRole(Long roleId, Set<Long> userIds) {
+        return new AccessChangedEvent(Set.copyOf(userIds), Set.of(roleId));
+    }
+}
@@ -12,12 +12,27 @@ import org.springframework.stereotype.Service;
 public class CustomUserDetailsService implements UserDetailsService {
 
     private final UserRepository userRepository;
+    private final PrincipalCache principalCache;
 
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
         return userRepository
                 .findByUsername(username)
-                .map(UserPrincipal::new)
+                .map(UserPrincipal::of)
+                .orElseThrow(() -> new UsernameNotFoundException("用户不存在: " + username));
+    }
+
+    /**
+     * 通过快照缓存加载认证主体，结果不含密码，不可用于登录校验。
+     */
+    public UserPrincipal loadCachedPrincipal(String username) throws UsernameNotFoundException {
+        return principalCache.get(username, this::loadSnapshot).principal();
+    }
+
+    private PrincipalSnapshot loadSnapshot(String username) {
+        return userRepository
+                .findByUsername(username)
+                .map(PrincipalSnapshot::of)
                 .orElseThrow(() -> new UsernameNotFoundException("用户不存在: " + username));
     }
 }
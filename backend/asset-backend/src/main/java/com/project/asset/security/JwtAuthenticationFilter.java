@@ -4,6 +4,7 @@ import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import com.project.asset.config.JwtProperties;
 import java.io.IOException;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpHeaders;
@@ -20,27 +21,46 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtTokenProvider jwtTokenProvider;
     private final CustomUserDetailsService userDetailsService;
+    private final SecurityVersionRegistry securityVersionRegistry;
+    private final JwtProperties jwtProperties;
 
     @Override
     protected void doFilterInternal(
             HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
             throws ServletException, IOException {
         String token = resolveToken(request);
-        if (token != null
-                && jwtTokenProvider.isTokenValid(token)
-                && jwtTokenProvider.isAccessToken(token)
-                && SecurityContextHolder.getContext().getAuthentication() == null) {
-            String username = jwtTokenProvider.extractUsername(token);
-            UserPrincipal userDetails = (UserPrincipal) userDetailsService.loadUserByUsername(username);
-            UsernamePasswordAuthenticationToken authentication =
-                    new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
-            authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-            SecurityContextHolder.getContext().setAuthentication(authentication);
+        if (token != null && SecurityContextHolder.getContext().getAuthentication() == null) {
+            jwtTokenProvider
+                    .verify(token)
+                    .filter(VerifiedToken::isAccessToken)
+                    .ifPresent(verified -> authenticate(verified, request));
         }
 
         filterChain.doFilter(request, response);
     }
 
+    private void authenticate(VerifiedToken token, HttpServletRequest request) {
+        UserPrincipal userDetails = resolvePrincipal(token);
+        if (userDetails == null) {
+            return;
+        }
+        UsernamePasswordAuthenticationToken authentication =
+                new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
+        authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+        SecurityContextHolder.getContext().setAuthentication(authentication);
+    }
+
+    private UserPrincipal resolvePrincipal(VerifiedToken token) {
+        return switch (jwtProperties.getPrincipalSource()) {
+            // 令牌签发后用户权限发生变更，需要客户端刷新令牌
+            case CLAIMS -> securityVersionRegistry.isCurrent(token.userId(), token.securityVersion())
+                    ? UserPrincipal.fromToken(token)
+                    : null;
+            case CACHE -> userDetailsService.loadCachedPrincipal(token.username());
+            case DATABASE -> (UserPrincipal) userDetailsService.loadUserByUsername(token.username());
+        };
+    }
+
     private String resolveToken(HttpServletRequest request) {
         String bearerToken = request.getHeader(HttpHeaders.AUTHORIZATION);
         if (StringUtils.hasText(bearerToken) && bearerToken.startsWith("Bearer ")) {
@@ -49,5 +69,3 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         return null;
     }
 }
-
-
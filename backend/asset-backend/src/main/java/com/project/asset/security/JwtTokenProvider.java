@@ -1,12 +1,15 @@
 package com.project.asset.security;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import com.project.asset.config.JwtProperties;
-import com.project.asset.domain.entity.Permission;
-import com.project.asset.domain.entity.Role;
 import com.project.asset.domain.entity.User;
 import com.project.asset.dto.auth.TokenResponse;
 import io.jsonwebtoken.Claims;
-import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtBuilder;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
@@ -15,9 +18,14 @@ import java.nio.charset.StandardCharsets;
 import java.security.Key;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
 import java.time.Instant;
+import java.util.Base64;
+import java.util.Collection;
 import java.util.Date;
+import java.util.Optional;
 import java.util.Set;
+import java.util.UUID;
 import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
@@ -27,24 +35,33 @@ import org.springframework.stereotype.Component;
 public class JwtTokenProvider {
 
     private final JwtProperties properties;
+    private final SecurityVersionRegistry securityVersionRegistry;
     private Key signingKey;
+    private JwtParser parser;
+    private Cache<String, VerifiedToken> verifiedTokens;
 
     @PostConstruct
     public void init() {
         byte[] keyBytes = properties.getSecret().getBytes(StandardCharsets.UTF_8);
         if (keyBytes.length < 32) {
-            try {
-                keyBytes = MessageDigest.getInstance("SHA-256").digest(keyBytes);
-            } catch (NoSuchAlgorithmException e) {
-                throw new IllegalStateException("Unable to initialize JWT signing key", e);
-            }
+            keyBytes = sha256(keyBytes);
         }
         this.signingKey = Keys.hmacShaKeyFor(keyBytes);
+        // JwtParser 构建后不可变且线程安全，全局复用即可
+        this.parser = Jwts.parserBuilder().setSigningKey(signingKey).build();
+        this.verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(properties.getVerifiedTokenCacheSize())
+                .expireAfter(new TokenExpiry())
+                .build();
     }
 
     public TokenResponse createTokenResponse(User user) {
-        String accessToken = buildToken(user, properties.getAccessTokenExpiration(), TokenType.ACCESS);
-        String refreshToken = buildToken(user, properties.getRefreshTokenExpiration(), TokenType.REFRESH);
+        return createTokenResponse(UserPrincipal.of(user));
+    }
+
+    public TokenResponse createTokenResponse(UserPrincipal principal) {
+        String accessToken = buildToken(principal, properties.getAccessTokenExpiration(), TokenType.ACCESS);
+        String refreshToken = buildToken(principal, properties.getRefreshTokenExpiration(), TokenType.REFRESH);
         return TokenResponse.builder()
                 .accessToken(accessToken)
                 .expiresIn(properties.getAccessTokenExpiration())
@@ -53,48 +70,67 @@ public class JwtTokenProvider {
                 .build();
     }
 
-    private String buildToken(User user, long expirySeconds, TokenType tokenType) {
+    private String buildToken(UserPrincipal principal, long expirySeconds, TokenType tokenType) {
         Instant now = Instant.now();
         Instant expiry = now.plusSeconds(expirySeconds);
-        Set<String> roles = user.getRoles().stream().map(Role::getCode).collect(Collectors.toSet());
-        Set<String> permissions = user.getRoles().stream()
-                .flatMap(role -> role.getPermissions().stream())
-                .map(Permission::getCode)
-                .collect(Collectors.toSet());
-
-        return Jwts.builder()
-                .setSubject(String.valueOf(user.getId()))
-                .claim("username", user.getUsername())
-                .claim("roles", roles)
-                .claim("permissions", permissions)
-                .claim("type", tokenType.name())
+
+        JwtBuilder builder = Jwts.builder()
+                .setSubject(String.valueOf(principal.getUserId()))
+                .claim("username", principal.getUsername())
+                .claim("roles", principal.getRoleCodes())
+                .claim("permissions", principal.getPermissionCodes())
+                .claim("sv", securityVersionRegistry.currentVersion(principal.getUserId()))
+                .claim("type", tokenType.name());
+        if (principal.getPermissionMask() != null) {
+            builder.claim("pm", principal.getPermissionMask().encode());
+        }
+        if (tokenType == TokenType.REFRESH) {
+            // 刷新令牌一次性使用，以 jti 记录注销
+            builder.setId(UUID.randomUUID().toString());
+        }
+        return builder
                 .setIssuedAt(Date.from(now))
                 .setExpiration(Date.from(expiry))
                 .signWith(signingKey, SignatureAlgorithm.HS256)
                 .compact();
     }
 
-    public boolean isTokenValid(String token) {
+    /**
+     * 校验签名与有效期并返回令牌内容；最近校验过的令牌按哈希缓存，直到其过期。
+     */
+    public Optional<VerifiedToken> verify(String token) {
+        if (token == null || token.isBlank()) {
+            return Optional.empty();
+        }
+        String key = cacheKey(token);
+        VerifiedToken cached = verifiedTokens.getIfPresent(key);
+        if (cached != null) {
+            return cached.isExpired(Instant.now()) ? Optional.empty() : Optional.of(cached);
+        }
+        VerifiedToken verified;
         try {
-            parseClaims(token);
-            return true;
-        } catch (ExpiredJwtException ex) {
-            return false;
-        } catch (Exception ex) {
-            return false;
+            verified = toVerifiedToken(parseClaims(token));
+        } catch (JwtException | IllegalArgumentException ex) {
+            return Optional.empty();
         }
+        verifiedTokens.put(key, verified);
+        return Optional.of(verified);
+    }
+
+    public boolean isTokenValid(String token) {
+        return verify(token).isPresent();
     }
 
     public Claims parseClaims(String token) {
-        return Jwts.parserBuilder().setSigningKey(signingKey).build().parseClaimsJws(token).getBody();
+        return parser.parseClaimsJws(token).getBody();
     }
 
     public boolean isAccessToken(String token) {
-        return TokenType.ACCESS.name().equalsIgnoreCase(parseClaims(token).get("type", String.class));
+        return verify(token).map(VerifiedToken::isAccessToken).orElse(false);
     }
 
     public boolean isRefreshToken(String token) {
-        return TokenType.REFRESH.name().equalsIgnoreCase(parseClaims(token).get("type", String.class));
+        return verify(token).map(VerifiedToken::isRefreshToken).orElse(false);
     }
 
     public Long extractUserId(String token) {
@@ -104,5 +140,63 @@ public class JwtTokenProvider {
     public String extractUsername(String token) {
         return parseClaims(token).get("username", String.class);
     }
-}
 
+    private VerifiedToken toVerifiedToken(Claims claims) {
+        String type = claims.get("type", String.class);
+        String permissionMask = claims.get("pm", String.class);
+        return new VerifiedToken(
+                Long.valueOf(claims.getSubject()),
+                claims.get("username", String.class),
+                type != null ? TokenType.valueOf(type.toUpperCase()) : null,
+                toCodeSet(claims.get("roles")),
+                toCodeSet(claims.get("permissions")),
+                permissionMask != null ? PermissionMask.decode(permissionMask) : null,
+                claims.get("sv", Long.class),
+                claims.getIssuedAt() != null ? claims.getIssuedAt().toInstant() : null,
+                claims.getExpiration() != null ? claims.getExpiration().toInstant() : null,
+                claims.getId());
+    }
+
+    private Set<String> toCodeSet(Object claim) {
+        if (claim instanceof Collection<?> values) {
+            return values.stream().map(String::valueOf).collect(Collectors.toUnmodifiableSet());
+        }
+        return Set.of();
+    }
+
+    private String cacheKey(String token) {
+        return Base64.getEncoder().encodeToString(sha256(token.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private static byte[] sha256(byte[] input) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(input);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 algorithm not available", e);
+        }
+    }
+
+    /**
+     * 缓存条目的存活时间与令牌剩余有效期一致。
+     */
+    private static final class TokenExpiry implements Expiry<String, VerifiedToken> {
+
+        @Override
+        public long expireAfterCreate(String key, VerifiedToken value, long currentTime) {
+            if (value.expiresAt() == null) {
+                return 0L;
+            }
+            return Math.max(0L, Duration.between(Instant.now(), value.expiresAt()).toNanos());
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, VerifiedToken value, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, VerifiedToken value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
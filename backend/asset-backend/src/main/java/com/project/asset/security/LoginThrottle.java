@@ -0,0 +1,47 @@
+package com.project.asset.security;
+
+import com.project.asset.config.LoginProperties;
+import com.project.asset.exception.TooManyRequestsException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.Locale;
+import org.springframework.stereotype.Component;
+
+/**
+ * 登录前按用户名与客户端 IP 分别做滑动窗口限流。
+ */
+@Component
+public class LoginThrottle {
+
+    private final SlidingWindowRateLimiter userLimiter;
+    private final SlidingWindowRateLimiter ipLimiter;
+    private final Counter userRejected;
+    private final Counter ipRejected;
+
+    public LoginThrottle(LoginProperties properties, MeterRegistry meterRegistry) {
+        this.userLimiter = new SlidingWindowRateLimiter(
+                properties.getUserMaxAttempts(), properties.getWindow(), properties.getThrottleMaxKeys());
+        this.ipLimiter = new SlidingWindowRateLimiter(
+                properties.getIpMaxAttempts(), properties.getWindow(), properties.getThrottleMaxKeys());
+        this.userRejected = rejectedCounter(meterRegistry, "user_throttled");
+        this.ipRejected = rejectedCounter(meterRegistry, "ip_throttled");
+    }
+
+    public void check(String username, String clientIp) {
+        if (clientIp != null && !ipLimiter.tryAcquire(clientIp)) {
+            ipRejected.increment();
+            throw new TooManyRequestsException("登录请求过于频繁，请稍后再试", ipLimiter.window());
+        }
+        if (username != null && !userLimiter.tryAcquire(username.toLowerCase(Locale.ROOT))) {
+            userRejected.increment();
+            throw new TooManyRequestsException("该账号登录尝试过于频繁，请稍后再试", userLimiter.window());
+        }
+    }
+
+    static Counter rejectedCounter(MeterRegistry meterRegistry, String reason) {
+        return Counter.builder("auth.login.rejected")
+                .description("Login attempts rejected before password verification")
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,77 @@
+package com.project.asset.security;
+
+import com.project.asset.config.LoginProperties;
+import com.project.asset.exception.TooManyRequestsException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import org.springframework.stereotype.Component;
+
+/**
+ * 专用于密码哈希校验的有界线程池，线程数与 CPU 核数一致，排队满时立即拒绝，避免登录高峰占满所有核心。
+ */
+@Component
+public class PasswordVerificationExecutor {
+
+    private final ThreadPoolExecutor executor;
+    private final Timer verificationTimer;
+    private final Counter queueRejected;
+
+    public PasswordVerificationExecutor(LoginProperties properties, MeterRegistry meterRegistry) {
+        int threads = properties.getVerifierThreads() > 0
+                ? properties.getVerifierThreads()
+                : Runtime.getRuntime().availableProcessors();
+        BlockingQueue<Runnable> queue = properties.getQueueCapacity() > 0
+                ? new ArrayBlockingQueue<>(properties.getQueueCapacity())
+                : new SynchronousQueue<>();
+        AtomicInteger sequence = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(
+                threads,
+                threads,
+                0L,
+                TimeUnit.MILLISECONDS,
+                queue,
+                runnable -> {
+                    Thread thread = new Thread(runnable, "password-verifier-" + sequence.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        this.verificationTimer = Timer.builder("auth.login.verification")
+                .description("Time spent verifying credentials on the verifier pool")
+                .register(meterRegistry);
+        this.queueRejected = LoginThrottle.rejectedCounter(meterRegistry, "queue_full");
+        Gauge.builder("auth.login.queue.size", executor, pool -> pool.getQueue().size())
+                .description("Logins waiting for a verifier thread")
+                .register(meterRegistry);
+        Gauge.builder("auth.login.active", executor, ThreadPoolExecutor::getActiveCount)
+                .description("Logins currently being verified")
+                .register(meterRegistry);
+    }
+
+    public <T> CompletableFuture<T> submit(Supplier<T> task) {
+        try {
+            return CompletableFuture.supplyAsync(() -> verificationTimer.record(task), executor);
+        } catch (RejectedExecutionException ex) {
+            queueRejected.increment();
+            throw new TooManyRequestsException("登录请求繁忙，请稍后重试", Duration.ofSeconds(1));
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+}
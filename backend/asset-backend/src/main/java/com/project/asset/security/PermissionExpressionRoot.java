@@ -0,0 +1,128 @@
+package com.project.asset.security;
+
+import org.springframework.security.access.expression.method.MethodSecurityExpressionOperations;
+import org.springframework.security.core.Authentication;
+
+/**
+ * {@code @PreAuthorize} 表达式根对象：已登记的权限编码按位图判断，其余表达式委托给 Spring Security 默认实现。
+ */
+public class PermissionExpressionRoot implements MethodSecurityExpressionOperations {
+
+    private final MethodSecurityExpressionOperations delegate;
+    private final PermissionRegistry registry;
+
+    public PermissionExpressionRoot(MethodSecurityExpressionOperations delegate, PermissionRegistry registry) {
+        this.delegate = delegate;
+        this.registry = registry;
+    }
+
+    @Override
+    public boolean hasAuthority(String authority) {
+        PermissionMask mask = permissionMask();
+        if (mask != null) {
+            int bit = registry.bitOf(authority);
+            if (bit >= 0) {
+                return mask.has(bit);
+            }
+        }
+        return delegate.hasAuthority(authority);
+    }
+
+    @Override
+    public boolean hasAnyAuthority(String... authorities) {
+        for (String authority : authorities) {
+            if (hasAuthority(authority)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private PermissionMask permissionMask() {
+        Authentication authentication = delegate.getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof UserPrincipal principal) {
+            return principal.getPermissionMask();
+        }
+        return null;
+    }
+
+    @Override
+    public Authentication getAuthentication() {
+        return delegate.getAuthentication();
+    }
+
+    @Override
+    public boolean hasRole(String role) {
+        return delegate.hasRole(role);
+    }
+
+    @Override
+    public boolean hasAnyRole(String... roles) {
+        return delegate.hasAnyRole(roles);
+    }
+
+    @Override
+    public boolean permitAll() {
+        return delegate.permitAll();
+    }
+
+    @Override
+    public boolean denyAll() {
+        return delegate.denyAll();
+    }
+
+    @Override
+    public boolean isAnonymous() {
+        return delegate.isAnonymous();
+    }
+
+    @Override
+    public boolean isAuthenticated() {
+        return delegate.isAuthenticated();
+    }
+
+    @Override
+    public boolean isRememberMe() {
+        return delegate.isRememberMe();
+    }
+
+    @Override
+    public boolean isFullyAuthenticated() {
+        return delegate.isFullyAuthenticated();
+    }
+
+    @Override
+    public boolean hasPermission(Object target, Object permission) {
+        return delegate.hasPermission(target, permission);
+    }
+
+    @Override
+    public boolean hasPermission(Object targetId, String targetType, Object permission) {
+        return delegate.hasPermission(targetId, targetType, permission);
+    }
+
+    @Override
+    public void setFilterObject(Object filterObject) {
+        delegate.setFilterObject(filterObject);
+    }
+
+    @Override
+    public Object getFilterObject() {
+        return delegate.getFilterObject();
+    }
+
+    @Override
+    public void setReturnObject(Object returnObject) {
+        delegate.setReturnObject(returnObject);
+    }
+
+    @Override
+    public Object getReturnObject() {
+        return delegate.getReturnObject();
+    }
+
+    @Override
+    public Object getThis() {
+        return delegate.getThis();
+    }
+}
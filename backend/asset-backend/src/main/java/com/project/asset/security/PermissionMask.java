@@ -0,0 +1,37 @@
+package com.project.asset.security;
+
+import java.util.Base64;
+import java.util.BitSet;
+import java.util.Collection;
+
+/**
+ * 以权限 ID 作为位下标的不可变位图，权限 ID 全局唯一且不会复用，因此跨节点、跨重启保持一致。
+ */
+public final class PermissionMask {
+
+    private final long[] words;
+
+    private PermissionMask(long[] words) {
+        this.words = words;
+    }
+
+    public static PermissionMask of(Collection<? extends Number> bits) {
+        BitSet bitSet = new BitSet();
+        bits.forEach(bit -> bitSet.set(bit.intValue()));
+        return new PermissionMask(bitSet.toLongArray());
+    }
+
+    public static PermissionMask decode(String encoded) {
+        byte[] bytes = Base64.getUrlDecoder().decode(encoded);
+        return new PermissionMask(BitSet.valueOf(bytes).toLongArray());
+    }
+
+    public String encode() {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(BitSet.valueOf(words).toByteArray());
+    }
+
+    public boolean has(int bit) {
+        int index = bit >>> 6;
+        return bit >= 0 && index < words.length && (words[index] & (1L << bit)) != 0;
+    }
+}
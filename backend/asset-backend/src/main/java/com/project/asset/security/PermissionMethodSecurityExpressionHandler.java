@@ -0,0 +1,33 @@
+package com.project.asset.security;
+
+import java.util.function.Supplier;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.expression.EvaluationContext;
+import org.springframework.expression.spel.support.StandardEvaluationContext;
+import org.springframework.security.access.expression.method.DefaultMethodSecurityExpressionHandler;
+import org.springframework.security.access.expression.method.MethodSecurityExpressionOperations;
+import org.springframework.security.core.Authentication;
+
+/**
+ * 将方法安全表达式的根对象替换为 {@link PermissionExpressionRoot}。
+ */
+public class PermissionMethodSecurityExpressionHandler extends DefaultMethodSecurityExpressionHandler {
+
+    private final ObjectProvider<PermissionRegistry> registryProvider;
+
+    public PermissionMethodSecurityExpressionHandler(ObjectProvider<PermissionRegistry> registryProvider) {
+        this.registryProvider = registryProvider;
+    }
+
+    @Override
+    public EvaluationContext createEvaluationContext(
+            Supplier<Authentication> authentication, MethodInvocation invocation) {
+        StandardEvaluationContext context =
+                (StandardEvaluationContext) super.createEvaluationContext(authentication, invocation);
+        MethodSecurityExpressionOperations root =
+                (MethodSecurityExpressionOperations) context.getRootObject().getValue();
+        context.setRootObject(new PermissionExpressionRoot(root, registryProvider.getObject()));
+        return context;
+    }
+}
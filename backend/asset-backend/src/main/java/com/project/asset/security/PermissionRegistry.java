@@ -0,0 +1,47 @@
+package com.project.asset.security;
+
+import com.project.asset.domain.entity.Permission;
+import com.project.asset.repository.PermissionRepository;
+import java.util.Map;
+import java.util.stream.Collectors;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * 权限编码到位下标的映射，启动完成及角色权限变更后从数据库重新加载。
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class PermissionRegistry {
+
+    private final PermissionRepository permissionRepository;
+
+    private volatile Map<String, Integer> bitsByCode = Map.of();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void refresh() {
+        bitsByCode = permissionRepository.findAll().stream()
+                .collect(Collectors.toUnmodifiableMap(Permission::getCode, permission -> permission.getId().intValue()));
+        log.info("Loaded {} permission codes into bitmask registry", bitsByCode.size());
+    }
+
+    @TransactionalEventListener
+    public void onAccessChanged(AccessChangedEvent event) {
+        if (!event.roleIds().isEmpty()) {
+            refresh();
+        }
+    }
+
+    /**
+     * 未登记的编码返回 -1，调用方应回退到字符串匹配。
+     */
+    public int bitOf(String code) {
+        Integer bit = bitsByCode.get(code);
+        return bit != null ? bit : -1;
+    }
+}
@@ -0,0 +1,90 @@
+package com.project.asset.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.project.asset.config.JwtProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * 按用户名缓存用户快照，容量与存活时间均有上限。
+ * 用户或角色变更提交后，通过 userId 与 role→users 反向索引精确失效，而不是清空整个缓存。
+ * 索引只在重新加载时覆盖，残留的旧映射最多导致一次多余的失效。
+ */
+@Component
+public class PrincipalCache {
+
+    private final Cache<String, PrincipalSnapshot> cache;
+    private final Map<Long, String> usernamesByUserId = new ConcurrentHashMap<>();
+    private final Map<Long, Set<Long>> userIdsByRoleId = new ConcurrentHashMap<>();
+    private final AtomicLong generation = new AtomicLong();
+    private final Counter invalidations;
+
+    public PrincipalCache(JwtProperties properties, MeterRegistry meterRegistry) {
+        JwtProperties.PrincipalCache config = properties.getPrincipalCache();
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(config.getMaximumSize())
+                .expireAfterWrite(config.getTtl())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "principal");
+        this.invalidations = Counter.builder("principal.cache.invalidations")
+                .description("Entries removed because the user's access changed")
+                .register(meterRegistry);
+    }
+
+    public PrincipalSnapshot get(String username, Function<String, PrincipalSnapshot> loader) {
+        PrincipalSnapshot cached = cache.getIfPresent(username);
+        if (cached != null) {
+            return cached;
+        }
+        long loadedAt = generation.get();
+        PrincipalSnapshot loaded = loader.apply(username);
+        usernamesByUserId.put(loaded.userId(), username);
+        loaded.roleIds().forEach(roleId -> userIdsByRoleId
+                .computeIfAbsent(roleId, key -> ConcurrentHashMap.newKeySet())
+                .add(loaded.userId()));
+        cache.put(username, loaded);
+        // 加载期间若有变更提交，读到的可能是旧数据，不保留
+        if (generation.get() != loadedAt) {
+            cache.invalidate(username);
+        }
+        return loaded;
+    }
+
+    @TransactionalEventListener
+    public void onAccessChanged(AccessChangedEvent event) {
+        generation.incrementAndGet();
+        event.userIds().forEach(this::invalidateUser);
+        for (Long roleId : event.roleIds()) {
+            Set<Long> members = userIdsByRoleId.get(roleId);
+            if (members != null) {
+                members.forEach(this::invalidateUser);
+            }
+        }
+    }
+
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    public long size() {
+        return cache.estimatedSize();
+    }
+
+    private void invalidateUser(Long userId) {
+        String username = usernamesByUserId.get(userId);
+        if (username != null && cache.asMap().remove(username) != null) {
+            invalidations.increment();
+        }
+    }
+}
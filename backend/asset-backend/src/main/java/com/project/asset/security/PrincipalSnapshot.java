@@ -0,0 +1,22 @@
+package com.project.asset.security;
+
+import com.project.asset.domain.entity.Role;
+import com.project.asset.domain.entity.User;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * 缓存条目：不含密码的不可变认证主体，以及用于反向索引的角色 ID。
+ */
+public record PrincipalSnapshot(UserPrincipal principal, Set<Long> roleIds) {
+
+    public static PrincipalSnapshot of(User user) {
+        return new PrincipalSnapshot(
+                UserPrincipal.of(user).withoutPassword(),
+                user.getRoles().stream().map(Role::getId).collect(Collectors.toUnmodifiableSet()));
+    }
+
+    public Long userId() {
+        return principal.getUserId();
+    }
+}
@@ -0,0 +1,7 @@
+package com.project.asset.security;
+
+public enum PrincipalSource {
+    DATABASE,
+    CACHE,
+    CLAIMS
+}
@@ -0,0 +1,79 @@
+package com.project.asset.security;
+
+import com.project.asset.config.JwtProperties;
+import com.project.asset.repository.RevokedRefreshTokenRepository;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.concurrent.ScheduledFuture;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * 刷新令牌注销集合，保存在数据库中。注销通过主键插入完成，插入失败即说明令牌已被使用或注销，
+ * 无需事先查询，并发使用同一刷新令牌时只有一个请求能成功。
+ */
+@Slf4j
+@Component
+public class RefreshTokenRevocationStore {
+
+    private final RevokedRefreshTokenRepository repository;
+    private final TransactionTemplate transactionTemplate;
+    private final TaskScheduler taskScheduler;
+    private final JwtProperties.RefreshRevocation settings;
+    private ScheduledFuture<?> pruneTask;
+
+    public RefreshTokenRevocationStore(
+            RevokedRefreshTokenRepository repository,
+            PlatformTransactionManager transactionManager,
+            TaskScheduler taskScheduler,
+            JwtProperties properties) {
+        this.repository = repository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.taskScheduler = taskScheduler;
+        this.settings = properties.getRefreshRevocation();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        prune();
+        if (pruneTask == null) {
+            pruneTask = taskScheduler.scheduleWithFixedDelay(this::prune, settings.getPruneInterval());
+        }
+    }
+
+    /**
+     * 注销令牌，返回 false 表示该令牌此前已被使用或注销。
+     */
+    public boolean revoke(VerifiedToken token) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> repository.insert(
+                    token.tokenId(),
+                    token.userId(),
+                    LocalDateTime.ofInstant(token.expiresAt(), ZoneId.systemDefault()),
+                    LocalDateTime.now()));
+        } catch (DataIntegrityViolationException ex) {
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * 删除已过期的注销记录，过期的刷新令牌本身已无法通过校验。
+     */
+    public void prune() {
+        try {
+            Integer removed = transactionTemplate.execute(status -> repository.deleteExpired(LocalDateTime.now()));
+            log.debug("Pruned {} expired refresh token revocations", removed);
+        } catch (RuntimeException ex) {
+            log.error("Failed to prune refresh token revocations", ex);
+        }
+    }
+}
@@ -1,10 +1,13 @@
 package com.project.asset.security;
 
+import jakarta.servlet.DispatcherType;
 import java.util.List;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
+import org.springframework.security.access.expression.method.MethodSecurityExpressionHandler;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
 import org.springframework.security.config.Customizer;
@@ -34,6 +37,9 @@ public class SecurityConfig {
                 .csrf(csrf -> csrf.disable())
                 .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
                 .authorizeHttpRequests(authorize -> authorize
+                        // 流式导出结束后的异步派发不再经过 JWT 过滤器，鉴权已在首次派发完成
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC)
+                        .permitAll()
                         .requestMatchers(
                                 "/api/auth/**",
                                 "/api/health",
@@ -42,6 +48,8 @@ public class SecurityConfig {
                                 "/v3/api-docs/**",
                                 "/actuator/health")
                         .permitAll()
+                        // 指标等端点会暴露内部运行信息，仅限系统管理员
+                        .requestMatchers("/actuator/**").hasRole("ADMIN")
                         .requestMatchers(HttpMethod.GET, "/api/departments/**").hasAuthority("asset:view")
                         .anyRequest()
                         .authenticated())
@@ -51,6 +59,12 @@ public class SecurityConfig {
         return http.build();
     }
 
+    @Bean
+    static MethodSecurityExpressionHandler methodSecurityExpressionHandler(
+            ObjectProvider<PermissionRegistry> permissionRegistry) {
+        return new PermissionMethodSecurityExpressionHandler(permissionRegistry);
+    }
+
     @Bean
     public PasswordEncoder passwordEncoder() {
         return new BCryptPasswordEncoder();
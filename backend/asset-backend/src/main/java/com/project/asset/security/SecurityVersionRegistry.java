@@ -0,0 +1,35 @@
+package com.project.asset.security;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * 记录每个用户的安全版本号，令牌中的 sv 声明低于当前版本即视为权限已过期。
+ * 未变更过的用户使用进程启动时间作为基线，重启前签发的令牌需要重新刷新。
+ * 版本仅保存在当前进程内，多实例部署时应使用数据库模式。
+ */
+@Component
+public class SecurityVersionRegistry {
+
+    private final long baseline = System.currentTimeMillis();
+    private final Map<Long, Long> versions = new ConcurrentHashMap<>();
+
+    public long currentVersion(Long userId) {
+        return versions.getOrDefault(userId, baseline);
+    }
+
+    public boolean isCurrent(Long userId, Long tokenVersion) {
+        return userId != null && tokenVersion != null && tokenVersion >= currentVersion(userId);
+    }
+
+    public void bump(Long userId) {
+        versions.merge(userId, baseline + 1, (current, ignored) -> current + 1);
+    }
+
+    @TransactionalEventListener
+    public void onAccessChanged(AccessChangedEvent event) {
+        event.userIds().forEach(this::bump);
+    }
+}
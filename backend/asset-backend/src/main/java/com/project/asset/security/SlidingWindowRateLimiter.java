@@ -0,0 +1,57 @@
+package com.project.asset.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import java.time.Duration;
+
+/**
+ * 滑动窗口限流：每个键只保存上一窗口与当前窗口的计数，按当前窗口已过去的比例加权估算请求数。
+ */
+public class SlidingWindowRateLimiter {
+
+    private final Cache<String, Window> windows;
+    private final long windowMillis;
+    private final int limit;
+
+    public SlidingWindowRateLimiter(int limit, Duration window, long maxKeys) {
+        this.limit = limit;
+        this.windowMillis = window.toMillis();
+        this.windows = Caffeine.newBuilder()
+                .maximumSize(maxKeys)
+                .expireAfterAccess(window.multipliedBy(2))
+                .build();
+    }
+
+    public boolean tryAcquire(String key) {
+        return tryAcquire(key, System.currentTimeMillis());
+    }
+
+    boolean tryAcquire(String key, long nowMillis) {
+        return windows.get(key, ignored -> new Window()).tryAcquire(nowMillis);
+    }
+
+    public Duration window() {
+        return Duration.ofMillis(windowMillis);
+    }
+
+    private final class Window {
+        private long start;
+        private int previous;
+        private int current;
+
+        synchronized boolean tryAcquire(long now) {
+            long currentStart = now - now % windowMillis;
+            if (currentStart != start) {
+                previous = currentStart - start == windowMillis ? current : 0;
+                current = 0;
+                start = currentStart;
+            }
+            double previousWeight = 1.0 - (double) (now - currentStart) / windowMillis;
+            if (previous * previousWeight + current >= limit) {
+                return false;
+            }
+            current++;
+            return true;
+        }
+    }
+}
@@ -4,54 +4,124 @@ import com.project.asset.domain.entity.Permission;
 import com.project.asset.domain.entity.Role;
 import com.project.asset.domain.entity.User;
 import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Set;
 import java.util.stream.Collectors;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 
-public record UserPrincipal(User user) implements UserDetails {
-
-    @Override
-    public Collection<? extends GrantedAuthority> getAuthorities() {
-        Set<SimpleGrantedAuthority> roleAuthorities = user.getRoles().stream()
-                .map(Role::getCode)
-                .map(code -> new SimpleGrantedAuthority("ROLE_" + code.replace("ROLE_", "")))
-                .collect(Collectors.toSet());
+/**
+ * 不可变的认证主体，权限集合在构造时一次性计算，不持有 JPA 实体。
+ */
+public final class UserPrincipal implements UserDetails {
+
+    private final Long userId;
+    private final String username;
+    private final String password;
+    private final boolean enabled;
+    private final Set<String> roleCodes;
+    private final Set<String> permissionCodes;
+    private final List<GrantedAuthority> authorities;
+    /**
+     * 权限位图，无法确定完整位图时为空，此时按权限编码字符串判断。
+     */
+    private final PermissionMask permissionMask;
+
+    private UserPrincipal(
+            Long userId,
+            String username,
+            String password,
+            boolean enabled,
+            Set<String> roleCodes,
+            Set<String> permissionCodes,
+            PermissionMask permissionMask) {
+        this.userId = userId;
+        this.username = username;
+        this.password = password;
+        this.enabled = enabled;
+        this.roleCodes = Set.copyOf(roleCodes);
+        this.permissionCodes = Set.copyOf(permissionCodes);
+        this.authorities = buildAuthorities(this.roleCodes, this.permissionCodes);
+        this.permissionMask = permissionMask;
+    }
 
-        Set<SimpleGrantedAuthority> permissionAuthorities = user.getRoles().stream()
+    public static UserPrincipal of(User user) {
+        Set<Permission> permissions = user.getRoles().stream()
                 .flatMap(role -> role.getPermissions().stream())
-                .map(Permission::getCode)
-                .map(SimpleGrantedAuthority::new)
                 .collect(Collectors.toSet());
+        boolean persisted = permissions.stream().allMatch(permission -> permission.getId() != null);
+        return new UserPrincipal(
+                user.getId(),
+                user.getUsername(),
+                user.getPassword(),
+                Boolean.TRUE.equals(user.getEnabled()),
+                user.getRoles().stream().map(Role::getCode).collect(Collectors.toSet()),
+                permissions.stream().map(Permission::getCode).collect(Collectors.toSet()),
+                persisted ? PermissionMask.of(permissions.stream().map(Permission::getId).toList()) : null);
+    }
+
+    /**
+     * 基于令牌声明构建，不含密码。
+     */
+    public static UserPrincipal fromToken(VerifiedToken token) {
+        return new UserPrincipal(
+                token.userId(),
+                token.username(),
+                null,
+                true,
+                token.roles(),
+                token.permissions(),
+                token.permissionMask());
+    }
+
+    /**
+     * 返回不含密码的副本，供缓存长期持有。
+     */
+    public UserPrincipal withoutPassword() {
+        if (password == null) {
+            return this;
+        }
+        return new UserPrincipal(userId, username, null, enabled, roleCodes, permissionCodes, permissionMask);
+    }
 
-        roleAuthorities.addAll(permissionAuthorities);
-        return roleAuthorities;
+    private static List<GrantedAuthority> buildAuthorities(Set<String> roleCodes, Set<String> permissionCodes) {
+        Set<String> names = new LinkedHashSet<>();
+        roleCodes.forEach(code -> names.add("ROLE_" + code.replace("ROLE_", "")));
+        names.addAll(permissionCodes);
+        return names.stream().<GrantedAuthority>map(SimpleGrantedAuthority::new).toList();
+    }
+
+    @Override
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return authorities;
     }
 
     @Override
     public String getPassword() {
-        return user.getPassword();
+        return password;
     }
 
     @Override
     public String getUsername() {
-        return user.getUsername();
+        return username;
     }
 
     public Long getUserId() {
-        return user.getId();
+        return userId;
     }
 
     public Set<String> getRoleCodes() {
-        return user.getRoles().stream().map(Role::getCode).collect(Collectors.toSet());
+        return roleCodes;
     }
 
     public Set<String> getPermissionCodes() {
-        return user.getRoles().stream()
-                .flatMap(role -> role.getPermissions().stream())
-                .map(Permission::getCode)
-                .collect(Collectors.toSet());
+        return permissionCodes;
+    }
+
+    public PermissionMask getPermissionMask() {
+        return permissionMask;
     }
 
     @Override
@@ -71,8 +141,6 @@ public record UserPrincipal(User user) implements UserDetails {
 
     @Override
     public boolean isEnabled() {
-        return Boolean.TRUE.equals(user.getEnabled());
+        return enabled;
     }
 }
-
-
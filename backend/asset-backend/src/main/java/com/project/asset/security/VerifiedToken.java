@@ -0,0 +1,32 @@
+package com.project.asset.security;
+
+import java.time.Instant;
+import java.util.Set;
+
+/**
+ * 已完成签名校验的 JWT 内容，单次解析后在整个请求内复用。
+ */
+public record VerifiedToken(
+        Long userId,
+        String username,
+        TokenType type,
+        Set<String> roles,
+        Set<String> permissions,
+        PermissionMask permissionMask,
+        Long securityVersion,
+        Instant issuedAt,
+        Instant expiresAt,
+        String tokenId) {
+
+    public boolean isAccessToken() {
+        return type == TokenType.ACCESS;
+    }
+
+    public boolean isRefreshToken() {
+        return type == TokenType.REFRESH;
+    }
+
+    public boolean isExpired(Instant now) {
+        return expiresAt != null && !expiresAt.isAfter(now);
+    }
+}
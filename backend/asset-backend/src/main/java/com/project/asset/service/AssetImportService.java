@@ -0,0 +1,442 @@
+package com.project.asset.service;
+
+import com.project.asset.change.Aggregate;
+import com.project.asset.change.AggregateChangedEvent;
+import com.project.asset.config.ImportProperties;
+import com.project.asset.domain.entity.Asset;
+import com.project.asset.domain.entity.AssetType;
+import com.project.asset.domain.entity.User;
+import com.project.asset.domain.entity.Vendor;
+import com.project.asset.domain.enums.AssetStatus;
+import com.project.asset.exception.BusinessException;
+import com.project.asset.exception.ErrorCode;
+import com.project.asset.repository.AssetRepository;
+import com.project.asset.repository.AssetTypeRepository;
+import com.project.asset.repository.VendorRepository;
+import com.project.asset.search.SearchDocument;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * 资产 CSV 导入：请求线程顺序读取上传文件，按块交给解析线程并行解析与校验，再按文件顺序逐块查重，
+ * 每块在独立事务中批量插入。内存中只有在途的几个块和已接受的资产编号集合，不持有整个文件。
+ * 失败行写入错误报告，不影响其他行；dryRun 时完成全部校验但不写库。
+ */
+@Service
+public class AssetImportService {
+
+    /**
+     * 可识别的列，与资产导出的表头一致；id 列忽略，导入后重新分配。
+     */
+    static final Set<String> COLUMNS = Set.of(
+            "id", "assetNo", "name", "assetTypeId", "model", "vendorId", "purchaseDate", "status", "location",
+            "price", "createdBy", "createdAt");
+
+    private static final int READ_BUFFER_SIZE = 64 * 1024;
+    private static final int MAX_ASSET_NO_LENGTH = 100;
+    private static final int MAX_TEXT_LENGTH = 200;
+
+    private final AssetRepository assetRepository;
+    private final AssetTypeRepository assetTypeRepository;
+    private final VendorRepository vendorRepository;
+    private final EntityManager entityManager;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final ThreadPoolExecutor parsers;
+    private final int chunkSize;
+
+    public AssetImportService(
+            AssetRepository assetRepository,
+            AssetTypeRepository assetTypeRepository,
+            VendorRepository vendorRepository,
+            EntityManager entityManager,
+            ApplicationEventPublisher eventPublisher,
+            PlatformTransactionManager transactionManager,
+            ImportProperties properties) {
+        this.assetRepository = assetRepository;
+        this.assetTypeRepository = assetTypeRepository;
+        this.vendorRepository = vendorRepository;
+        this.entityManager = entityManager;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkSize = properties.getChunkSize();
+        int threads = properties.getParserThreads() > 0
+                ? properties.getParserThreads()
+                : Runtime.getRuntime().availableProcessors();
+        AtomicInteger sequence = new AtomicInteger();
+        this.parsers = new ThreadPoolExecutor(
+                threads,
+                threads,
+                0L,
+                TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "asset-import-" + sequence.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    /**
+     * 导入并把失败行写入 report（CSV：行号、资产编号、原因），返回汇总。
+     */
+    public Result importCsv(InputStream in, boolean dryRun, Writer report) throws IOException {
+        CsvReader csv = new CsvReader(
+                new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8), READ_BUFFER_SIZE));
+        List<String> header = csv.next();
+        if (header == null) {
+            throw new BusinessException(ErrorCode.BAD_REQUEST, "导入文件为空");
+        }
+        Map<String, Integer> columns = columns(header);
+        References references = loadReferences();
+        report.write('\uFEFF');
+        report.write("line,assetNo,error\r\n");
+
+        Progress progress = new Progress(dryRun, report);
+        Deque<Future<Chunk>> inFlight = new ArrayDeque<>();
+        try {
+            List<RawRow> rows = new ArrayList<>(chunkSize);
+            List<String> fields;
+            while ((fields = csv.next()) != null) {
+                rows.add(new RawRow(csv.recordLine(), fields));
+                if (rows.size() == chunkSize) {
+                    List<RawRow> chunk = rows;
+                    inFlight.add(parsers.submit(() -> parse(chunk, columns, header.size(), references)));
+                    rows = new ArrayList<>(chunkSize);
+                    // 解析线程全忙时再读就只会堆积，先按顺序写入最早的块
+                    if (inFlight.size() > parsers.getMaximumPoolSize()) {
+                        progress.apply(await(inFlight.poll()));
+                    }
+                }
+            }
+            if (!rows.isEmpty()) {
+                List<RawRow> chunk = rows;
+                inFlight.add(parsers.submit(() -> parse(chunk, columns, header.size(), references)));
+            }
+            while (!inFlight.isEmpty()) {
+                progress.apply(await(inFlight.poll()));
+            }
+        } finally {
+            inFlight.forEach(future -> future.cancel(true));
+        }
+        report.flush();
+        return progress.result();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        parsers.shutdown();
+    }
+
+    private static Map<String, Integer> columns(List<String> header) {
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            String name = header.get(i).strip();
+            if (i == 0 && name.startsWith("\uFEFF")) {
+                name = name.substring(1);
+            }
+            if (!COLUMNS.contains(name)) {
+                throw new BusinessException(ErrorCode.BAD_REQUEST, "不支持的列：" + name);
+            }
+            if (columns.put(name, i) != null) {
+                throw new BusinessException(ErrorCode.BAD_REQUEST, "列重复：" + name);
+            }
+        }
+        if (!columns.containsKey("assetNo") || !columns.containsKey("name")) {
+            throw new BusinessException(ErrorCode.BAD_REQUEST, "缺少必填列 assetNo 或 name");
+        }
+        return columns;
+    }
+
+    /**
+     * 预加载引用数据，键为 id 以及小写的编码、名称或用户名，解析线程只读共享。
+     */
+    private References loadReferences() {
+        Map<String, Long> types = new HashMap<>();
+        for (AssetType type : assetTypeRepository.findAll()) {
+            putReference(types, type.getId(), type.getName());
+            putReference(types, type.getId(), type.getCode());
+        }
+        Map<String, Long> vendors = new HashMap<>();
+        for (Vendor vendor : vendorRepository.findAll()) {
+            putReference(vendors, vendor.getId(), vendor.getName());
+        }
+        Map<String, Long> users = new HashMap<>();
+        for (Object[] row : entityManager.createQuery("select u.id, u.username from User u", Object[].class)
+                .getResultList()) {
+            putReference(users, (Long) row[0], (String) row[1]);
+        }
+        return new References(types, vendors, users);
+    }
+
+    private static void putReference(Map<String, Long> references, Long id, String name) {
+        references.put(id.toString(), id);
+        if (name != null && !name.isBlank()) {
+            references.putIfAbsent(key(name), id);
+        }
+    }
+
+    /**
+     * 在解析线程中执行：只做格式与引用校验，不访问数据库。
+     */
+    private static Chunk parse(List<RawRow> rows, Map<String, Integer> columns, int width, References references) {
+        List<Candidate> candidates = new ArrayList<>(rows.size());
+        List<Failure> failures = new ArrayList<>();
+        for (RawRow row : rows) {
+            List<String> errors = new ArrayList<>();
+            Cells cells = new Cells(row.fields(), columns);
+            String assetNo = cells.get("assetNo");
+            if (row.fields().size() > width) {
+                failures.add(new Failure(row.line(), assetNo, "列数多于表头"));
+                continue;
+            }
+            Asset asset = new Asset();
+            asset.setAssetNo(text(errors, "资产编号", assetNo, MAX_ASSET_NO_LENGTH, true));
+            asset.setName(text(errors, "名称", cells.get("name"), MAX_TEXT_LENGTH, true));
+            asset.setModel(text(errors, "型号", cells.get("model"), MAX_TEXT_LENGTH, false));
+            asset.setLocation(text(errors, "位置", cells.get("location"), MAX_TEXT_LENGTH, false));
+            asset.setPurchaseDate(parseValue(errors, "采购日期", cells.get("purchaseDate"), LocalDate::parse));
+            asset.setCreatedAt(parseValue(errors, "创建时间", cells.get("createdAt"), LocalDateTime::parse));
+            asset.setPrice(parseValue(errors, "价格", cells.get("price"), BigDecimal::new));
+            if (asset.getPrice() != null && asset.getPrice().signum() < 0) {
+                errors.add("价格不能为负数");
+            }
+            AssetStatus status = parseValue(errors, "状态", cells.get("status"),
+                    value -> AssetStatus.valueOf(value.toUpperCase(Locale.ROOT)));
+            asset.setStatus(status != null ? status : AssetStatus.DRAFT);
+            Long typeId = reference(errors, "资产类型", cells.get("assetTypeId"), references.types());
+            Long vendorId = reference(errors, "供应商", cells.get("vendorId"), references.vendors());
+            Long creatorId = reference(errors, "创建人", cells.get("createdBy"), references.users());
+            if (errors.isEmpty()) {
+                candidates.add(new Candidate(row.line(), asset, typeId, vendorId, creatorId));
+            } else {
+                failures.add(new Failure(row.line(), assetNo, String.join("；", errors)));
+            }
+        }
+        return new Chunk(candidates, failures);
+    }
+
+    private static String text(List<String> errors, String label, String value, int maxLength, boolean required) {
+        if (value == null) {
+            if (required) {
+                errors.add(label + "不能为空");
+            }
+            return null;
+        }
+        if (value.length() > maxLength) {
+            errors.add(label + "长度不能超过 " + maxLength + " 个字符");
+        }
+        return value;
+    }
+
+    private static <T> T parseValue(List<String> errors, String label, String value, Parser<T> parser) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return parser.parse(value);
+        } catch (DateTimeParseException | IllegalArgumentException ex) {
+            errors.add(label + "格式不正确：" + value);
+            return null;
+        }
+    }
+
+    private static Long reference(List<String> errors, String label, String value, Map<String, Long> references) {
+        if (value == null) {
+            return null;
+        }
+        Long id = references.get(value);
+        if (id == null) {
+            id = references.get(key(value));
+        }
+        if (id == null) {
+            errors.add(label + "不存在：" + value);
+        }
+        return id;
+    }
+
+    private static String key(String value) {
+        return value.strip().toLowerCase(Locale.ROOT);
+    }
+
+    private static Chunk await(Future<Chunk> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Asset import interrupted", ex);
+        } catch (ExecutionException ex) {
+            throw new IllegalStateException("Asset import chunk failed", ex.getCause());
+        }
+    }
+
+    /**
+     * 单块在一个事务中插入，主键分段分配，insert 按 JDBC 批处理执行。
+     */
+    private void insert(List<Candidate> candidates) {
+        transactionTemplate.executeWithoutResult(status -> {
+            for (Candidate candidate : candidates) {
+                Asset asset = candidate.asset();
+                if (candidate.typeId() != null) {
+                    asset.setAssetType(entityManager.getReference(AssetType.class, candidate.typeId()));
+                }
+                if (candidate.vendorId() != null) {
+                    asset.setVendor(entityManager.getReference(Vendor.class, candidate.vendorId()));
+                }
+                if (candidate.creatorId() != null) {
+                    asset.setCreatedBy(entityManager.getReference(User.class, candidate.creatorId()));
+                }
+                if (asset.getCreatedAt() == null) {
+                    asset.setCreatedAt(LocalDateTime.now());
+                }
+                entityManager.persist(asset);
+            }
+            entityManager.flush();
+            for (Candidate candidate : candidates) {
+                eventPublisher.publishEvent(SearchDocument.of(candidate.asset()));
+            }
+            eventPublisher.publishEvent(AggregateChangedEvent.of(Aggregate.ASSET));
+            entityManager.clear();
+        });
+    }
+
+    /**
+     * 顺序阶段的状态：文件内已出现的资产编号、计数与错误报告，只在请求线程中访问。
+     */
+    private final class Progress {
+
+        private final boolean dryRun;
+        private final Writer report;
+        private final Set<String> seen = new HashSet<>();
+        private long total;
+        private long imported;
+        private long failed;
+
+        private Progress(boolean dryRun, Writer report) {
+            this.dryRun = dryRun;
+            this.report = report;
+        }
+
+        void apply(Chunk chunk) throws IOException {
+            List<Failure> failures = new ArrayList<>(chunk.failures());
+            Map<String, Candidate> accepted = new LinkedHashMap<>();
+            for (Candidate candidate : chunk.candidates()) {
+                String assetNo = candidate.asset().getAssetNo();
+                if (seen.add(key(assetNo))) {
+                    accepted.put(key(assetNo), candidate);
+                } else {
+                    failures.add(new Failure(candidate.line(), assetNo, "资产编号在文件中重复"));
+                }
+            }
+            if (!accepted.isEmpty()) {
+                List<String> assetNos = accepted.values().stream().map(c -> c.asset().getAssetNo()).toList();
+                for (String existing : assetRepository.findExistingAssetNos(assetNos)) {
+                    Candidate candidate = accepted.remove(key(existing));
+                    if (candidate != null) {
+                        failures.add(new Failure(candidate.line(), existing, "资产编号已存在"));
+                    }
+                }
+            }
+            if (!dryRun && !accepted.isEmpty()) {
+                try {
+                    insert(new ArrayList<>(accepted.values()));
+                } catch (DataIntegrityViolationException ex) {
+                    for (Candidate candidate : accepted.values()) {
+                        failures.add(new Failure(candidate.line(), candidate.asset().getAssetNo(),
+                                "与同时写入的资产冲突，本块未导入"));
+                    }
+                    accepted.clear();
+                }
+            }
+            total += chunk.candidates().size() + chunk.failures().size();
+            imported += accepted.size();
+            failed += failures.size();
+            failures.sort(Comparator.comparingInt(Failure::line));
+            for (Failure failure : failures) {
+                report.write(failure.line() + "," + ExportService.csvField(nullToEmpty(failure.assetNo())) + ","
+                        + ExportService.csvField(failure.message()) + "\r\n");
+            }
+        }
+
+        Result result() {
+            return new Result(total, imported, failed, dryRun);
+        }
+    }
+
+    private static String nullToEmpty(String value) {
+        return value != null ? value : "";
+    }
+
+    /**
+     * 汇总：imported 在 dryRun 时为可导入的行数。
+     */
+    public record Result(long total, long imported, long failed, boolean dryRun) {
+    }
+
+    private record RawRow(int line, List<String> fields) {
+    }
+
+    private record Candidate(int line, Asset asset, Long typeId, Long vendorId, Long creatorId) {
+    }
+
+    private record Failure(int line, String assetNo, String message) {
+    }
+
+    private record Chunk(List<Candidate> candidates, List<Failure> failures) {
+    }
+
+    private record References(Map<String, Long> types, Map<String, Long> vendors, Map<String, Long> users) {
+    }
+
+    private record Cells(List<String> fields, Map<String, Integer> columns) {
+
+        /**
+         * 去除首尾空白，空值与缺失的列返回 null。
+         */
+        String get(String column) {
+            Integer index = columns.get(column);
+            if (index == null || index >= fields.size()) {
+                return null;
+            }
+            String value = fields.get(index).strip();
+            return value.isEmpty() ? null : value;
+        }
+    }
+
+    @FunctionalInterface
+    private interface Parser<T> {
+        T parse(String value);
+    }
+}
@@ -1,5 +1,7 @@
 package com.project.asset.service;
 
+import com.project.asset.change.Aggregate;
+import com.project.asset.change.AggregateChangedEvent;
 import com.project.asset.domain.entity.Approval;
 import com.project.asset.domain.entity.AssetRequest;
 import com.project.asset.domain.entity.AssetType;
@@ -12,23 +14,29 @@ import com.project.asset.dto.asset.ApprovalRequestDto;
 import com.project.asset.dto.asset.AssetRequestCreateDto;
 import com.project.asset.dto.asset.AssetRequestDetailDto;
 import com.project.asset.dto.asset.RequestItemDto;
+import com.project.asset.dto.asset.RequestItemRow;
 import com.project.asset.exception.BusinessException;
 import com.project.asset.exception.ErrorCode;
+import com.project.asset.numbering.BusinessNumberGenerator;
+import com.project.asset.numbering.BusinessNumberType;
 import com.project.asset.repository.ApprovalRepository;
 import com.project.asset.repository.AssetRequestRepository;
 import com.project.asset.repository.AssetTypeRepository;
 import com.project.asset.repository.DepartmentRepository;
+import com.project.asset.repository.RequestItemRepository;
 import com.project.asset.repository.UserRepository;
+import com.project.asset.response.PageQuery;
 import com.project.asset.response.PageResponse;
+import jakarta.persistence.EntityManager;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Pageable;
-import org.springframework.data.domain.Sort;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -37,23 +45,43 @@ import org.springframework.transaction.annotation.Transactional;
 @Transactional(readOnly = true)
 public class AssetRequestService {
 
+    private static final Set<String> SORT_KEYS = Set.of("id", "createdAt", "updatedAt");
+
+    private static final View<AssetRequest> VIEW = new View<AssetRequest>()
+            .field("id", root -> root.get("id"))
+            .field("requestNo", root -> root.get("requestNo"))
+            .field("requesterId", root -> root.get("requester").get("id"))
+            .field("departmentId", root -> root.get("department").get("id"))
+            .field("status", root -> root.get("status"))
+            .field("remark", root -> root.get("remark"))
+            .field("createdAt", root -> root.get("createdAt"))
+            .field("updatedAt", root -> root.get("updatedAt"))
+            .derived("items");
+
     private final AssetRequestRepository assetRequestRepository;
     private final UserRepository userRepository;
     private final DepartmentRepository departmentRepository;
     private final AssetTypeRepository assetTypeRepository;
     private final ApprovalRepository approvalRepository;
     private final AuditService auditService;
-
-    public PageResponse<AssetRequestDetailDto> list(int page, int size, String sort) {
-        Pageable pageable = PageRequest.of(page, size, Sort.by(sort).descending());
-        Page<AssetRequestDetailDto> dtoPage = assetRequestRepository.findAll(pageable).map(this::toDetail);
-        return PageResponse.<AssetRequestDetailDto>builder()
-                .content(dtoPage.getContent())
-                .totalElements(dtoPage.getTotalElements())
-                .totalPages(dtoPage.getTotalPages())
-                .page(dtoPage.getNumber())
-                .size(dtoPage.getSize())
-                .build();
+    private final RequestItemRepository requestItemRepository;
+    private final EntityManager entityManager;
+    private final ApplicationEventPublisher eventPublisher;
+    private final BusinessNumberGenerator numberGenerator;
+
+    public PageResponse<AssetRequestDetailDto> list(PageQuery query) {
+        PageResponse<AssetRequestDetailDto> page = Pages.listViews(
+                entityManager,
+                AssetRequest.class,
+                Specification.where(null),
+                query,
+                SORT_KEYS,
+                VIEW,
+                this::toDetail);
+        if (View.includes(query.fields(), "items")) {
+            attachItems(page.getContent());
+        }
+        return page;
     }
 
     @Transactional
@@ -73,7 +101,7 @@ public class AssetRequestService {
         }
 
         AssetRequest request = new AssetRequest();
-        request.setRequestNo(generateRequestNo());
+        request.setRequestNo(numberGenerator.next(BusinessNumberType.REQUEST));
         request.setRequester(requester);
         request.setDepartment(department);
         request.setRemark(dto.getRemark());
@@ -96,6 +124,7 @@ public class AssetRequestService {
         }
         request.setItems(items);
         AssetRequest saved = assetRequestRepository.save(request);
+        eventPublisher.publishEvent(AggregateChangedEvent.of(Aggregate.ASSET_REQUEST));
         auditService.record(requester.getId(), "REQUEST_CREATE", "AssetRequest", saved.getId(), dto.getRemark());
         return toDetail(saved);
     }
@@ -132,6 +161,7 @@ public class AssetRequestService {
         approval.setComment(dto.getComment());
         approval.setCreatedAt(LocalDateTime.now());
         approvalRepository.save(approval);
+        eventPublisher.publishEvent(AggregateChangedEvent.of(Aggregate.ASSET_REQUEST));
 
         auditService.record(
                 approver.getId(), "REQUEST_APPROVAL", "AssetRequest", request.getId(), dto.getResult().name());
@@ -139,7 +169,7 @@ public class AssetRequestService {
     }
 
     private AssetRequestDetailDto toDetail(AssetRequest request) {
-        return AssetRequestDetailDto.builder()
+        AssetRequestDetailDto detail = AssetRequestDetailDto.builder()
                 .id(request.getId())
                 .requestNo(request.getRequestNo())
                 .requesterId(request.getRequester().getId())
@@ -147,20 +177,37 @@ public class AssetRequestService {
                 .status(request.getStatus())
                 .remark(request.getRemark())
                 .createdAt(request.getCreatedAt())
-                .items(request.getItems().stream()
-                        .map(item -> RequestItemDto.builder()
-                                .id(item.getId())
-                                .assetTypeId(item.getAssetType() != null ? item.getAssetType().getId() : null)
-                                .assetTypeName(item.getAssetType() != null ? item.getAssetType().getName() : null)
-                                .quantity(item.getQuantity())
-                                .purpose(item.getPurpose())
-                                .build())
-                        .collect(Collectors.toList()))
                 .build();
+        attachItems(List.of(detail));
+        return detail;
     }
 
-    private String generateRequestNo() {
-        return "REQ-" + System.currentTimeMillis();
+    private AssetRequestDetailDto toDetail(View.Row row) {
+        return AssetRequestDetailDto.builder()
+                .id(row.get("id", Long.class))
+                .requestNo(row.get("requestNo", String.class))
+                .requesterId(row.get("requesterId", Long.class))
+                .departmentId(row.get("departmentId", Long.class))
+                .status(row.get("status", RequestStatus.class))
+                .remark(row.get("remark", String.class))
+                .createdAt(row.get("createdAt", LocalDateTime.class))
+                .build();
+    }
+
+    /**
+     * 一次查询加载所有申请的明细及资产类型。
+     */
+    private void attachItems(List<AssetRequestDetailDto> details) {
+        if (details.isEmpty()) {
+            return;
+        }
+        Map<Long, List<RequestItemDto>> items = requestItemRepository
+                .findRowsByRequestIdIn(details.stream().map(AssetRequestDetailDto::getId).toList())
+                .stream()
+                .collect(Collectors.groupingBy(
+                        RequestItemRow::requestId,
+                        Collectors.mapping(RequestItemRow::toDto, Collectors.toList())));
+        details.forEach(detail -> detail.setItems(items.getOrDefault(detail.getId(), new ArrayList<>())));
     }
 }
 
@@ -1,57 +1,101 @@
 package com.project.asset.service;
 
+import com.project.asset.change.Aggregate;
+import com.project.asset.change.AggregateChangedEvent;
 import com.project.asset.domain.entity.Asset;
 import com.project.asset.domain.entity.AssetType;
 import com.project.asset.domain.entity.User;
 import com.project.asset.domain.entity.Vendor;
 import com.project.asset.domain.enums.AssetStatus;
 import com.project.asset.dto.asset.AssetDto;
+import com.project.asset.dto.asset.AssetFilter;
 import com.project.asset.exception.BusinessException;
 import com.project.asset.exception.ErrorCode;
+import com.project.asset.numbering.BusinessNumberGenerator;
+import com.project.asset.numbering.BusinessNumberType;
 import com.project.asset.repository.AssetRepository;
+import com.project.asset.repository.AssetSpecifications;
 import com.project.asset.repository.AssetTypeRepository;
 import com.project.asset.repository.UserRepository;
 import com.project.asset.repository.VendorRepository;
+import com.project.asset.response.ExportFormat;
+import com.project.asset.response.PageQuery;
 import com.project.asset.response.PageResponse;
+import com.project.asset.search.SearchDocument;
+import jakarta.persistence.EntityManager;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.Set;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Pageable;
-import org.springframework.data.domain.Sort;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.StringUtils;
 
 @Service
 @RequiredArgsConstructor
 @Transactional(readOnly = true)
 public class AssetService {
 
+    private static final Set<String> SORT_KEYS = Set.of("id", "createdAt");
+
+    private static final View<Asset> VIEW = new View<Asset>()
+            .field("id", root -> root.get("id"))
+            .field("assetNo", root -> root.get("assetNo"))
+            .field("name", root -> root.get("name"))
+            .field("assetTypeId", root -> root.get("assetType").get("id"))
+            .field("model", root -> root.get("model"))
+            .field("vendorId", root -> root.get("vendor").get("id"))
+            .field("purchaseDate", root -> root.get("purchaseDate"))
+            .field("status", root -> root.get("status"))
+            .field("location", root -> root.get("location"))
+            .field("price", root -> root.get("price"))
+            .field("createdBy", root -> root.get("createdBy").get("id"))
+            .field("createdAt", root -> root.get("createdAt"));
+
     private final AssetRepository assetRepository;
     private final AssetTypeRepository assetTypeRepository;
     private final VendorRepository vendorRepository;
     private final UserRepository userRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ExportService exportService;
+    private final EntityManager entityManager;
+    private final BusinessNumberGenerator numberGenerator;
 
-    public PageResponse<AssetDto> list(int page, int size, String sort) {
-        Pageable pageable = PageRequest.of(page, size, Sort.by(sort).descending());
-        Page<AssetDto> dtoPage = assetRepository.findAll(pageable).map(this::toDto);
-        return PageResponse.<AssetDto>builder()
-                .content(dtoPage.getContent())
-                .totalElements(dtoPage.getTotalElements())
-                .totalPages(dtoPage.getTotalPages())
-                .page(dtoPage.getNumber())
-                .size(dtoPage.getSize())
-                .build();
+    public PageResponse<AssetDto> list(PageQuery query, AssetFilter filter) {
+        return Pages.listViews(
+                entityManager,
+                Asset.class,
+                AssetSpecifications.matching(filter),
+                query,
+                SORT_KEYS,
+                VIEW,
+                AssetService::toDto);
+    }
+
+    public long export(AssetFilter filter, ExportFormat format, OutputStream out) throws IOException {
+        return exportService.write(Asset.class, AssetSpecifications.matching(filter), VIEW, format, out);
     }
 
+    /**
+     * 新建资产，未填写资产编号时自动分配。
+     */
     @Transactional
     public AssetDto create(AssetDto dto) {
         Asset asset = new Asset();
         apply(dto, asset);
-        asset.setAssetNo(dto.getAssetNo());
+        asset.setAssetNo(StringUtils.hasText(dto.getAssetNo())
+                ? dto.getAssetNo()
+                : numberGenerator.next(BusinessNumberType.ASSET));
         asset.setStatus(dto.getStatus() != null ? dto.getStatus() : AssetStatus.DRAFT);
         asset.setCreatedAt(LocalDateTime.now());
-        return toDto(assetRepository.save(asset));
+        Asset saved = assetRepository.save(asset);
+        eventPublisher.publishEvent(SearchDocument.of(saved));
+        eventPublisher.publishEvent(AggregateChangedEvent.of(Aggregate.ASSET));
+        return toDto(saved);
     }
 
     private void apply(AssetDto dto, Asset asset) {
@@ -81,6 +125,22 @@ public class AssetService {
         asset.setStatus(dto.getStatus() != null ? dto.getStatus() : AssetStatus.DRAFT);
     }
 
+    private static AssetDto toDto(View.Row row) {
+        return AssetDto.builder()
+                .id(row.get("id", Long.class))
+                .assetNo(row.get("assetNo", String.class))
+                .name(row.get("name", String.class))
+                .assetTypeId(row.get("assetTypeId", Long.class))
+                .model(row.get("model", String.class))
+                .vendorId(row.get("vendorId", Long.class))
+                .purchaseDate(row.get("purchaseDate", LocalDate.class))
+                .status(row.get("status", AssetStatus.class))
+                .location(row.get("location", String.class))
+                .price(row.get("price", BigDecimal.class))
+                .createdBy(row.get("createdBy", Long.class))
+                .build();
+    }
+
     private AssetDto toDto(Asset asset) {
         return AssetDto.builder()
                 .id(asset.getId())
@@ -1,5 +1,7 @@
 package com.project.asset.service;
 
+import com.project.asset.change.Aggregate;
+import com.project.asset.change.AggregateChangedEvent;
 import com.project.asset.domain.entity.AssetType;
 import com.project.asset.dto.basic.AssetTypeDto;
 import com.project.asset.exception.BusinessException;
@@ -8,6 +10,7 @@ import com.project.asset.repository.AssetRepository;
 import com.project.asset.repository.AssetTypeRepository;
 import com.project.asset.response.PageResponse;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
@@ -22,6 +25,7 @@ public class AssetTypeService {
 
     private final AssetTypeRepository assetTypeRepository;
     private final AssetRepository assetRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     public PageResponse<AssetTypeDto> list(int page, int size, String sort) {
         Pageable pageable = PageRequest.of(page, size, Sort.by(sort).ascending());
@@ -54,7 +58,9 @@ public class AssetTypeService {
             throw new BusinessException(ErrorCode.CONFLICT, "资产类型编码已存在");
         }
         apply(dto, assetType);
-        return toDto(assetTypeRepository.save(assetType));
+        AssetTypeDto saved = toDto(assetTypeRepository.save(assetType));
+        eventPublisher.publishEvent(AggregateChangedEvent.of(Aggregate.ASSET_TYPE));
+        return saved;
     }
 
     @Transactional
@@ -66,6 +72,7 @@ public class AssetTypeService {
             throw new BusinessException(ErrorCode.BAD_REQUEST, "存在资产引用该类型，无法删除");
         }
         assetTypeRepository.delete(assetType);
+        eventPublisher.publishEvent(AggregateChangedEvent.of(Aggregate.ASSET_TYPE));
     }
 
     private void apply(AssetTypeDto dto, AssetType assetType) {
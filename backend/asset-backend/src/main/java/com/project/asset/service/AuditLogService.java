@@ -1,45 +1,213 @@
 package com.project.asset.service;
 
+import com.project.asset.audit.ColdAuditRow;
+import com.project.asset.audit.ColdAuditStore;
 import com.project.asset.domain.entity.AuditLog;
 import com.project.asset.dto.audit.AuditLogDto;
-import com.project.asset.repository.AuditLogRepository;
+import com.project.asset.dto.audit.AuditLogFilter;
+import com.project.asset.exception.BusinessException;
+import com.project.asset.exception.ErrorCode;
+import com.project.asset.repository.AuditLogSpecifications;
+import com.project.asset.response.ExportFormat;
+import com.project.asset.response.KeysetCursor;
+import com.project.asset.response.PageQuery;
 import com.project.asset.response.PageResponse;
+import jakarta.persistence.EntityManager;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Pageable;
-import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.StringUtils;
 
 @Service
 @RequiredArgsConstructor
 @Transactional(readOnly = true)
 public class AuditLogService {
 
-    private final AuditLogRepository auditLogRepository;
-
-    public PageResponse<AuditLogDto> list(int page, int size, String sort) {
-        Pageable pageable = PageRequest.of(page, size, Sort.by(sort).descending());
-        Page<AuditLogDto> dtoPage = auditLogRepository.findAll(pageable).map(this::toDto);
-        return PageResponse.<AuditLogDto>builder()
-                .content(dtoPage.getContent())
-                .totalElements(dtoPage.getTotalElements())
-                .totalPages(dtoPage.getTotalPages())
-                .page(dtoPage.getNumber())
-                .size(dtoPage.getSize())
+    private static final String ID = "id";
+    private static final String CREATED_AT = "createdAt";
+    private static final Set<String> SORT_KEYS = Set.of(ID, CREATED_AT);
+
+    private static final View<AuditLog> VIEW = new View<AuditLog>()
+            .field("id", root -> root.get("id"))
+            .field("userId", root -> root.get("user").get("id"))
+            .field("action", root -> root.get("action"))
+            .field("entity", root -> root.get("entity"))
+            .field("entityId", root -> root.get("entityId"))
+            .field("detail", root -> root.get("detail"))
+            .field("createdAt", root -> root.get("createdAt"));
+
+    private final ExportService exportService;
+    private final EntityManager entityManager;
+    private final ColdAuditStore coldAuditStore;
+
+    /**
+     * 先查询 audit_logs，再合并已归档到段文件中的记录，调用方看到的是一份连续的列表。
+     */
+    public PageResponse<AuditLogDto> list(PageQuery query, AuditLogFilter filter) {
+        requireEntityForEntityId(filter);
+        PageResponse<AuditLogDto> hot = Pages.listViews(
+                entityManager,
+                AuditLog.class,
+                AuditLogSpecifications.matching(filter),
+                query,
+                SORT_KEYS,
+                VIEW,
+                AuditLogService::toDto);
+        if (coldAuditStore.isEmpty()) {
+            return hot;
+        }
+        return query.isSeek() ? mergeCold(hot, query, filter) : appendCold(hot, query, filter);
+    }
+
+    /**
+     * 单个实体的变更历史，按时间倒序游标分页，只读取 (entity, entity_id, created_at) 索引上的一段。
+     */
+    public PageResponse<AuditLogDto> history(String entity, Long entityId, int size, String after, Set<String> fields) {
+        AuditLogFilter filter = new AuditLogFilter();
+        filter.setEntity(entity);
+        filter.setEntityId(entityId);
+        return list(new PageQuery(0, size, "createdAt", after, false, fields), filter);
+    }
+
+    /**
+     * 已归档的分区整月早于 audit_logs 中的数据，先写出归档段中的匹配记录，再写出数据库中的记录，整体按 id 升序。
+     */
+    public long export(AuditLogFilter filter, ExportFormat format, OutputStream out) throws IOException {
+        requireEntityForEntityId(filter);
+        try (Stream<Map<String, Object>> cold = coldAuditStore.stream(filter).map(AuditLogService::toColumns)) {
+            return exportService.write(
+                    AuditLog.class, AuditLogSpecifications.matching(filter), VIEW, format, out, cold);
+        }
+    }
+
+    /**
+     * 游标分页：冷数据同样取排在游标之后的一页，与热数据归并后截取。热数据还有下一页时，
+     * 排在热数据本页最后一行之后的段和行组不会进入本页，直接跳过。
+     */
+    private PageResponse<AuditLogDto> mergeCold(PageResponse<AuditLogDto> hot, PageQuery query, AuditLogFilter filter) {
+        boolean byId = ID.equals(query.sort());
+        ColdAuditStore.Position after = position(query.after(), byId);
+        ColdAuditStore.Position floor = position(hot.getNextCursor(), byId);
+        List<AuditLogDto> merged = new ArrayList<>(hot.getContent());
+        coldAuditStore.top(filter, byId, after, floor, query.size() + 1)
+                .forEach(row -> merged.add(toDto(row, query.fields(), byId)));
+        merged.sort(byId
+                ? Comparator.comparing(AuditLogDto::getId).reversed()
+                : Comparator.comparing(AuditLogDto::getCreatedAt).thenComparing(AuditLogDto::getId).reversed());
+        boolean hasNext = hot.getNextCursor() != null || merged.size() > query.size();
+        List<AuditLogDto> content = merged.size() > query.size() ? merged.subList(0, query.size()) : merged;
+        String nextCursor = null;
+        if (hasNext && !content.isEmpty()) {
+            AuditLogDto last = content.get(content.size() - 1);
+            Map<String, Object> keys = new LinkedHashMap<>();
+            if (!byId) {
+                keys.put(CREATED_AT, last.getCreatedAt());
+            }
+            keys.put(ID, last.getId());
+            nextCursor = KeysetCursor.encode(keys);
+        }
+        Long total = hot.getTotalElements() != null ? hot.getTotalElements() + coldAuditStore.count(filter) : null;
+        return Pages.build(List.copyOf(content), query, total, nextCursor);
+    }
+
+    /**
+     * 页码分页：归档的分区整月早于 audit_logs 中的数据，冷数据接在热数据之后。
+     * 本页需要补冷数据时，定位冷数据的偏移量需要热数据总数，即使请求了 count=false 也要计数。
+     */
+    private PageResponse<AuditLogDto> appendCold(
+            PageResponse<AuditLogDto> hot, PageQuery query, AuditLogFilter filter) {
+        boolean byId = ID.equals(query.sort());
+        List<AuditLogDto> content = new ArrayList<>(hot.getContent());
+        int missing = query.size() - content.size();
+        Long hotTotal = hot.getTotalElements();
+        Long coldTotal = null;
+        if (missing > 0) {
+            if (hotTotal == null) {
+                hotTotal = Pages.count(entityManager, AuditLog.class, AuditLogSpecifications.matching(filter));
+            }
+            coldTotal = coldAuditStore.count(filter);
+            long skip = Math.max(0, (long) query.page() * query.size() - hotTotal);
+            if (skip < coldTotal) {
+                coldAuditStore.top(filter, byId, null, null, (int) Math.min(skip + missing, coldTotal)).stream()
+                        .skip(skip)
+                        .forEach(row -> content.add(toDto(row, query.fields(), byId)));
+            }
+        }
+        Long total = null;
+        if (query.count()) {
+            total = hotTotal + (coldTotal != null ? coldTotal : coldAuditStore.count(filter));
+        }
+        return Pages.build(content, query, total, null);
+    }
+
+    private static ColdAuditStore.Position position(String cursor, boolean byId) {
+        if (cursor == null) {
+            return null;
+        }
+        Map<String, Object> keys = KeysetCursor.decode(cursor, byId ? Set.of(ID) : Set.of(CREATED_AT, ID));
+        long id = (Long) keys.get(ID);
+        return ColdAuditStore.Position.of(byId ? id : keys.get(CREATED_AT), id);
+    }
+
+    /**
+     * entity_id 只在 (entity, entity_id, created_at) 索引中，单独按 entityId 查询会扫描全表。
+     */
+    private static void requireEntityForEntityId(AuditLogFilter filter) {
+        if (filter.getEntityId() != null && !StringUtils.hasText(filter.getEntity())) {
+            throw new BusinessException(ErrorCode.BAD_REQUEST, "按 entityId 查询时必须同时指定 entity");
+        }
+    }
+
+    private static AuditLogDto toDto(View.Row row) {
+        return AuditLogDto.builder()
+                .id(row.get("id", Long.class))
+                .userId(row.get("userId", Long.class))
+                .action(row.get("action", String.class))
+                .entity(row.get("entity", String.class))
+                .entityId(row.get("entityId", Long.class))
+                .detail(row.get("detail", String.class))
+                .createdAt(row.get("createdAt", LocalDateTime.class))
                 .build();
     }
 
-    private AuditLogDto toDto(AuditLog log) {
+    /**
+     * 与导出视图的列别名一致。
+     */
+    private static Map<String, Object> toColumns(ColdAuditRow row) {
+        Map<String, Object> columns = new HashMap<>();
+        columns.put("id", row.id());
+        columns.put("userId", row.userId());
+        columns.put("action", row.action());
+        columns.put("entity", row.entity());
+        columns.put("entityId", row.entityId());
+        columns.put("detail", row.detail());
+        columns.put("createdAt", row.createdAt());
+        return columns;
+    }
+
+    /**
+     * 与热数据一致，只填充请求的字段，id 与排序字段总是返回。
+     */
+    private static AuditLogDto toDto(ColdAuditRow row, Set<String> fields, boolean byId) {
         return AuditLogDto.builder()
-                .id(log.getId())
-                .userId(log.getUser() != null ? log.getUser().getId() : null)
-                .action(log.getAction())
-                .entity(log.getEntity())
-                .entityId(log.getEntityId())
-                .detail(log.getDetail())
-                .createdAt(log.getCreatedAt())
+                .id(row.id())
+                .userId(View.includes(fields, "userId") ? row.userId() : null)
+                .action(View.includes(fields, "action") ? row.action() : null)
+                .entity(View.includes(fields, "entity") ? row.entity() : null)
+                .entityId(View.includes(fields, "entityId") ? row.entityId() : null)
+                .detail(View.includes(fields, "detail") ? row.detail() : null)
+                .createdAt(!byId || View.includes(fields, CREATED_AT) ? row.createdAt() : null)
                 .build();
     }
 }
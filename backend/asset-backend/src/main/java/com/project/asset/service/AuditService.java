@@ -1,11 +1,13 @@
 package com.project.asset.service;
 
-import com.project.asset.domain.entity.AuditLog;
-import com.project.asset.domain.entity.User;
-import com.project.asset.repository.AuditLogRepository;
-import jakarta.persistence.EntityManager;
+import com.project.asset.audit.AuditEntry;
+import com.project.asset.audit.AuditRecordedEvent;
+import com.project.asset.audit.AuditWriter;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -14,21 +16,39 @@ import org.springframework.transaction.annotation.Transactional;
 @Transactional
 public class AuditService {
 
-    private final AuditLogRepository auditLogRepository;
-    private final EntityManager entityManager;
+    private final AuditWriter auditWriter;
+    private final ApplicationEventPublisher eventPublisher;
 
     public void record(Long userId, String action, String entity, Long entityId, String detail) {
-        AuditLog log = new AuditLog();
-        if (userId != null) {
-            User reference = entityManager.getReference(User.class, userId);
-            log.setUser(reference);
+        submit(List.of(new AuditEntry(userId, action, entity, entityId, detail, LocalDateTime.now())));
+    }
+
+    /**
+     * 同一操作涉及多条记录时批量写入。
+     */
+    public void recordAll(String action, String entity, List<Entry> entries) {
+        if (entries.isEmpty()) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        List<AuditEntry> audits = new ArrayList<>(entries.size());
+        for (Entry entry : entries) {
+            audits.add(new AuditEntry(entry.userId(), action, entity, entry.entityId(), entry.detail(), now));
         }
-        log.setAction(action);
-        log.setEntity(entity);
-        log.setEntityId(entityId);
-        log.setDetail(detail);
-        log.setCreatedAt(LocalDateTime.now());
-        auditLogRepository.save(log);
+        submit(audits);
     }
-}
 
+    /**
+     * 异步模式下随业务事务提交进入写入队列，否则在当前事务中直接写入。
+     */
+    private void submit(List<AuditEntry> entries) {
+        if (auditWriter.isAsync()) {
+            eventPublisher.publishEvent(new AuditRecordedEvent(entries));
+        } else {
+            auditWriter.persist(entries);
+        }
+    }
+
+    public record Entry(Long userId, Long entityId, String detail) {
+    }
+}
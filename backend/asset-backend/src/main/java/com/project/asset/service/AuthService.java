@@ -7,14 +7,23 @@ import com.project.asset.exception.BusinessException;
 import com.project.asset.exception.ErrorCode;
 import com.project.asset.repository.UserRepository;
 import com.project.asset.security.JwtTokenProvider;
+import com.project.asset.security.LoginThrottle;
+import com.project.asset.security.PasswordVerificationExecutor;
+import com.project.asset.security.RefreshTokenRevocationStore;
 import com.project.asset.security.UserPrincipal;
+import com.project.asset.security.VerifiedToken;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+@Slf4j
 @Service
 @RequiredArgsConstructor
 @Transactional(readOnly = true)
@@ -23,25 +32,51 @@ public class AuthService {
     private final AuthenticationManager authenticationManager;
     private final JwtTokenProvider jwtTokenProvider;
     private final UserRepository userRepository;
+    private final LoginThrottle loginThrottle;
+    private final PasswordVerificationExecutor passwordVerificationExecutor;
+    private final RefreshTokenRevocationStore refreshTokenRevocationStore;
 
-    @Transactional
-    public TokenResponse login(LoginRequest request) {
-        Authentication authentication = authenticationManager.authenticate(
-                new UsernamePasswordAuthenticationToken(request.getUsername(), request.getPassword()));
-        UserPrincipal principal = (UserPrincipal) authentication.getPrincipal();
-        return jwtTokenProvider.createTokenResponse(principal.user());
+    /**
+     * 先限流再将密码校验提交到专用线程池，不占用请求线程；限流或排队已满时抛出 429。
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public CompletableFuture<TokenResponse> login(LoginRequest request, String clientIp) {
+        loginThrottle.check(request.getUsername(), clientIp);
+        return passwordVerificationExecutor.submit(() -> {
+            Authentication authentication = authenticationManager.authenticate(
+                    new UsernamePasswordAuthenticationToken(request.getUsername(), request.getPassword()));
+            UserPrincipal principal = (UserPrincipal) authentication.getPrincipal();
+            return jwtTokenProvider.createTokenResponse(principal);
+        });
     }
 
+    /**
+     * 刷新令牌一次性使用：先注销旧令牌再签发新的令牌对，已注销的令牌再次出现视为重放。
+     */
     public TokenResponse refresh(String refreshToken) {
-        if (!jwtTokenProvider.isTokenValid(refreshToken) || !jwtTokenProvider.isRefreshToken(refreshToken)) {
-            throw new BusinessException(ErrorCode.UNAUTHORIZED, "刷新令牌无效或已过期");
+        VerifiedToken token = verifyRefreshToken(refreshToken)
+                .orElseThrow(() -> new BusinessException(ErrorCode.UNAUTHORIZED, "刷新令牌无效或已过期"));
+        if (!refreshTokenRevocationStore.revoke(token)) {
+            log.warn("Rejected reused refresh token {} of user {}", token.tokenId(), token.userId());
+            throw new BusinessException(ErrorCode.UNAUTHORIZED, "刷新令牌已失效，请重新登录");
         }
-        Long userId = jwtTokenProvider.extractUserId(refreshToken);
+        Long userId = token.userId();
         User user = userRepository
                 .findById(userId)
                 .filter(u -> Boolean.TRUE.equals(u.getEnabled()))
                 .orElseThrow(() -> new BusinessException(ErrorCode.UNAUTHORIZED, "用户不存在或已禁用"));
         return jwtTokenProvider.createTokenResponse(user);
     }
-}
 
+    public void logout(String refreshToken) {
+        verifyRefreshToken(refreshToken).ifPresent(refreshTokenRevocationStore::revoke);
+    }
+
+    private Optional<VerifiedToken> verifyRefreshToken(String refreshToken) {
+        // 未携带 jti 的旧版刷新令牌无法注销，一律视为无效
+        return jwtTokenProvider
+                .verify(refreshToken)
+                .filter(VerifiedToken::isRefreshToken)
+                .filter(token -> token.tokenId() != null && token.expiresAt() != null);
+    }
+}
@@ -0,0 +1,99 @@
+package com.project.asset.service;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 按 RFC 4180 逐条读取 CSV 记录，引号内可包含分隔符、引号（双写）与换行，与导出格式对应。
+ */
+final class CsvReader {
+
+    private final Reader reader;
+    private int line = 1;
+    private int recordLine;
+    private int pending = -2;
+
+    CsvReader(Reader reader) {
+        this.reader = reader;
+    }
+
+    /**
+     * 读取下一条记录，文件结束时返回 null，空行跳过。
+     */
+    List<String> next() throws IOException {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        boolean started = false;
+        recordLine = line;
+        while (true) {
+            int c = read();
+            if (c == -1) {
+                if (!started && fields.isEmpty()) {
+                    return null;
+                }
+                fields.add(field.toString());
+                return fields;
+            }
+            if (quoted) {
+                if (c == '"') {
+                    int following = read();
+                    if (following == '"') {
+                        field.append('"');
+                    } else {
+                        quoted = false;
+                        pending = following;
+                    }
+                } else {
+                    if (c == '\n') {
+                        line++;
+                    }
+                    field.append((char) c);
+                }
+                continue;
+            }
+            if (c == '\r' || c == '\n') {
+                if (c == '\r') {
+                    int following = read();
+                    if (following != '\n') {
+                        pending = following;
+                    }
+                }
+                line++;
+                if (!started && fields.isEmpty()) {
+                    recordLine = line;
+                    continue;
+                }
+                fields.add(field.toString());
+                return fields;
+            }
+            started = true;
+            if (c == '"' && field.isEmpty()) {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append((char) c);
+            }
+        }
+    }
+
+    /**
+     * 最近一条记录起始的物理行号，从 1 开始。
+     */
+    int recordLine() {
+        return recordLine;
+    }
+
+    private int read() throws IOException {
+        if (pending != -2) {
+            int c = pending;
+            pending = -2;
+            return c;
+        }
+        return reader.read();
+    }
+}
@@ -0,0 +1,154 @@
+package com.project.asset.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.project.asset.config.ExportProperties;
+import com.project.asset.response.ExportFormat;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TupleElement;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
+import org.hibernate.query.Query;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * 流式导出：按 id 升序通过只进游标逐行读取扁平投影并写出，不加载实体，内存占用与数据量无关。
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class ExportService {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+    private final ExportProperties exportProperties;
+
+    /**
+     * 写出全部匹配行并返回行数，包含视图的全部列，列名取列别名。
+     */
+    public <E> long write(
+            Class<E> entityType,
+            Specification<E> specification,
+            View<E> view,
+            ExportFormat format,
+            OutputStream out)
+            throws IOException {
+        return write(entityType, specification, view, format, out, Stream.empty());
+    }
+
+    /**
+     * 先写出 {@code leading} 中的行（按列别名取值，如已归档的历史数据），再写出数据库中的匹配行。
+     */
+    @SuppressWarnings("unchecked")
+    public <E> long write(
+            Class<E> entityType,
+            Specification<E> specification,
+            View<E> view,
+            ExportFormat format,
+            OutputStream out,
+            Stream<Map<String, Object>> leading)
+            throws IOException {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> criteria = cb.createTupleQuery();
+        Root<E> root = criteria.from(entityType);
+        List<Selection<?>> columns = view.select(root, view.resolve(null));
+        criteria.multiselect(columns);
+        Predicate filter = specification.toPredicate(root, criteria, cb);
+        if (filter != null) {
+            criteria.where(filter);
+        }
+        criteria.orderBy(cb.asc(root.get("id")));
+        Query<Tuple> query = entityManager.createQuery(criteria)
+                .unwrap(Query.class)
+                .setFetchSize(exportProperties.getFetchSize())
+                .setReadOnly(true);
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), BUFFER_SIZE);
+        if (format == ExportFormat.CSV) {
+            // BOM 便于 Excel 识别 UTF-8 中文
+            writer.write('\uFEFF');
+            writeCsvRow(writer, columns.stream().map(Selection::getAlias).toList());
+        }
+        List<String> aliases = columns.stream().map(Selection::getAlias).toList();
+        long rows = 0;
+        Iterator<Map<String, Object>> leadingRows = leading.iterator();
+        while (leadingRows.hasNext()) {
+            Map<String, Object> row = leadingRows.next();
+            if (format == ExportFormat.CSV) {
+                writeCsvRow(writer, aliases.stream().map(row::get).toList());
+            } else {
+                Map<String, Object> values = new LinkedHashMap<>();
+                aliases.forEach(alias -> values.put(alias, row.get(alias)));
+                writer.write(objectMapper.writeValueAsString(values));
+                writer.write('\n');
+            }
+            rows++;
+        }
+        try (ScrollableResults<Tuple> results = query.scroll(ScrollMode.FORWARD_ONLY)) {
+            while (results.next()) {
+                Tuple row = results.get();
+                if (format == ExportFormat.CSV) {
+                    writeCsvRow(writer, Arrays.asList(row.toArray()));
+                } else {
+                    writeJsonRow(writer, row);
+                }
+                rows++;
+            }
+        }
+        writer.flush();
+        return rows;
+    }
+
+    private static void writeCsvRow(Writer writer, List<?> values) throws IOException {
+        for (int i = 0; i < values.size(); i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            Object value = values.get(i);
+            if (value != null) {
+                writer.write(csvField(value instanceof Enum<?> e ? e.name() : value.toString()));
+            }
+        }
+        writer.write("\r\n");
+    }
+
+    /**
+     * 按 RFC 4180 转义，含分隔符、引号或换行的字段加引号。
+     */
+    static String csvField(String value) {
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+
+    private void writeJsonRow(Writer writer, Tuple row) throws IOException {
+        Map<String, Object> values = new LinkedHashMap<>();
+        for (TupleElement<?> element : row.getElements()) {
+            values.put(element.getAlias(), row.get(element));
+        }
+        writer.write(objectMapper.writeValueAsString(values));
+        writer.write('\n');
+    }
+}
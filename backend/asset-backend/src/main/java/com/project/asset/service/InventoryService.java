@@ -1,5 +1,7 @@
 package com.project.asset.service;
 
+import com.project.asset.change.Aggregate;
+import com.project.asset.change.AggregateChangedEvent;
 import com.project.asset.config.LoanReminderProperties;
 import com.project.asset.domain.entity.Asset;
 import com.project.asset.domain.entity.CheckoutRecord;
@@ -8,23 +10,46 @@ import com.project.asset.domain.entity.User;
 import com.project.asset.domain.enums.AssetStatus;
 import com.project.asset.domain.enums.CheckoutType;
 import com.project.asset.domain.enums.InventoryStatus;
+import com.project.asset.dto.asset.BatchCheckoutRequestDto;
+import com.project.asset.dto.asset.BatchResultDto;
+import com.project.asset.dto.asset.BatchReturnRequestDto;
+import com.project.asset.dto.asset.BatchStockInRequestDto;
 import com.project.asset.dto.asset.CheckoutRequestDto;
 import com.project.asset.dto.asset.InventoryDto;
+import com.project.asset.dto.asset.InventoryFilter;
 import com.project.asset.dto.asset.ReturnRequestDto;
 import com.project.asset.dto.asset.StockInRequestDto;
 import com.project.asset.exception.BusinessException;
 import com.project.asset.exception.ErrorCode;
 import com.project.asset.repository.AssetRepository;
+import com.project.asset.repository.AssetSpecifications;
 import com.project.asset.repository.CheckoutRecordRepository;
 import com.project.asset.repository.InventoryRepository;
+import com.project.asset.repository.InventorySpecifications;
 import com.project.asset.repository.UserRepository;
+import com.project.asset.response.ExportFormat;
+import com.project.asset.response.PageQuery;
 import com.project.asset.response.PageResponse;
+import com.project.asset.search.SearchDocument;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Root;
+import java.io.IOException;
+import java.io.OutputStream;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Pageable;
-import org.springframework.data.domain.Sort;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.StringUtils;
@@ -34,23 +59,64 @@ import org.springframework.util.StringUtils;
 @Transactional(readOnly = true)
 public class InventoryService {
 
+    private static final Set<String> SORT_KEYS = Set.of("id", "createdAt", "updatedAt");
+    private static final int MAX_SERIAL_NO_LENGTH = 200;
+
+    /**
+     * 只选资产编号时不关联资产表，不选领用人姓名时不关联用户表。
+     */
+    private static final View<Inventory> VIEW = new View<Inventory>()
+            .field("id", root -> root.get("id"))
+            .field("assetId", root -> root.get("asset").get("id"))
+            .field("assetName", root -> asset(root).get("name"))
+            .field("assetNo", root -> asset(root).get("assetNo"))
+            .field("serialNo", root -> root.get("serialNo"))
+            .field("status", root -> root.get("status"))
+            .field("location", root -> root.get("location"))
+            .field("createdAt", root -> root.get("createdAt"))
+            .field("updatedAt", root -> root.get("updatedAt"))
+            .field("currentHolderId", root -> root.get("currentHolder").get("id"))
+            .field("currentHolderName", "holderFullName", root -> holder(root).get("fullName"))
+            .field("currentHolderName", "holderUsername", root -> holder(root).get("username"))
+            .field("checkedOutAt", root -> root.get("checkedOutAt"))
+            .field("expectedReturnAt", root -> root.get("expectedReturnAt"))
+            .field("lastReminderAt", root -> root.get("lastReminderAt"))
+            .field("reminderCount", root -> root.get("reminderCount"));
+
     private final InventoryRepository inventoryRepository;
     private final AssetRepository assetRepository;
     private final CheckoutRecordRepository checkoutRecordRepository;
     private final UserRepository userRepository;
     private final AuditService auditService;
     private final LoanReminderProperties loanReminderProperties;
+    private final EntityManager entityManager;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ExportService exportService;
 
-    public PageResponse<InventoryDto> list(int page, int size, String sort) {
-        Pageable pageable = PageRequest.of(page, size, Sort.by(sort).descending());
-        Page<InventoryDto> dtoPage = inventoryRepository.findAll(pageable).map(this::toDto);
-        return PageResponse.<InventoryDto>builder()
-                .content(dtoPage.getContent())
-                .totalElements(dtoPage.getTotalElements())
-                .totalPages(dtoPage.getTotalPages())
-                .page(dtoPage.getNumber())
-                .size(dtoPage.getSize())
-                .build();
+    public PageResponse<InventoryDto> list(PageQuery query, InventoryFilter filter) {
+        return Pages.listViews(
+                entityManager,
+                Inventory.class,
+                InventorySpecifications.matching(filter),
+                query,
+                SORT_KEYS,
+                VIEW,
+                this::toDto);
+    }
+
+    /**
+     * 导出列与列表投影一致。
+     */
+    public long export(InventoryFilter filter, ExportFormat format, OutputStream out) throws IOException {
+        return exportService.write(Inventory.class, InventorySpecifications.matching(filter), VIEW, format, out);
+    }
+
+    public List<InventoryDto> listOverdue() {
+        return inventoryRepository.findOverdueViews(LocalDateTime.now());
+    }
+
+    public List<InventoryDto> listByHolder(Long userId) {
+        return inventoryRepository.findViewsByHolderId(userId);
     }
 
     @Transactional
@@ -67,51 +133,232 @@ public class InventoryService {
         inventory.setCreatedAt(LocalDateTime.now());
         inventory.setUpdatedAt(LocalDateTime.now());
         Inventory saved = inventoryRepository.save(inventory);
+        eventPublisher.publishEvent(SearchDocument.of(saved));
+        eventPublisher.publishEvent(AggregateChangedEvent.of(Aggregate.INVENTORY));
+        eventPublisher.publishEvent(AggregateChangedEvent.of(Aggregate.ASSET));
         auditService.record(asset.getCreatedBy() != null ? asset.getCreatedBy().getId() : null, "STOCK_IN", "Inventory", saved.getId(), dto.getSerialNo());
         return saved;
     }
 
+    /**
+     * 批量入库：一次查询校验序列号是否已存在，库存与审计记录批量插入。
+     * 空白、批次内重复或已存在的序列号作为失败项返回，不影响其余序列号入库。
+     */
     @Transactional
-    public Inventory checkout(Long inventoryId, CheckoutRequestDto dto) {
-        Inventory inventory = inventoryRepository
-                .findById(inventoryId)
-                .orElseThrow(() -> new BusinessException(ErrorCode.NOT_FOUND, "库存不存在"));
-        if (inventory.getStatus() != InventoryStatus.IN_STOCK) {
+    public BatchResultDto stockInBatch(BatchStockInRequestDto dto) {
+        Asset asset = assetRepository
+                .findById(dto.getAssetId())
+                .orElseThrow(() -> new BusinessException(ErrorCode.NOT_FOUND, "资产不存在"));
+        List<String> serialNos = dto.getSerialNos();
+        List<BatchResultDto.Failure> failures = new ArrayList<>();
+        // 按小写归一比较，与 MySQL 默认不区分大小写的排序规则一致
+        Map<String, Integer> accepted = new LinkedHashMap<>();
+        for (int i = 0; i < serialNos.size(); i++) {
+            String serialNo = serialNos.get(i) != null ? serialNos.get(i).strip() : null;
+            if (!StringUtils.hasText(serialNo)) {
+                failures.add(new BatchResultDto.Failure(i, serialNo, "序列号不能为空"));
+            } else if (serialNo.length() > MAX_SERIAL_NO_LENGTH) {
+                failures.add(new BatchResultDto.Failure(
+                        i, serialNo, "序列号长度不能超过 " + MAX_SERIAL_NO_LENGTH + " 个字符"));
+            } else if (accepted.putIfAbsent(serialKey(serialNo), i) != null) {
+                failures.add(new BatchResultDto.Failure(i, serialNo, "序列号在本批次中重复"));
+            }
+        }
+        if (!accepted.isEmpty()) {
+            List<String> candidates = accepted.values().stream().map(i -> serialNos.get(i).strip()).toList();
+            for (String existing : inventoryRepository.findExistingSerialNos(candidates)) {
+                Integer index = accepted.remove(serialKey(existing));
+                if (index != null) {
+                    failures.add(new BatchResultDto.Failure(index, serialNos.get(index).strip(), "序列号已存在"));
+                }
+            }
+        }
+        failures.sort(Comparator.comparingInt(BatchResultDto.Failure::getIndex));
+
+        LocalDateTime now = LocalDateTime.now();
+        List<Inventory> units = new ArrayList<>(accepted.size());
+        for (int index : accepted.values()) {
+            Inventory inventory = new Inventory();
+            inventory.setAsset(asset);
+            inventory.setSerialNo(serialNos.get(index).strip());
+            inventory.setLocation(dto.getLocation());
+            inventory.setStatus(InventoryStatus.IN_STOCK);
+            inventory.setCreatedAt(now);
+            inventory.setUpdatedAt(now);
+            units.add(inventory);
+        }
+        if (!units.isEmpty()) {
+            asset.setStatus(AssetStatus.IN_STOCK);
+            try {
+                inventoryRepository.saveAllAndFlush(units);
+            } catch (DataIntegrityViolationException ex) {
+                throw new BusinessException(ErrorCode.CONFLICT, "部分序列号已被同时入库，请重试");
+            }
+            Long operatorId = asset.getCreatedBy() != null ? asset.getCreatedBy().getId() : null;
+            List<AuditService.Entry> audits = new ArrayList<>(units.size());
+            for (Inventory unit : units) {
+                audits.add(new AuditService.Entry(operatorId, unit.getId(), unit.getSerialNo()));
+                eventPublisher.publishEvent(SearchDocument.of(unit));
+            }
+            eventPublisher.publishEvent(AggregateChangedEvent.of(Aggregate.INVENTORY));
+            eventPublisher.publishEvent(AggregateChangedEvent.of(Aggregate.ASSET));
+            auditService.recordAll("STOCK_IN", "Inventory", audits);
+        }
+        return BatchResultDto.builder()
+                .total(serialNos.size())
+                .succeeded(units.size())
+                .ids(units.stream().map(Inventory::getId).toList())
+                .failures(failures)
+                .build();
+    }
+
+    /**
+     * 领用：一条条件 update 同时判断和修改库存状态，不先查询库存和用户，并发领用同一件库存时只有一个请求成功。
+     * 成功时按主键读取一次扁平投影作为响应，未命中时才查询库存和用户给出原因。
+     */
+    @Transactional
+    public InventoryDto checkout(Long inventoryId, CheckoutRequestDto dto) {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime expectedReturnAt = determineExpectedReturnAt(now, dto.getExpectedReturnAt());
+        User user = entityManager.getReference(User.class, dto.getUserId());
+        if (inventoryRepository.checkOutIfInStock(inventoryId, user, now, expectedReturnAt) == 0) {
+            Inventory inventory = requireInventory(inventoryId);
+            if (inventory.getStatus() == InventoryStatus.IN_STOCK && !userRepository.existsById(dto.getUserId())) {
+                throw new BusinessException(ErrorCode.NOT_FOUND, "用户不存在");
+            }
             throw new BusinessException(ErrorCode.CONFLICT, "资产当前不可领用");
         }
-        User user = userRepository
-                .findById(dto.getUserId())
-                .orElseThrow(() -> new BusinessException(ErrorCode.NOT_FOUND, "用户不存在"));
+        checkoutRecordRepository.save(newCheckoutRecord(
+                entityManager.getReference(Inventory.class, inventoryId), user, CheckoutType.CHECKOUT,
+                dto.getRemark(), now));
+        eventPublisher.publishEvent(AggregateChangedEvent.of(Aggregate.INVENTORY));
+        auditService.record(dto.getUserId(), "CHECKOUT", "Inventory", inventoryId, dto.getRemark());
+        return requireView(inventoryId);
+    }
+
+    /**
+     * 批量领用：一条 select ... for update 按 id 顺序锁定全部库存，用户一次查询加载，
+     * 库存更新、领用记录与审计记录批量写入。不满足条件的条目作为失败项返回，其余照常领用。
+     */
+    @Transactional
+    public BatchResultDto checkoutBatch(BatchCheckoutRequestDto dto) {
+        List<BatchCheckoutRequestDto.Item> items = dto.getItems();
+        LocalDateTime now = LocalDateTime.now();
+        Batch batch = lockBatch(items.stream().map(BatchCheckoutRequestDto.Item::getInventoryId).toList(),
+                items.stream().map(BatchCheckoutRequestDto.Item::getUserId).toList());
+        for (int i = 0; i < items.size(); i++) {
+            BatchCheckoutRequestDto.Item item = items.get(i);
+            Inventory inventory = batch.inventory(i, item.getInventoryId());
+            User user = inventory != null ? batch.user(i, item.getUserId()) : null;
+            if (user == null) {
+                continue;
+            }
+            if (inventory.getStatus() != InventoryStatus.IN_STOCK) {
+                batch.fail(i, item.getInventoryId(), "资产当前不可领用");
+            } else if (item.getExpectedReturnAt() != null && item.getExpectedReturnAt().isBefore(now)) {
+                batch.fail(i, item.getInventoryId(), "预计归还时间必须晚于当前时间");
+            } else {
+                markCheckedOut(inventory, user, now, determineExpectedReturnAt(now, item.getExpectedReturnAt()));
+                batch.succeed(newCheckoutRecord(inventory, user, CheckoutType.CHECKOUT, dto.getRemark(), now));
+            }
+        }
+        return batch.complete("CHECKOUT", dto.getRemark(), items.size());
+    }
+
+    /**
+     * 归还，方式同领用：状态、持有人和用户存在都放在 update 条件中，未命中时按原有顺序给出原因。
+     */
+    @Transactional
+    public InventoryDto returnAsset(Long inventoryId, ReturnRequestDto dto) {
+        LocalDateTime now = LocalDateTime.now();
+        if (inventoryRepository.returnIfHeldBy(inventoryId, dto.getUserId(), now) == 0) {
+            Inventory inventory = requireInventory(inventoryId);
+            if (inventory.getStatus() != InventoryStatus.CHECKED_OUT) {
+                throw new BusinessException(ErrorCode.CONFLICT, "资产不在领用状态");
+            }
+            if (!userRepository.existsById(dto.getUserId())) {
+                throw new BusinessException(ErrorCode.NOT_FOUND, "用户不存在");
+            }
+            throw new BusinessException(ErrorCode.CONFLICT, "归还人需与当前领用人一致");
+        }
+        checkoutRecordRepository.save(newCheckoutRecord(
+                entityManager.getReference(Inventory.class, inventoryId),
+                entityManager.getReference(User.class, dto.getUserId()),
+                CheckoutType.RETURN,
+                dto.getRemark(),
+                now));
+        eventPublisher.publishEvent(AggregateChangedEvent.of(Aggregate.INVENTORY));
+        auditService.record(dto.getUserId(), "RETURN", "Inventory", inventoryId, dto.getRemark());
+        return requireView(inventoryId);
+    }
+
+    /**
+     * 批量归还，锁定与写入方式同批量领用。
+     */
+    @Transactional
+    public BatchResultDto returnBatch(BatchReturnRequestDto dto) {
+        List<BatchReturnRequestDto.Item> items = dto.getItems();
         LocalDateTime now = LocalDateTime.now();
+        Batch batch = lockBatch(items.stream().map(BatchReturnRequestDto.Item::getInventoryId).toList(),
+                items.stream().map(BatchReturnRequestDto.Item::getUserId).toList());
+        for (int i = 0; i < items.size(); i++) {
+            BatchReturnRequestDto.Item item = items.get(i);
+            Inventory inventory = batch.inventory(i, item.getInventoryId());
+            User user = inventory != null ? batch.user(i, item.getUserId()) : null;
+            if (user == null) {
+                continue;
+            }
+            if (inventory.getStatus() != InventoryStatus.CHECKED_OUT) {
+                batch.fail(i, item.getInventoryId(), "资产不在领用状态");
+            } else if (!isHeldBy(inventory, user)) {
+                batch.fail(i, item.getInventoryId(), "归还人需与当前领用人一致");
+            } else {
+                markReturned(inventory, now);
+                batch.succeed(newCheckoutRecord(inventory, user, CheckoutType.RETURN, dto.getRemark(), now));
+            }
+        }
+        return batch.complete("RETURN", dto.getRemark(), items.size());
+    }
+
+    private Batch lockBatch(List<Long> inventoryIds, List<Long> userIds) {
+        Map<Long, Inventory> inventories = new HashMap<>();
+        for (Inventory inventory : inventoryRepository.findAllByIdForUpdate(new HashSet<>(inventoryIds))) {
+            inventories.put(inventory.getId(), inventory);
+        }
+        Map<Long, User> users = new HashMap<>();
+        for (User user : userRepository.findAllById(new HashSet<>(userIds))) {
+            users.put(user.getId(), user);
+        }
+        return new Batch(inventories, users);
+    }
+
+    /**
+     * 条件 update 不经过持久化上下文，响应从库中读取更新后的行。
+     */
+    private InventoryDto requireView(Long inventoryId) {
+        return inventoryRepository
+                .findViewById(inventoryId)
+                .orElseThrow(() -> new BusinessException(ErrorCode.NOT_FOUND, "库存不存在"));
+    }
+
+    private Inventory requireInventory(Long inventoryId) {
+        return inventoryRepository
+                .findById(inventoryId)
+                .orElseThrow(() -> new BusinessException(ErrorCode.NOT_FOUND, "库存不存在"));
+    }
+
+    private static void markCheckedOut(
+            Inventory inventory, User user, LocalDateTime now, LocalDateTime expectedReturnAt) {
         inventory.setStatus(InventoryStatus.CHECKED_OUT);
         inventory.setUpdatedAt(now);
         inventory.setCurrentHolder(user);
         inventory.setCheckedOutAt(now);
-        inventory.setExpectedReturnAt(determineExpectedReturnAt(now, dto.getExpectedReturnAt()));
+        inventory.setExpectedReturnAt(expectedReturnAt);
         inventory.setLastReminderAt(null);
         inventory.setReminderCount(0);
-        inventoryRepository.save(inventory);
-        writeCheckoutRecord(inventory, user, CheckoutType.CHECKOUT, dto.getRemark());
-        auditService.record(user.getId(), "CHECKOUT", "Inventory", inventoryId, dto.getRemark());
-        return inventory;
     }
 
-    @Transactional
-    public Inventory returnAsset(Long inventoryId, ReturnRequestDto dto) {
-        Inventory inventory = inventoryRepository
-                .findById(inventoryId)
-                .orElseThrow(() -> new BusinessException(ErrorCode.NOT_FOUND, "库存不存在"));
-        if (inventory.getStatus() != InventoryStatus.CHECKED_OUT) {
-            throw new BusinessException(ErrorCode.CONFLICT, "资产不在领用状态");
-        }
-        User user = userRepository
-                .findById(dto.getUserId())
-                .orElseThrow(() -> new BusinessException(ErrorCode.NOT_FOUND, "用户不存在"));
-        if (inventory.getCurrentHolder() != null
-                && !inventory.getCurrentHolder().getId().equals(user.getId())) {
-            throw new BusinessException(ErrorCode.CONFLICT, "归还人需与当前领用人一致");
-        }
-        LocalDateTime now = LocalDateTime.now();
+    private static void markReturned(Inventory inventory, LocalDateTime now) {
         inventory.setStatus(InventoryStatus.IN_STOCK);
         inventory.setUpdatedAt(now);
         inventory.setCurrentHolder(null);
@@ -119,42 +366,118 @@ public class InventoryService {
         inventory.setExpectedReturnAt(null);
         inventory.setLastReminderAt(null);
         inventory.setReminderCount(0);
-        inventoryRepository.save(inventory);
-        writeCheckoutRecord(inventory, user, CheckoutType.RETURN, dto.getRemark());
-        auditService.record(user.getId(), "RETURN", "Inventory", inventoryId, dto.getRemark());
-        return inventory;
     }
 
-    private void writeCheckoutRecord(Inventory inventory, User user, CheckoutType type, String remark) {
+    private static boolean isHeldBy(Inventory inventory, User user) {
+        return inventory.getCurrentHolder() == null || inventory.getCurrentHolder().getId().equals(user.getId());
+    }
+
+    private static CheckoutRecord newCheckoutRecord(
+            Inventory inventory, User user, CheckoutType type, String remark, LocalDateTime createdAt) {
         CheckoutRecord record = new CheckoutRecord();
         record.setInventory(inventory);
         record.setUser(user);
         record.setType(type);
         record.setRemark(remark);
-        record.setCreatedAt(LocalDateTime.now());
-        checkoutRecordRepository.save(record);
+        record.setCreatedAt(createdAt);
+        return record;
+    }
+
+    private static String serialKey(String serialNo) {
+        return serialNo.toLowerCase(Locale.ROOT);
+    }
+
+    private static Join<Inventory, Asset> asset(Root<Inventory> root) {
+        return AssetSpecifications.join(root, "asset", JoinType.INNER);
     }
 
-    private InventoryDto toDto(Inventory inventory) {
+    private static Join<Inventory, User> holder(Root<Inventory> root) {
+        return AssetSpecifications.join(root, "currentHolder", JoinType.LEFT);
+    }
+
+    private InventoryDto toDto(View.Row row) {
         return InventoryDto.builder()
-                .id(inventory.getId())
-                .assetId(inventory.getAsset().getId())
-                .assetName(inventory.getAsset().getName())
-                .assetNo(inventory.getAsset().getAssetNo())
-                .serialNo(inventory.getSerialNo())
-                .status(inventory.getStatus())
-                .location(inventory.getLocation())
-                .updatedAt(inventory.getUpdatedAt())
-                .currentHolderId(
-                        inventory.getCurrentHolder() != null ? inventory.getCurrentHolder().getId() : null)
-                .currentHolderName(resolveHolderName(inventory.getCurrentHolder()))
-                .checkedOutAt(inventory.getCheckedOutAt())
-                .expectedReturnAt(inventory.getExpectedReturnAt())
-                .lastReminderAt(inventory.getLastReminderAt())
-                .reminderCount(inventory.getReminderCount())
+                .id(row.get("id", Long.class))
+                .assetId(row.get("assetId", Long.class))
+                .assetName(row.get("assetName", String.class))
+                .assetNo(row.get("assetNo", String.class))
+                .serialNo(row.get("serialNo", String.class))
+                .status(row.get("status", InventoryStatus.class))
+                .location(row.get("location", String.class))
+                .createdAt(row.get("createdAt", LocalDateTime.class))
+                .updatedAt(row.get("updatedAt", LocalDateTime.class))
+                .currentHolderId(row.get("currentHolderId", Long.class))
+                .currentHolderName(resolveHolderName(
+                        row.get("holderFullName", String.class), row.get("holderUsername", String.class)))
+                .checkedOutAt(row.get("checkedOutAt", LocalDateTime.class))
+                .expectedReturnAt(row.get("expectedReturnAt", LocalDateTime.class))
+                .lastReminderAt(row.get("lastReminderAt", LocalDateTime.class))
+                .reminderCount(row.get("reminderCount", Integer.class))
                 .build();
     }
 
+    /**
+     * 一次批量领用或归还的状态：已锁定的库存与用户、成功条目的记录以及失败项。
+     */
+    private final class Batch {
+
+        private final Map<Long, Inventory> inventories;
+        private final Map<Long, User> users;
+        private final Set<Long> seen = new HashSet<>();
+        private final List<CheckoutRecord> records = new ArrayList<>();
+        private final List<BatchResultDto.Failure> failures = new ArrayList<>();
+
+        private Batch(Map<Long, Inventory> inventories, Map<Long, User> users) {
+            this.inventories = inventories;
+            this.users = users;
+        }
+
+        Inventory inventory(int index, Long inventoryId) {
+            Inventory inventory = inventories.get(inventoryId);
+            if (inventory == null) {
+                fail(index, inventoryId, "库存不存在");
+            } else if (!seen.add(inventoryId)) {
+                fail(index, inventoryId, "库存在本批次中重复");
+                return null;
+            }
+            return inventory;
+        }
+
+        User user(int index, Long userId) {
+            User user = users.get(userId);
+            if (user == null) {
+                fail(index, userId, "用户不存在");
+            }
+            return user;
+        }
+
+        void fail(int index, Long key, String message) {
+            failures.add(new BatchResultDto.Failure(index, String.valueOf(key), message));
+        }
+
+        void succeed(CheckoutRecord record) {
+            records.add(record);
+        }
+
+        BatchResultDto complete(String action, String remark, int total) {
+            if (!records.isEmpty()) {
+                checkoutRecordRepository.saveAll(records);
+                List<AuditService.Entry> audits = records.stream()
+                        .map(record -> new AuditService.Entry(
+                                record.getUser().getId(), record.getInventory().getId(), remark))
+                        .toList();
+                eventPublisher.publishEvent(AggregateChangedEvent.of(Aggregate.INVENTORY));
+                auditService.recordAll(action, "Inventory", audits);
+            }
+            return BatchResultDto.builder()
+                    .total(total)
+                    .succeeded(records.size())
+                    .ids(records.stream().map(record -> record.getInventory().getId()).toList())
+                    .failures(failures)
+                    .build();
+        }
+    }
+
     private LocalDateTime determineExpectedReturnAt(LocalDateTime now, LocalDateTime expectedReturnAt) {
         if (expectedReturnAt != null) {
             if (expectedReturnAt.isBefore(now)) {
@@ -165,14 +488,11 @@ public class InventoryService {
         return now.plusDays(loanReminderProperties.getDefaultDurationDays());
     }
 
-    private String resolveHolderName(User user) {
-        if (user == null) {
-            return null;
-        }
-        if (StringUtils.hasText(user.getFullName())) {
-            return user.getFullName();
+    private String resolveHolderName(String fullName, String username) {
+        if (StringUtils.hasText(fullName)) {
+            return fullName;
         }
-        return user.getUsername();
+        return username;
     }
 }
 
@@ -1,5 +1,7 @@
 package com.project.asset.service;
 
+import com.project.asset.change.Aggregate;
+import com.project.asset.change.AggregateChangedEvent;
 import com.project.asset.config.LoanReminderProperties;
 import com.project.asset.domain.entity.Inventory;
 import com.project.asset.domain.entity.LoanReminderSetting;
@@ -15,6 +17,7 @@ import java.util.concurrent.ScheduledFuture;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.mail.MailException;
 import org.springframework.mail.SimpleMailMessage;
 import org.springframework.mail.javamail.JavaMailSender;
@@ -34,6 +37,7 @@ public class LoanReminderService {
     private final LoanReminderProperties loanReminderProperties;
     private final LoanReminderSettingService loanReminderSettingService;
     private final TaskScheduler taskScheduler;
+    private final ApplicationEventPublisher eventPublisher;
 
     private static final DateTimeFormatter FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
 
@@ -104,6 +108,7 @@ public class LoanReminderService {
         }
         if (!notified.isEmpty()) {
             inventoryRepository.saveAll(notified);
+            eventPublisher.publishEvent(AggregateChangedEvent.of(Aggregate.INVENTORY));
             log.info("Loan reminder sent for {} records", notified.size());
         }
     }
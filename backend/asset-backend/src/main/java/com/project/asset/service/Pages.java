@@ -0,0 +1,150 @@
+package com.project.asset.service;
+
+import com.project.asset.exception.BusinessException;
+import com.project.asset.exception.ErrorCode;
+import com.project.asset.response.KeysetCursor;
+import com.project.asset.response.PageQuery;
+import com.project.asset.response.PageResponse;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import org.hibernate.query.NullPrecedence;
+import org.hibernate.query.criteria.JpaOrder;
+import org.springframework.data.jpa.domain.Specification;
+
+/**
+ * 列表分页：页码分页沿用 LIMIT/OFFSET + COUNT，游标分页按（排序字段, id）定位下一页。
+ * 排序字段限定在有索引的白名单内；排序字段可为空，空值行按倒序排在最后。
+ */
+final class Pages {
+
+    private static final String ID = "id";
+
+    private Pages() {}
+
+    /**
+     * 扁平投影分页：只查询 {@code fields} 所需的列并直接映射为 DTO，不加载实体。
+     * id 与排序字段总是查询，其列别名须与实体属性名一致。
+     */
+    static <E, T> PageResponse<T> listViews(
+            EntityManager entityManager,
+            Class<E> entityType,
+            Specification<E> specification,
+            PageQuery query,
+            Set<String> sortKeys,
+            View<E> view,
+            Function<View.Row, T> mapper) {
+        requireSortKey(query, sortKeys);
+        String key = query.sort();
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> criteria = cb.createTupleQuery();
+        Root<E> root = criteria.from(entityType);
+        List<Selection<?>> selections = view.select(root, view.resolve(query.fields(), ID, key));
+        criteria.multiselect(selections);
+        Set<String> aliases = selections.stream().map(Selection::getAlias).collect(Collectors.toSet());
+        Predicate filter = specification.toPredicate(root, criteria, cb);
+        if (filter != null) {
+            criteria.where(filter);
+        }
+        // MySQL 与 H2 倒序时空值本就在最后，NULLS LAST 不会改写成表达式排序，索引仍可用
+        criteria.orderBy(ID.equals(key)
+                ? List.of(cb.desc(root.get(ID)))
+                : List.of(((JpaOrder) cb.desc(root.get(key))).nullPrecedence(NullPrecedence.LAST),
+                        cb.desc(root.get(ID))));
+        if (!query.isSeek()) {
+            List<T> content = entityManager.createQuery(criteria)
+                    .setFirstResult(query.page() * query.size())
+                    .setMaxResults(query.size())
+                    .getResultStream()
+                    .map(row -> mapper.apply(new View.Row(row, aliases)))
+                    .toList();
+            return build(
+                    content, query, query.count() ? count(entityManager, entityType, specification) : null, null);
+        }
+        if (query.after() != null) {
+            Set<String> expected = ID.equals(key) ? Set.of(ID) : Set.of(key, ID);
+            Predicate after = after(cb, root, key, KeysetCursor.decode(query.after(), expected));
+            criteria.where(filter != null ? cb.and(filter, after) : after);
+        }
+        // 多取一行判断是否还有下一页
+        List<Tuple> rows = entityManager.createQuery(criteria).setMaxResults(query.size() + 1).getResultList();
+        boolean hasNext = rows.size() > query.size();
+        if (hasNext) {
+            rows = rows.subList(0, query.size());
+        }
+        String nextCursor = null;
+        if (hasNext) {
+            Tuple last = rows.get(rows.size() - 1);
+            Map<String, Object> keys = new LinkedHashMap<>();
+            keys.put(key, last.get(key));
+            keys.put(ID, last.get(ID));
+            nextCursor = KeysetCursor.encode(keys);
+        }
+        List<T> content = rows.stream().map(row -> mapper.apply(new View.Row(row, aliases))).toList();
+        return build(
+                content, query, query.count() ? count(entityManager, entityType, specification) : null, nextCursor);
+    }
+
+    /**
+     * 排在游标之后的行：键值更小、键值相同而 id 更小，或键值为空（空值排在最后）。
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static <E> Predicate after(CriteriaBuilder cb, Root<E> root, String key, Map<String, Object> keys) {
+        Long lastId = (Long) keys.get(ID);
+        if (lastId == null) {
+            throw new BusinessException(ErrorCode.BAD_REQUEST, "分页游标无效");
+        }
+        Path<Long> id = root.get(ID);
+        Predicate idBefore = cb.lessThan(id, lastId);
+        if (ID.equals(key)) {
+            return idBefore;
+        }
+        Path<Comparable> sortKey = root.get(key);
+        Comparable value = (Comparable) keys.get(key);
+        if (value == null) {
+            return cb.and(cb.isNull(sortKey), idBefore);
+        }
+        return cb.or(
+                cb.lessThan(sortKey, value), cb.and(cb.equal(sortKey, value), idBefore), cb.isNull(sortKey));
+    }
+
+    private static void requireSortKey(PageQuery query, Set<String> sortKeys) {
+        if (!sortKeys.contains(query.sort())) {
+            throw new BusinessException(ErrorCode.BAD_REQUEST, "不支持的排序字段：" + query.sort());
+        }
+    }
+
+    static <E> long count(EntityManager entityManager, Class<E> entityType, Specification<E> specification) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> criteria = cb.createQuery(Long.class);
+        Root<E> root = criteria.from(entityType);
+        criteria.select(cb.count(root));
+        Predicate filter = specification.toPredicate(root, criteria, cb);
+        if (filter != null) {
+            criteria.where(filter);
+        }
+        return entityManager.createQuery(criteria).getSingleResult();
+    }
+
+    static <T> PageResponse<T> build(List<T> content, PageQuery query, Long total, String nextCursor) {
+        return PageResponse.<T>builder()
+                .content(content)
+                .totalElements(total)
+                .totalPages(total != null ? (int) ((total + query.size() - 1) / query.size()) : null)
+                .page(query.page())
+                .size(query.size())
+                .nextCursor(nextCursor)
+                .build();
+    }
+}
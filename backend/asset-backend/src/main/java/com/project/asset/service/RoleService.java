@@ -7,12 +7,15 @@ import com.project.asset.exception.BusinessException;
 import com.project.asset.exception.ErrorCode;
 import com.project.asset.repository.PermissionRepository;
 import com.project.asset.repository.RoleRepository;
+import com.project.asset.repository.UserRepository;
 import com.project.asset.response.PageResponse;
+import com.project.asset.security.AccessChangedEvent;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
@@ -27,6 +30,8 @@ public class RoleService {
 
     private final RoleRepository roleRepository;
     private final PermissionRepository permissionRepository;
+    private final UserRepository userRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     public PageResponse<RoleDto> list(int page, int size, String sort) {
         Pageable pageable = PageRequest.of(page, size, Sort.by(sort).ascending());
@@ -52,8 +57,19 @@ public class RoleService {
         Role role = roleRepository
                 .findById(id)
                 .orElseThrow(() -> new BusinessException(ErrorCode.NOT_FOUND, "角色不存在"));
+        String previousCode = role.getCode();
+        Set<String> previousPermissions = permissionCodes(role);
         apply(dto, role);
-        return toDto(roleRepository.save(role));
+        Role saved = roleRepository.save(role);
+        if (!previousCode.equals(saved.getCode()) || !previousPermissions.equals(permissionCodes(saved))) {
+            eventPublisher.publishEvent(
+                    AccessChangedEvent.ofRole(saved.getId(), userRepository.findIdsByRoleId(saved.getId())));
+        }
+        return toDto(saved);
+    }
+
+    private Set<String> permissionCodes(Role role) {
+        return role.getPermissions().stream().map(Permission::getCode).collect(Collectors.toSet());
     }
 
     private void apply(RoleDto dto, Role role) {
@@ -77,9 +93,7 @@ public class RoleService {
                 .code(role.getCode())
                 .name(role.getName())
                 .remark(role.getRemark())
-                .permissions(role.getPermissions().stream()
-                        .map(Permission::getCode)
-                        .collect(Collectors.toSet()))
+                .permissions(permissionCodes(role))
                 .build();
     }
 }
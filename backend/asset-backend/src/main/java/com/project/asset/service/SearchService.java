@@ -0,0 +1,101 @@
+package com.project.asset.service;
+
+import com.project.asset.dto.search.SearchHitDto;
+import com.project.asset.exception.BusinessException;
+import com.project.asset.exception.ErrorCode;
+import com.project.asset.repository.AssetRepository;
+import com.project.asset.repository.InventoryRepository;
+import com.project.asset.response.PageResponse;
+import com.project.asset.search.SearchDocument;
+import com.project.asset.search.SearchDocumentType;
+import com.project.asset.search.SearchIndex;
+import java.util.List;
+import java.util.function.BiFunction;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * 资产与库存的全文检索，索引在启动时按 id 分批构建，之后随新增资产、入库事务提交增量更新。
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class SearchService {
+
+    private static final int BATCH_SIZE = 5000;
+
+    private final AssetRepository assetRepository;
+    private final InventoryRepository inventoryRepository;
+    private final SearchIndex index = new SearchIndex();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        long start = System.nanoTime();
+        int assets = load(assetRepository::findSearchDocuments);
+        int units = load(inventoryRepository::findSearchDocuments);
+        log.info("Search index built with {} assets and {} inventory units in {} ms",
+                assets, units, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onDocumentChanged(SearchDocument document) {
+        index.add(document);
+    }
+
+    public PageResponse<SearchHitDto> search(String query, SearchDocumentType type, int page, int size) {
+        if (query == null || query.strip().length() < SearchIndex.MIN_QUERY_LENGTH) {
+            throw new BusinessException(
+                    ErrorCode.BAD_REQUEST, "搜索关键字至少 " + SearchIndex.MIN_QUERY_LENGTH + " 个字符");
+        }
+        if (page < 0 || size < 1) {
+            throw new BusinessException(ErrorCode.BAD_REQUEST, "分页参数无效");
+        }
+        if (size > SearchIndex.MAX_PAGE_SIZE) {
+            throw new BusinessException(ErrorCode.BAD_REQUEST, "每页最多 " + SearchIndex.MAX_PAGE_SIZE + " 条");
+        }
+        if ((long) page * size > SearchIndex.MAX_RESULT_WINDOW - size) {
+            throw new BusinessException(
+                    ErrorCode.BAD_REQUEST, "最多查看前 " + SearchIndex.MAX_RESULT_WINDOW + " 条结果，请细化搜索关键字");
+        }
+        SearchIndex.Result result = index.search(query, type, page * size, size);
+        List<SearchHitDto> content = result.hits().stream()
+                .map(hit -> SearchHitDto.builder()
+                        .type(hit.document().type())
+                        .id(hit.document().id())
+                        .code(hit.document().code())
+                        .title(hit.document().title())
+                        .detail(hit.document().detail())
+                        .score(hit.score())
+                        .build())
+                .toList();
+        return PageResponse.<SearchHitDto>builder()
+                .content(content)
+                .totalElements((long) result.total())
+                .totalPages((result.total() + size - 1) / size)
+                .page(page)
+                .size(size)
+                .build();
+    }
+
+    private int load(BiFunction<Long, Pageable, List<SearchDocument>> batchLoader) {
+        int loaded = 0;
+        long afterId = 0L;
+        Pageable batch = PageRequest.ofSize(BATCH_SIZE);
+        while (true) {
+            List<SearchDocument> documents = batchLoader.apply(afterId, batch);
+            documents.forEach(index::add);
+            loaded += documents.size();
+            if (documents.size() < BATCH_SIZE) {
+                return loaded;
+            }
+            afterId = documents.get(documents.size() - 1).id();
+        }
+    }
+}
@@ -1,5 +1,7 @@
 package com.project.asset.service;
 
+import com.project.asset.change.Aggregate;
+import com.project.asset.change.AggregateChangedEvent;
 import com.project.asset.domain.entity.Department;
 import com.project.asset.domain.entity.Role;
 import com.project.asset.domain.entity.User;
@@ -12,10 +14,12 @@ import com.project.asset.repository.DepartmentRepository;
 import com.project.asset.repository.RoleRepository;
 import com.project.asset.repository.UserRepository;
 import com.project.asset.response.PageResponse;
+import com.project.asset.security.AccessChangedEvent;
 import java.util.HashSet;
 import java.util.Set;
 import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
@@ -33,6 +37,7 @@ public class UserService {
     private final RoleRepository roleRepository;
     private final DepartmentRepository departmentRepository;
     private final PasswordEncoder passwordEncoder;
+    private final ApplicationEventPublisher eventPublisher;
 
     public PageResponse<UserDto> list(int page, int size, String sort) {
         Pageable pageable = PageRequest.of(page, size, Sort.by(sort).ascending());
@@ -54,7 +59,9 @@ public class UserService {
         User user = new User();
         apply(dto, user);
         user.setPassword(passwordEncoder.encode(dto.getPassword()));
-        return toDto(userRepository.save(user));
+        User saved = userRepository.save(user);
+        eventPublisher.publishEvent(AccessChangedEvent.ofUser(saved.getId()));
+        return toDto(saved);
     }
 
     @Transactional
@@ -66,11 +73,28 @@ public class UserService {
                 && userRepository.existsByUsernameAndIdNot(dto.getUsername(), id)) {
             throw new BusinessException(ErrorCode.CONFLICT, "用户名已存在");
         }
+        AccessSnapshot previousAccess = AccessSnapshot.of(user);
         apply(dto, user);
-        if (dto.getPassword() != null && !dto.getPassword().isBlank()) {
+        boolean passwordChanged = dto.getPassword() != null && !dto.getPassword().isBlank();
+        if (passwordChanged) {
             user.setPassword(passwordEncoder.encode(dto.getPassword()));
         }
-        return toDto(userRepository.save(user));
+        User saved = userRepository.save(user);
+        eventPublisher.publishEvent(AggregateChangedEvent.of(Aggregate.USER));
+        if (passwordChanged || !previousAccess.equals(AccessSnapshot.of(saved))) {
+            eventPublisher.publishEvent(AccessChangedEvent.ofUser(saved.getId()));
+        }
+        return toDto(saved);
+    }
+
+    private record AccessSnapshot(String username, Boolean enabled, Set<Long> roleIds) {
+
+        static AccessSnapshot of(User user) {
+            return new AccessSnapshot(
+                    user.getUsername(),
+                    user.getEnabled(),
+                    user.getRoles().stream().map(Role::getId).collect(Collectors.toSet()));
+        }
     }
 
     private void apply(UserDto dto, User user) {
@@ -127,10 +151,15 @@ public class UserService {
                 && userRepository.existsByUsernameAndIdNot(request.getUsername(), userId)) {
             throw new BusinessException(ErrorCode.CONFLICT, "用户名已存在");
         }
+        boolean usernameChanged = !user.getUsername().equals(request.getUsername());
         user.setUsername(request.getUsername());
         user.setFullName(request.getFullName());
         user.setEmail(request.getEmail());
         userRepository.save(user);
+        eventPublisher.publishEvent(AggregateChangedEvent.of(Aggregate.USER));
+        if (usernameChanged) {
+            eventPublisher.publishEvent(AccessChangedEvent.ofUser(userId));
+        }
         return getProfile(userId);
     }
 }
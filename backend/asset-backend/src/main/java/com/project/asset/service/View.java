@@ -0,0 +1,97 @@
+package com.project.asset.service;
+
+import com.project.asset.exception.BusinessException;
+import com.project.asset.exception.ErrorCode;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * 扁平投影的列定义：DTO 字段到查询列的映射。按 {@code fields} 只查询所需的列，
+ * 列表达式在选中时才构建，未用到的关联不会加入查询。
+ */
+final class View<E> {
+
+    private final Map<String, Map<String, Function<Root<E>, Expression<?>>>> fields = new LinkedHashMap<>();
+
+    /**
+     * 字段对应同名的单列。
+     */
+    View<E> field(String name, Function<Root<E>, Expression<?>> column) {
+        return field(name, name, column);
+    }
+
+    /**
+     * 字段由多列计算时，同一字段可声明多个列别名。
+     */
+    View<E> field(String name, String alias, Function<Root<E>, Expression<?>> column) {
+        fields.computeIfAbsent(name, ignored -> new LinkedHashMap<>()).put(alias, column);
+        return this;
+    }
+
+    /**
+     * 不对应查询列的字段，例如单独加载的明细集合。
+     */
+    View<E> derived(String name) {
+        fields.computeIfAbsent(name, ignored -> new LinkedHashMap<>());
+        return this;
+    }
+
+    /**
+     * 校验并补全请求的字段，为空表示全部字段；required 中的列（id、排序字段）总是查询。
+     */
+    Set<String> resolve(Set<String> requested, String... required) {
+        if (requested == null || requested.isEmpty()) {
+            return fields.keySet();
+        }
+        Set<String> resolved = new LinkedHashSet<>();
+        for (String name : requested) {
+            if (!fields.containsKey(name)) {
+                throw new BusinessException(ErrorCode.BAD_REQUEST, "不支持的字段：" + name);
+            }
+            resolved.add(name);
+        }
+        resolved.addAll(List.of(required));
+        return resolved;
+    }
+
+    List<Selection<?>> select(Root<E> root, Set<String> selected) {
+        List<Selection<?>> selections = new ArrayList<>();
+        fields.forEach((name, columns) -> {
+            if (selected.contains(name)) {
+                columns.forEach((alias, column) -> selections.add(column.apply(root).alias(alias)));
+            }
+        });
+        return selections;
+    }
+
+    static boolean includes(Set<String> requested, String name) {
+        return requested == null || requested.isEmpty() || requested.contains(name);
+    }
+
+    /**
+     * 查询结果行，未选中的列读取为 null，由全局 non_null 序列化配置从响应中省略。
+     */
+    static final class Row {
+
+        private final Tuple tuple;
+        private final Set<String> aliases;
+
+        Row(Tuple tuple, Set<String> aliases) {
+            this.tuple = tuple;
+            this.aliases = aliases;
+        }
+
+        <T> T get(String alias, Class<T> type) {
+            return aliases.contains(alias) ? tuple.get(alias, type) : null;
+        }
+    }
+}
@@ -0,0 +1,30 @@
+-- 审计日志按月分区（RANGE COLUMNS），created_at 上的区间查询只扫描命中的分区，过期月份整体归档后删除分区。
+-- 分区表不支持外键，且主键必须包含分区列；id 由 id_generators 分配，单独仍然唯一。
+ALTER TABLE audit_logs DROP FOREIGN KEY fk_audit_logs_user;
+ALTER TABLE audit_logs DROP INDEX fk_audit_logs_user;
+
+UPDATE audit_logs SET created_at = CURRENT_TIMESTAMP WHERE created_at IS NULL;
+
+-- id 已由 id_generators 分配（V8），不再需要自增
+ALTER TABLE audit_logs
+    MODIFY id BIGINT NOT NULL,
+    MODIFY created_at DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    DROP PRIMARY KEY,
+    ADD PRIMARY KEY (id, created_at);
+
+CREATE INDEX idx_audit_logs_created_at_id ON audit_logs (created_at, id);
+CREATE INDEX idx_audit_logs_entity_created_at ON audit_logs (entity, entity_id, created_at);
+CREATE INDEX idx_audit_logs_user_created_at ON audit_logs (user_id, created_at);
+
+-- 分区边界按迁移执行时的当月计算：当月之前的数据进入 p_history，当月一个分区，p_future 此时为空。
+-- 之后的月份由 AuditPartitionMaintainer 在应用启动时（接收请求之前）及定期从 p_future 中拆出，拆分空分区只改元数据。
+SET @month_start = DATE_FORMAT(CURRENT_DATE, '%Y-%m-01');
+SET @partition_sql = CONCAT(
+    'ALTER TABLE audit_logs PARTITION BY RANGE COLUMNS (created_at) (',
+    'PARTITION p_history VALUES LESS THAN (''', @month_start, '''), ',
+    'PARTITION p', DATE_FORMAT(@month_start, '%Y%m'),
+    ' VALUES LESS THAN (''', DATE_FORMAT(@month_start + INTERVAL 1 MONTH, '%Y-%m-%d'), '''), ',
+    'PARTITION p_future VALUES LESS THAN (MAXVALUE))');
+PREPARE partition_statement FROM @partition_sql;
+EXECUTE partition_statement;
+DEALLOCATE PREPARE partition_statement;
@@ -0,0 +1,3 @@
+-- 按操作类型筛选并按时间倒序游标分页；用户、实体维度的索引见 V10。
+-- InnoDB 二级索引隐含主键 (id, created_at)，(created_at, id) 游标条件可直接在索引内定位。
+CREATE INDEX idx_audit_logs_action_created_at ON audit_logs (action, created_at);
@@ -0,0 +1,5 @@
+-- 申请单号、资产编号、采购单号的序号同样由 id_generators 分段分配（见 SequenceBlockAllocator），next_val 为下一段的起点。
+-- 新编号带日期段（如 REQ-20261018-000001），与历史编号格式不同，序号从 1 开始即可。
+INSERT INTO id_generators (sequence_name, next_val) VALUES ('request_no', 1);
+INSERT INTO id_generators (sequence_name, next_val) VALUES ('asset_no', 1);
+INSERT INTO id_generators (sequence_name, next_val) VALUES ('purchase_no', 1);
@@ -0,0 +1,5 @@
+-- 审计日志导出接口要求 audit:export 权限，默认授予系统管理员。
+INSERT INTO permissions (id, code, name) VALUES (13, 'audit:export', '审计日志导出');
+
+INSERT INTO role_permissions (role_id, permission_id)
+SELECT id, 13 FROM roles WHERE code = 'ROLE_ADMIN';
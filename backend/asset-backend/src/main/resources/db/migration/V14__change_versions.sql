@@ -0,0 +1,13 @@
+-- 条件 GET 的 ETag 由各数据集合的变更版本号计算，版本号存放在库中由所有实例共享（见 ChangeVersions）。
+CREATE TABLE change_versions (
+    aggregate_name VARCHAR(32) PRIMARY KEY,
+    version BIGINT NOT NULL
+);
+
+INSERT INTO change_versions (aggregate_name, version) VALUES
+    ('ASSET', 0),
+    ('ASSET_TYPE', 0),
+    ('INVENTORY', 0),
+    ('ASSET_REQUEST', 0),
+    ('AUDIT_LOG', 0),
+    ('USER', 0);
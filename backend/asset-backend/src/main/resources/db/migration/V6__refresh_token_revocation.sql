@@ -0,0 +1,7 @@
+CREATE TABLE revoked_refresh_tokens (
+    jti VARCHAR(64) PRIMARY KEY,
+    user_id BIGINT NOT NULL,
+    expires_at TIMESTAMP NOT NULL,
+    revoked_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    INDEX idx_revoked_refresh_tokens_expires_at (expires_at)
+);
@@ -0,0 +1,12 @@
+-- 列表筛选与排序的访问路径：等值条件在前，排序字段在后，id 作为游标分页的次级排序
+CREATE INDEX idx_assets_status_id ON assets (status, id);
+CREATE INDEX idx_assets_location_id ON assets (location, id);
+CREATE INDEX idx_assets_purchase_date_id ON assets (purchase_date, id);
+CREATE INDEX idx_assets_created_at_id ON assets (created_at, id);
+
+CREATE INDEX idx_inventory_updated_at_id ON inventory (updated_at, id);
+CREATE INDEX idx_inventory_created_at_id ON inventory (created_at, id);
+CREATE INDEX idx_inventory_status_updated_at_id ON inventory (status, updated_at, id);
+CREATE INDEX idx_inventory_location_updated_at_id ON inventory (location, updated_at, id);
+CREATE INDEX idx_inventory_holder_updated_at_id ON inventory (current_holder_id, updated_at, id);
+CREATE INDEX idx_inventory_status_expected_return ON inventory (status, expected_return_at);
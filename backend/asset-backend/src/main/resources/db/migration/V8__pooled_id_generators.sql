@@ -0,0 +1,15 @@
+-- 库存、领用记录与审计日志改由 id_generators 分段分配主键（每段 100 个），以便批量插入合并为 JDBC 批处理。
+-- Hibernate 取到 next_val 后使用 (next_val - 99) ~ next_val 这一段，因此初始值留出一段余量，保证新 id 大于已有 id。
+CREATE TABLE id_generators (
+    sequence_name VARCHAR(64) PRIMARY KEY,
+    next_val BIGINT NOT NULL
+);
+
+INSERT INTO id_generators (sequence_name, next_val)
+SELECT 'inventory', COALESCE(MAX(id), 0) + 101 FROM inventory;
+
+INSERT INTO id_generators (sequence_name, next_val)
+SELECT 'checkout_records', COALESCE(MAX(id), 0) + 101 FROM checkout_records;
+
+INSERT INTO id_generators (sequence_name, next_val)
+SELECT 'audit_logs', COALESCE(MAX(id), 0) + 101 FROM audit_logs;
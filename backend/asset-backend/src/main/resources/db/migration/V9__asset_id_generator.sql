@@ -0,0 +1,3 @@
+-- 资产导入批量插入，资产主键同样改由 id_generators 分段分配，初始值规则见 V8。
+INSERT INTO id_generators (sequence_name, next_val)
+SELECT 'assets', COALESCE(MAX(id), 0) + 101 FROM assets;
@@ -0,0 +1,99 @@
+package com.project.asset.audit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Predicate;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class AuditSegmentTest {
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2025, 1, 1, 0, 0);
+    private static final Comparator<ColdAuditRow> NEWEST_FIRST =
+            Comparator.comparing(ColdAuditRow::createdAt).thenComparing(ColdAuditRow::id).reversed();
+
+    @TempDir
+    private Path directory;
+
+    private final List<ColdAuditRow> rows = new ArrayList<>();
+    private AuditSegment segment;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        Path file = directory.resolve("audit_logs-p202501.seg");
+        try (AuditSegmentWriter writer = new AuditSegmentWriter(file, 100)) {
+            for (int i = 0; i < 1_000; i++) {
+                ColdAuditRow row = new ColdAuditRow(
+                        1_000L + i,
+                        i % 7 == 0 ? null : (long) (i % 5),
+                        i % 3 == 0 ? "CHECKOUT" : "RETURN",
+                        i % 2 == 0 ? "Inventory" : "AssetRequest",
+                        (long) (i / 10),
+                        i % 11 == 0 ? null : "明细 " + i,
+                        // 每 4 行时间相同，验证 id 作为次级排序
+                        BASE.plusMinutes(i / 4));
+                writer.append(row);
+                rows.add(row);
+            }
+        }
+        segment = AuditSegment.open(file);
+    }
+
+    @Test
+    void top_shouldMatchFiltersInListOrder() {
+        SegmentScan scan = new SegmentScan(
+                3L, "Inventory", null, Set.of("CHECKOUT", "REPAIR"), null, null, false, null, null);
+
+        List<ColdAuditRow> top = segment.top(scan, 5);
+
+        assertThat(top).containsExactlyElementsOf(expected(row -> Long.valueOf(3).equals(row.userId())
+                && row.entity().equals("Inventory")
+                && row.action().equals("CHECKOUT"), 5));
+        assertThat(segment.count(scan)).isEqualTo(expected(row -> Long.valueOf(3).equals(row.userId())
+                && row.entity().equals("Inventory")
+                && row.action().equals("CHECKOUT"), Integer.MAX_VALUE).size());
+    }
+
+    @Test
+    void top_withCursor_shouldWalkTimeRangeWithoutGapsOrDuplicates() {
+        LocalDateTime from = BASE.plusMinutes(30);
+        LocalDateTime to = BASE.plusMinutes(120);
+        List<ColdAuditRow> walked = new ArrayList<>();
+        ColdAuditStore.Position after = null;
+        while (true) {
+            List<ColdAuditRow> page = segment.top(new SegmentScan(null, null, null, null,
+                    AuditSegment.micros(from), AuditSegment.micros(to), false, after, null), 7);
+            if (page.isEmpty()) {
+                break;
+            }
+            walked.addAll(page);
+            ColdAuditRow last = page.get(page.size() - 1);
+            after = ColdAuditStore.Position.of(last.createdAt(), last.id());
+        }
+
+        assertThat(walked).containsExactlyElementsOf(expected(
+                row -> !row.createdAt().isBefore(from) && row.createdAt().isBefore(to), Integer.MAX_VALUE));
+    }
+
+    @Test
+    void scan_shouldSkipSegmentsOutsideIndexedRanges() {
+        assertThat(segment.count(new SegmentScan(99L, null, null, null, null, null, false, null, null))).isZero();
+        assertThat(segment.top(new SegmentScan(null, "Vendor", null, null, null, null, false, null, null), 10))
+                .isEmpty();
+        // floor 之后的行不需要
+        ColdAuditRow newest = rows.get(rows.size() - 1);
+        assertThat(segment.top(new SegmentScan(null, null, null, null, null, null, true, null,
+                ColdAuditStore.Position.of(newest.id(), newest.id())), 10)).isEmpty();
+    }
+
+    private List<ColdAuditRow> expected(Predicate<ColdAuditRow> filter, int limit) {
+        return rows.stream().filter(filter).sorted(NEWEST_FIRST).limit(limit).toList();
+    }
+}
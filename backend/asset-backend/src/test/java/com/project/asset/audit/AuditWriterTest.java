@@ -0,0 +1,142 @@
+package com.project.asset.audit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.project.asset.service.AuditService;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.web.context.WebServerGracefulShutdownLifecycle;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@SpringBootTest(properties = {
+    "asset.audit.async=true",
+    "asset.audit.queue-capacity=4",
+    "asset.audit.batch-size=3",
+    "asset.audit.flush-interval=50ms",
+    "asset.audit.journal-dir=target/audit-writer-test"
+})
+class AuditWriterTest {
+
+    private static final Path JOURNAL_DIR = Path.of("target/audit-writer-test");
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private AuditService auditService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private AuditWriter auditWriter;
+
+    @Test
+    void committedEntries_shouldBeWrittenInBackground_andOverflowReplayedFromJournal() throws Exception {
+        double journaledBefore = meterRegistry.counter("audit.journal.appended").count();
+        List<AuditService.Entry> entries = new ArrayList<>();
+        for (long i = 1; i <= 20; i++) {
+            entries.add(new AuditService.Entry(null, i, "unit-" + i));
+        }
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            auditService.recordAll("STOCK_IN", "AsyncCommitted", entries);
+            assertThat(count("AsyncCommitted")).isZero();
+        });
+
+        awaitCount("AsyncCommitted", 20);
+        assertThat(meterRegistry.counter("audit.journal.appended").count()).isGreaterThan(journaledBefore);
+        assertThat(meterRegistry.timer("audit.write.lag").count()).isPositive();
+        // 写库后预写日志段被释放
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (!writeAheadLogSegments().isEmpty() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+        }
+        assertThat(writeAheadLogSegments()).isEmpty();
+    }
+
+    @Test
+    void writeAheadLogLeftByKilledProcess_shouldBeReplayedOnStart() throws Exception {
+        auditWriter.stop();
+        try {
+            // 模拟 kill -9：记录已进入预写日志，队列随进程丢失；最后一行只写了一半
+            Files.createDirectories(JOURNAL_DIR);
+            List<String> lines = new ArrayList<>();
+            for (long i = 1; i <= 2; i++) {
+                lines.add(objectMapper.writeValueAsString(
+                        new AuditEntry(null, "CHECKOUT", "WalRecovered", i, null, LocalDateTime.now())));
+            }
+            lines.add("{\"userId\":null,\"act");
+            Files.write(JOURNAL_DIR.resolve("wal-7.ndjson"), lines, StandardCharsets.UTF_8);
+        } finally {
+            auditWriter.start();
+        }
+
+        awaitCount("WalRecovered", 2);
+        assertThat(JOURNAL_DIR.resolve("wal-7.ndjson")).doesNotExist();
+    }
+
+    @Test
+    void rolledBackTransaction_shouldNotWriteEntries() throws Exception {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            auditService.record(null, "CHECKOUT", "AsyncRolledBack", 1L, null);
+            status.setRollbackOnly();
+        });
+        new TransactionTemplate(transactionManager).executeWithoutResult(
+                status -> auditService.record(null, "CHECKOUT", "AsyncMarker", 1L, null));
+
+        awaitCount("AsyncMarker", 1);
+        assertThat(count("AsyncRolledBack")).isZero();
+    }
+
+    @Test
+    void entriesCommittedAfterStop_shouldBeWrittenSynchronously() {
+        assertThat(auditWriter.getPhase())
+                .isLessThan(WebServerGracefulShutdownLifecycle.SMART_LIFECYCLE_PHASE - 1024);
+        auditWriter.stop();
+        try {
+            new TransactionTemplate(transactionManager).executeWithoutResult(
+                    status -> auditService.record(null, "CHECKOUT", "AfterStop", 1L, null));
+            assertThat(count("AfterStop")).isEqualTo(1);
+        } finally {
+            auditWriter.start();
+        }
+    }
+
+    private void awaitCount(String entity, long expected) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (count(entity) < expected && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+        }
+        assertThat(count(entity)).isEqualTo(expected);
+    }
+
+    private static List<Path> writeAheadLogSegments() throws IOException {
+        try (Stream<Path> files = Files.list(JOURNAL_DIR)) {
+            return files.filter(path -> path.getFileName().toString().startsWith("wal-")).toList();
+        }
+    }
+
+    private long count(String entity) {
+        return jdbcTemplate.queryForObject("select count(*) from audit_logs where entity = ?", Long.class, entity);
+    }
+}
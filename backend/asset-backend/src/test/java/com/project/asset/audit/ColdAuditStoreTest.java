@@ -0,0 +1,136 @@
+package com.project.asset.audit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.project.asset.config.AuditProperties;
+import com.project.asset.domain.entity.AuditLog;
+import com.project.asset.dto.audit.AuditLogDto;
+import com.project.asset.dto.audit.AuditLogFilter;
+import com.project.asset.repository.AuditLogRepository;
+import com.project.asset.response.ExportFormat;
+import com.project.asset.response.PageQuery;
+import com.project.asset.response.PageResponse;
+import com.project.asset.service.AuditLogService;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+@SpringBootTest
+@Transactional
+class ColdAuditStoreTest {
+
+    @Autowired
+    private AuditLogService auditLogService;
+
+    @Autowired
+    private AuditLogRepository auditLogRepository;
+
+    @Autowired
+    private ColdAuditStore coldAuditStore;
+
+    @Autowired
+    private AuditProperties properties;
+
+    private Path segment;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        auditLogRepository.deleteAll();
+        for (int i = 0; i < 3; i++) {
+            AuditLog log = new AuditLog();
+            log.setAction("HOT_" + i);
+            log.setEntity("Inventory");
+            log.setEntityId(4711L);
+            log.setCreatedAt(LocalDateTime.of(2026, 3, 1, 8, i));
+            auditLogRepository.save(log);
+        }
+        Files.createDirectories(properties.getArchiveDir());
+        segment = properties.getArchiveDir().resolve("audit_logs-p202501.seg");
+        try (AuditSegmentWriter writer = new AuditSegmentWriter(segment)) {
+            for (int i = 0; i < 4; i++) {
+                writer.append(new ColdAuditRow(
+                        i + 1, null, "COLD_" + i, "Inventory", 4711L, null, LocalDateTime.of(2025, 1, 1, 8, i)));
+            }
+            writer.append(new ColdAuditRow(
+                    10, null, "OTHER", "Inventory", 4712L, null, LocalDateTime.of(2025, 1, 2, 8, 0)));
+        }
+        coldAuditStore.refresh();
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        Files.deleteIfExists(segment);
+        coldAuditStore.refresh();
+    }
+
+    @Test
+    void history_shouldContinueFromDatabaseIntoArchivedSegments() {
+        List<String> actions = new ArrayList<>();
+        PageResponse<AuditLogDto> page = auditLogService.history("Inventory", 4711L, 2, null, null);
+        while (true) {
+            page.getContent().forEach(dto -> actions.add(dto.getAction()));
+            if (page.getNextCursor() == null) {
+                break;
+            }
+            page = auditLogService.history("Inventory", 4711L, 2, page.getNextCursor(), null);
+        }
+
+        assertThat(actions).containsExactly("HOT_2", "HOT_1", "HOT_0", "COLD_3", "COLD_2", "COLD_1", "COLD_0");
+    }
+
+    @Test
+    void list_withPages_shouldAppendArchivedRowsAndCountThem() {
+        AuditLogFilter filter = new AuditLogFilter();
+        filter.setEntity("Inventory");
+        filter.setEntityId(4711L);
+
+        PageResponse<AuditLogDto> second = auditLogService.list(PageQuery.of(1, 2, "createdAt"), filter);
+        PageResponse<AuditLogDto> last = auditLogService.list(PageQuery.of(3, 2, "createdAt"), filter);
+
+        assertThat(second.getTotalElements()).isEqualTo(7);
+        assertThat(second.getContent()).extracting(AuditLogDto::getAction).containsExactly("HOT_0", "COLD_3");
+        assertThat(last.getContent()).extracting(AuditLogDto::getAction).containsExactly("COLD_0");
+    }
+
+    @Test
+    void list_withPagesWithoutCount_shouldStillAppendArchivedRows() {
+        AuditLogFilter filter = new AuditLogFilter();
+        filter.setEntity("Inventory");
+        filter.setEntityId(4711L);
+
+        PageResponse<AuditLogDto> second =
+                auditLogService.list(new PageQuery(1, 2, "createdAt", null, false, null), filter);
+        PageResponse<AuditLogDto> third =
+                auditLogService.list(new PageQuery(2, 2, "createdAt", null, false, null), filter);
+
+        assertThat(second.getTotalElements()).isNull();
+        assertThat(second.getContent()).extracting(AuditLogDto::getAction).containsExactly("HOT_0", "COLD_3");
+        assertThat(third.getContent()).extracting(AuditLogDto::getAction).containsExactly("COLD_2", "COLD_1");
+    }
+
+    @Test
+    void export_shouldWriteArchivedRowsBeforeDatabaseRows() throws Exception {
+        AuditLogFilter filter = new AuditLogFilter();
+        filter.setEntity("Inventory");
+        filter.setEntityId(4711L);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        long rows = auditLogService.export(filter, ExportFormat.NDJSON, out);
+
+        List<String> actions = out.toString(StandardCharsets.UTF_8).lines()
+                .map(line -> line.replaceAll(".*\"action\":\"([A-Z_0-9]+)\".*", "$1"))
+                .toList();
+        assertThat(rows).isEqualTo(7);
+        assertThat(actions).containsExactly("COLD_0", "COLD_1", "COLD_2", "COLD_3", "HOT_0", "HOT_1", "HOT_2");
+    }
+}
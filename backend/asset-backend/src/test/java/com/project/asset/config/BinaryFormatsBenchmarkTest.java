@@ -0,0 +1,65 @@
+package com.project.asset.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.project.asset.dto.asset.InventoryDto;
+import com.project.asset.response.ApiResponse;
+import com.project.asset.response.PageResponse;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+/**
+ * 1000 行库存分页的编码体积与编解码耗时对比，默认不随 mvn test 运行，
+ * 需要时使用 {@code ./mvnw test -Pbenchmark} 执行。
+ */
+@Slf4j
+@Tag("benchmark")
+@SpringBootTest
+class BinaryFormatsBenchmarkTest {
+
+    private static final int ROUNDS = 200;
+
+    @Autowired
+    private ObjectMapper jsonMapper;
+
+    @Autowired
+    private MappingJackson2CborHttpMessageConverter cborConverter;
+
+    @Autowired
+    private MappingJackson2SmileHttpMessageConverter smileConverter;
+
+    @Test
+    void inventoryPage_encodeAndDecode() throws Exception {
+        ApiResponse<PageResponse<InventoryDto>> page = BinaryFormatsTest.inventoryPage(1000);
+        Map<String, ObjectMapper> mappers = new LinkedHashMap<>();
+        mappers.put("json", jsonMapper);
+        mappers.put("cbor", cborConverter.getObjectMapper());
+        mappers.put("smile", smileConverter.getObjectMapper());
+        for (Map.Entry<String, ObjectMapper> entry : mappers.entrySet()) {
+            ObjectMapper mapper = entry.getValue();
+            long encodeNanos = 0;
+            long decodeNanos = 0;
+            int size = 0;
+            for (int i = 0; i < ROUNDS * 2; i++) {
+                long start = System.nanoTime();
+                byte[] bytes = mapper.writeValueAsBytes(page);
+                long encoded = System.nanoTime();
+                mapper.readTree(bytes);
+                // 前一半轮次用于预热
+                if (i >= ROUNDS) {
+                    encodeNanos += encoded - start;
+                    decodeNanos += System.nanoTime() - encoded;
+                }
+                size = bytes.length;
+            }
+            log.info(String.format("%-5s size=%7d bytes encode=%.3f ms decode=%.3f ms",
+                    entry.getKey(), size, encodeNanos / 1e6 / ROUNDS, decodeNanos / 1e6 / ROUNDS));
+        }
+    }
+}
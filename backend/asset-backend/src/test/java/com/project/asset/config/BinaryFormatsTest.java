@@ -0,0 +1,100 @@
+package com.project.asset.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.project.asset.domain.enums.InventoryStatus;
+import com.project.asset.dto.asset.InventoryDto;
+import com.project.asset.response.ApiResponse;
+import com.project.asset.response.PageResponse;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+@SpringBootTest
+@AutoConfigureMockMvc(addFilters = false)
+class BinaryFormatsTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper jsonMapper;
+
+    @Autowired
+    private MappingJackson2CborHttpMessageConverter cborConverter;
+
+    @Autowired
+    private MappingJackson2SmileHttpMessageConverter smileConverter;
+
+    @Test
+    @WithMockUser(authorities = "asset:view")
+    void accept_shouldSelectEncodingAndDefaultToJson() throws Exception {
+        mockMvc.perform(get("/api/inventory").accept(MediaType.ALL))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON));
+        byte[] cbor = mockMvc.perform(get("/api/inventory").accept(MediaType.APPLICATION_CBOR))
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_CBOR))
+                .andReturn()
+                .getResponse()
+                .getContentAsByteArray();
+        assertThat(cborConverter.getObjectMapper().readTree(cbor).get("code").asInt()).isZero();
+        mockMvc.perform(get("/api/inventory").accept(MediaType.valueOf("application/x-jackson-smile")))
+                .andExpect(content().contentTypeCompatibleWith(MediaType.valueOf("application/x-jackson-smile")));
+    }
+
+    @Test
+    void inventoryPage_binaryEncodingsShouldBeSmallerAndRoundTrip() throws Exception {
+        ApiResponse<PageResponse<InventoryDto>> page = inventoryPage(1000);
+        byte[] json = jsonMapper.writeValueAsBytes(page);
+        JsonNode expected = jsonMapper.readTree(json);
+        for (ObjectMapper mapper : List.of(cborConverter.getObjectMapper(), smileConverter.getObjectMapper())) {
+            byte[] encoded = mapper.writeValueAsBytes(page);
+            assertThat(mapper.readTree(encoded)).isEqualTo(expected);
+            assertThat(encoded.length).isLessThan(json.length);
+        }
+    }
+
+    static ApiResponse<PageResponse<InventoryDto>> inventoryPage(int rows) {
+        LocalDateTime now = LocalDateTime.of(2024, 5, 1, 9, 30);
+        List<InventoryDto> content = new ArrayList<>();
+        for (int i = 0; i < rows; i++) {
+            boolean checkedOut = i % 3 == 0;
+            content.add(InventoryDto.builder()
+                    .id(100000L + i)
+                    .assetId(2000L + i / 10)
+                    .assetName("ThinkPad X1 Carbon 笔记本电脑")
+                    .assetNo("AS-" + (2000 + i / 10))
+                    .status(checkedOut ? InventoryStatus.CHECKED_OUT : InventoryStatus.IN_STOCK)
+                    .serialNo("SN-" + Long.toHexString(0x5a3f0000L + i * 7919L).toUpperCase())
+                    .location("总部 3F 仓库")
+                    .updatedAt(now.plusMinutes(i))
+                    .currentHolderId(checkedOut ? 10L + i % 50 : null)
+                    .currentHolderName(checkedOut ? "员工" + i % 50 : null)
+                    .checkedOutAt(checkedOut ? now.minusDays(i % 30) : null)
+                    .expectedReturnAt(checkedOut ? now.plusDays(30 - i % 30) : null)
+                    .reminderCount(0)
+                    .build());
+        }
+        return ApiResponse.success(PageResponse.<InventoryDto>builder()
+                .content(content)
+                .totalElements(250000L)
+                .totalPages(250)
+                .page(0)
+                .size(rows)
+                .build());
+    }
+}
@@ -0,0 +1,55 @@
+package com.project.asset.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.multipart;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+@SpringBootTest
+@AutoConfigureMockMvc(addFilters = false)
+class AssetImportIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    @WithMockUser(authorities = "asset:admin")
+    void importDryRun_shouldStreamReportAndDeleteTempFile() throws Exception {
+        List<Path> before = reportFiles();
+        MockMultipartFile file = new MockMultipartFile("file", "assets.csv", "text/csv",
+                "assetNo,name\r\nHTTP-IMP-1,Monitor\r\nHTTP-IMP-2,\r\n".getBytes(StandardCharsets.UTF_8));
+
+        MvcResult started = mockMvc.perform(multipart("/api/assets/import").file(file).param("dryRun", "true"))
+                .andExpect(request().asyncStarted())
+                .andExpect(header().string("X-Import-Failed", "1"))
+                .andReturn();
+        mockMvc.perform(asyncDispatch(started)).andExpect(status().isOk());
+
+        assertThat(started.getResponse().getContentAsString(StandardCharsets.UTF_8))
+                .contains("HTTP-IMP-2", "名称不能为空");
+        assertThat(reportFiles()).isEqualTo(before);
+    }
+
+    private static List<Path> reportFiles() throws IOException {
+        try (Stream<Path> files = Files.list(Path.of(System.getProperty("java.io.tmpdir")))) {
+            return files.filter(path -> path.getFileName().toString().startsWith("asset-import-")).sorted().toList();
+        }
+    }
+}
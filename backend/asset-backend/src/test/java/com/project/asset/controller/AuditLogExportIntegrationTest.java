@@ -0,0 +1,88 @@
+package com.project.asset.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.project.asset.service.AuditService;
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPInputStream;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * 导出在异步线程中读取数据，记录需在测试前提交，因此不使用测试事务。
+ */
+@SpringBootTest
+@AutoConfigureMockMvc(addFilters = false)
+class AuditLogExportIntegrationTest {
+
+    private static final String ENTITY = "ExportIntegration";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private AuditService auditService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @AfterEach
+    void cleanUp() {
+        jdbcTemplate.update("DELETE FROM audit_logs WHERE entity = ?", ENTITY);
+    }
+
+    @Test
+    @WithMockUser(authorities = "audit:view")
+    void export_withoutExportAuthority_shouldBeForbidden() throws Exception {
+        mockMvc.perform(get("/api/audit-logs/export")).andExpect(status().isForbidden());
+    }
+
+    @Test
+    @WithMockUser(authorities = "audit:export")
+    void export_gzip_shouldStreamCompressedRowsOnAsyncDispatch() throws Exception {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            auditService.record(null, "CHECKOUT", ENTITY, 1L, "first");
+            auditService.record(null, "RETURN", ENTITY, 2L, "second");
+        });
+
+        MvcResult started = mockMvc.perform(get("/api/audit-logs/export")
+                        .param("gzip", "true")
+                        .param("entity", ENTITY))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/gzip"))
+                .andExpect(header().string(HttpHeaders.CONTENT_DISPOSITION,
+                        Matchers.containsString(".csv.gz")));
+
+        byte[] body = started.getResponse().getContentAsByteArray();
+        String csv;
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(body))) {
+            csv = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+        assertThat(csv.lines()).hasSize(3);
+        assertThat(csv).contains("CHECKOUT", "RETURN", "first", "second");
+    }
+}
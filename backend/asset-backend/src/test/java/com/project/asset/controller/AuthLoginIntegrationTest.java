@@ -0,0 +1,157 @@
+package com.project.asset.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.project.asset.domain.entity.User;
+import com.project.asset.exception.ErrorCode;
+import com.project.asset.repository.UserRepository;
+import com.project.asset.security.PasswordVerificationExecutor;
+import java.util.HashSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+/**
+ * 登录在校验线程池中异步完成，用户需提交后对校验线程可见，因此不使用测试事务。
+ * 校验线程只有一个、队列只有一个位置，占住线程并填满队列即可稳定触发队列满；
+ * 不用零容量队列，否则上一次校验刚结束、线程尚未回到队列等待时提交也会被拒绝。
+ */
+@SpringBootTest(properties = {
+    "asset.login.verifier-threads=1",
+    "asset.login.queue-capacity=1",
+    "asset.login.user-max-attempts=2",
+    "asset.login.ip-max-attempts=3"
+})
+@AutoConfigureMockMvc(addFilters = false)
+class AuthLoginIntegrationTest {
+
+    private static final String PASSWORD = "secret-123";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private PasswordVerificationExecutor passwordVerificationExecutor;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        user = new User();
+        user.setUsername("async_login_user");
+        user.setPassword(passwordEncoder.encode(PASSWORD));
+        user.setRoles(new HashSet<>());
+        user = userRepository.save(user);
+    }
+
+    @AfterEach
+    void tearDown() {
+        userRepository.delete(user);
+    }
+
+    @Test
+    void login_shouldReturnTokensOnAsyncDispatch() throws Exception {
+        MvcResult started = mockMvc.perform(login(user.getUsername(), "10.0.0.1"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.code").value(ErrorCode.SUCCESS.getCode()))
+                .andExpect(jsonPath("$.data.accessToken", Matchers.not(Matchers.emptyString())))
+                .andExpect(jsonPath("$.data.refreshToken", Matchers.not(Matchers.emptyString())));
+    }
+
+    @Test
+    void login_overUserOrIpLimit_shouldBeRejectedWith429() throws Exception {
+        for (int i = 0; i < 2; i++) {
+            attempt("throttled_user", "10.0.0.2");
+        }
+        mockMvc.perform(login("throttled_user", "10.0.0.3"))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string(HttpHeaders.RETRY_AFTER, "60"))
+                .andExpect(jsonPath("$.code").value(ErrorCode.TOO_MANY_REQUESTS.getCode()));
+
+        // 同一 IP 第 4 次，即使换了用户名
+        attempt("other_user", "10.0.0.2");
+        mockMvc.perform(login("another_user", "10.0.0.2"))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().exists(HttpHeaders.RETRY_AFTER));
+    }
+
+    @Test
+    void login_whenVerifierBusy_shouldBeRejectedWith429() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Boolean> busy = passwordVerificationExecutor.submit(() -> {
+            started.countDown();
+            return awaitRelease(release);
+        });
+        assertThat(started.await(10, TimeUnit.SECONDS)).isTrue();
+        CompletableFuture<Boolean> queued = passwordVerificationExecutor.submit(() -> awaitRelease(release));
+        try {
+            mockMvc.perform(login(user.getUsername(), "10.0.0.4"))
+                    .andExpect(status().isTooManyRequests())
+                    .andExpect(header().string(HttpHeaders.RETRY_AFTER, "1"))
+                    .andExpect(jsonPath("$.code").value(ErrorCode.TOO_MANY_REQUESTS.getCode()));
+        } finally {
+            release.countDown();
+            busy.get(10, TimeUnit.SECONDS);
+            queued.get(10, TimeUnit.SECONDS);
+        }
+    }
+
+    private static boolean awaitRelease(CountDownLatch release) {
+        try {
+            return release.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    /**
+     * 发起一次被受理的登录并等待校验结束，避免占住校验线程或队列。
+     */
+    private void attempt(String username, String clientIp) throws Exception {
+        mockMvc.perform(login(username, clientIp))
+                .andExpect(request().asyncStarted())
+                .andReturn()
+                .getAsyncResult(10_000);
+    }
+
+    private static MockHttpServletRequestBuilder login(String username, String clientIp) {
+        return post("/api/auth/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"username\": \"%s\", \"password\": \"%s\"}".formatted(username, PASSWORD))
+                .with(request -> {
+                    request.setRemoteAddr(clientIp);
+                    return request;
+                });
+    }
+}
@@ -0,0 +1,196 @@
+package com.project.asset.datasource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.project.asset.change.Aggregate;
+import com.project.asset.change.AggregateChangedEvent;
+import com.project.asset.change.ChangeVersions;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.List;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletWebRequest;
+
+class ReplicaRoutingDataSourceTest {
+
+    private final DataSource primary = database("routing_primary", "primary");
+    private final DataSource replica = database("routing_replica", "replica");
+    private final ReplicaDown down = new ReplicaDown(replica);
+
+    private ReplicaRoutingDataSource router;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate readWrite;
+    private TransactionTemplate readOnly;
+    private ChangeVersions changeVersions;
+
+    @BeforeEach
+    void setUp() {
+        router = new ReplicaRoutingDataSource(primary, List.of(down), Duration.ofSeconds(30));
+        DataSource dataSource = new LazyConnectionDataSourceProxy(router);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        readWrite = new TransactionTemplate(transactionManager);
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        changeVersions = new ChangeVersions(jdbcTemplate, transactionManager);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    void readOnlyTransactions_shouldUseReplica_andWritesThePrimary() {
+        assertThat(roleIn(readOnly)).isEqualTo("replica");
+        assertThat(roleIn(readWrite)).isEqualTo("primary");
+        assertThat(role()).isEqualTo("primary");
+    }
+
+    @Test
+    void readsAfterOwnWrite_shouldStayOnPrimaryWithinWindow() {
+        SecurityContextHolder.getContext()
+                .setAuthentication(new UsernamePasswordAuthenticationToken("alice", null, List.of()));
+        readWrite.executeWithoutResult(status -> jdbcTemplate.update("update node set name = name"));
+
+        assertThat(roleIn(readOnly)).isEqualTo("primary");
+
+        SecurityContextHolder.getContext()
+                .setAuthentication(new UsernamePasswordAuthenticationToken("bob", null, List.of()));
+        assertThat(roleIn(readOnly)).isEqualTo("replica");
+    }
+
+    @Test
+    void explicitCredentials_shouldFollowTheSameRouting() {
+        assertThat(roleWithCredentialsIn(readOnly)).isEqualTo("replica");
+        assertThat(roleWithCredentialsIn(readWrite)).isEqualTo("primary");
+    }
+
+    @Test
+    void unavailableReplica_shouldFallBackToPrimaryUntilHealthy() {
+        down.down = true;
+        assertThat(roleIn(readOnly)).isEqualTo("primary");
+        assertThat(router.healthyReplicas()).isZero();
+
+        down.down = false;
+        assertThat(roleIn(readOnly)).isEqualTo("primary");
+        router.checkHealth();
+        assertThat(router.healthyReplicas()).isEqualTo(1);
+        assertThat(roleIn(readOnly)).isEqualTo("replica");
+    }
+
+    @Test
+    void conditionalGet_shouldReadPrimarySoLaggingReplicaIsNeverCachedUnderNewVersion() {
+        ServletWebRequest first = listRequest(null);
+        assertThat(changeVersions.checkNotModified(first, Aggregate.ASSET)).isFalse();
+        assertThat(roleIn(readOnly)).isEqualTo("primary");
+        String etag = first.getResponse().getHeader(HttpHeaders.ETAG);
+
+        // 主库提交并递增版本号，从库尚未追上
+        readWrite.executeWithoutResult(status -> jdbcTemplate.update("update node set name = 'primary-v2'"));
+        changeVersions.onChanged(AggregateChangedEvent.of(Aggregate.ASSET));
+
+        ServletWebRequest second = listRequest(etag);
+        assertThat(changeVersions.checkNotModified(second, Aggregate.ASSET)).isFalse();
+        assertThat(roleIn(readOnly)).isEqualTo("primary-v2");
+        String newEtag = second.getResponse().getHeader(HttpHeaders.ETAG);
+        assertThat(newEtag).isNotEqualTo(etag);
+
+        ServletWebRequest third = listRequest(newEtag);
+        assertThat(changeVersions.checkNotModified(third, Aggregate.ASSET)).isTrue();
+        assertThat(third.getResponse().getStatus()).isEqualTo(304);
+
+        // 不计算 ETag 的只读请求仍走从库
+        listRequest(null);
+        assertThat(roleIn(readOnly)).isEqualTo("replica");
+    }
+
+    private String roleIn(TransactionTemplate transaction) {
+        return transaction.execute(status -> role());
+    }
+
+    private String roleWithCredentialsIn(TransactionTemplate transaction) {
+        return transaction.execute(status -> roleWithCredentials());
+    }
+
+    private String roleWithCredentials() {
+        try (Connection connection = router.getConnection("sa", "");
+                Statement statement = connection.createStatement();
+                ResultSet result = statement.executeQuery("select name from node")) {
+            result.next();
+            return result.getString(1);
+        } catch (SQLException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    private String role() {
+        return jdbcTemplate.queryForObject("select name from node", String.class);
+    }
+
+    private static ServletWebRequest listRequest(String ifNoneMatch) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/assets");
+        if (ifNoneMatch != null) {
+            request.addHeader(HttpHeaders.IF_NONE_MATCH, ifNoneMatch);
+        }
+        ServletWebRequest webRequest = new ServletWebRequest(request, new MockHttpServletResponse());
+        RequestContextHolder.setRequestAttributes(webRequest);
+        return webRequest;
+    }
+
+    private static DataSource database(String name, String role) {
+        DriverManagerDataSource dataSource =
+                new DriverManagerDataSource("jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("create table if not exists node (name varchar(16))");
+        jdbcTemplate.update("delete from node");
+        jdbcTemplate.update("insert into node values (?)", role);
+        jdbcTemplate.execute(
+                "create table if not exists change_versions (aggregate_name varchar(32) primary key, version bigint)");
+        return dataSource;
+    }
+
+    private static final class ReplicaDown extends DriverManagerDataSource {
+
+        private final DataSource target;
+        private volatile boolean down;
+
+        private ReplicaDown(DataSource target) {
+            this.target = target;
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            if (down) {
+                throw new SQLException("Connection refused");
+            }
+            return target.getConnection();
+        }
+
+        @Override
+        public Connection getConnection(String username, String password) throws SQLException {
+            if (down) {
+                throw new SQLException("Connection refused");
+            }
+            return target.getConnection(username, password);
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package com.project.asset.datasource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.PersistenceContext;
+import java.time.Duration;
+import java.util.List;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.EnableTransactionManagement;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * 应用使用 JpaTransactionManager，Hibernate 在开启事务时就会取连接，
+ * 须经 LazyConnectionDataSourceProxy 延迟到第一条语句，只读事务才能路由到从库。
+ */
+@SpringJUnitConfig(ReplicaRoutingJpaTest.JpaConfig.class)
+class ReplicaRoutingJpaTest {
+
+    @Autowired
+    private NodeReader nodeReader;
+
+    @Test
+    void readOnlyJpaTransaction_shouldUseReplica_andReadWriteThePrimary() {
+        assertThat(nodeReader.readOnly()).isEqualTo("replica");
+        assertThat(nodeReader.readWrite()).isEqualTo("primary");
+        assertThat(nodeReader.readOnly()).isEqualTo("replica");
+    }
+
+    static class NodeReader {
+
+        @PersistenceContext
+        private EntityManager entityManager;
+
+        @Transactional(readOnly = true)
+        public String readOnly() {
+            return role();
+        }
+
+        @Transactional
+        public String readWrite() {
+            return role();
+        }
+
+        private String role() {
+            return (String) entityManager.createNativeQuery("select name from node").getSingleResult();
+        }
+    }
+
+    @Configuration(proxyBeanMethods = false)
+    @EnableTransactionManagement
+    static class JpaConfig {
+
+        @Bean(destroyMethod = "close")
+        ReplicaRoutingDataSource router() {
+            return new ReplicaRoutingDataSource(
+                    database("jpa_routing_primary", "primary"),
+                    List.of(database("jpa_routing_replica", "replica")),
+                    Duration.ZERO);
+        }
+
+        @Bean
+        DataSource dataSource(ReplicaRoutingDataSource router) {
+            return new LazyConnectionDataSourceProxy(router);
+        }
+
+        @Bean
+        LocalContainerEntityManagerFactoryBean entityManagerFactory(DataSource dataSource) {
+            LocalContainerEntityManagerFactoryBean factory = new LocalContainerEntityManagerFactoryBean();
+            factory.setDataSource(dataSource);
+            factory.setJpaVendorAdapter(new HibernateJpaVendorAdapter());
+            factory.setPackagesToScan(ReplicaRoutingJpaTest.class.getPackageName());
+            return factory;
+        }
+
+        @Bean
+        PlatformTransactionManager transactionManager(EntityManagerFactory entityManagerFactory) {
+            return new JpaTransactionManager(entityManagerFactory);
+        }
+
+        @Bean
+        NodeReader nodeReader() {
+            return new NodeReader();
+        }
+
+        private static DataSource database(String name, String role) {
+            DriverManagerDataSource dataSource =
+                    new DriverManagerDataSource("jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1", "sa", "");
+            JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+            jdbcTemplate.execute("create table if not exists node (name varchar(16))");
+            jdbcTemplate.update("delete from node");
+            jdbcTemplate.update("insert into node values (?)", role);
+            return dataSource;
+        }
+    }
+}
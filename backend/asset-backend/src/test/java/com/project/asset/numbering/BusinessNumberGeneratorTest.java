@@ -0,0 +1,141 @@
+package com.project.asset.numbering;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.project.asset.config.NumberingProperties;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+@SpringBootTest
+class BusinessNumberGeneratorTest {
+
+    private static final int THREADS = 8;
+
+    @Autowired
+    private SequenceBlockAllocator allocator;
+
+    @Test
+    void timeOrdered_shouldStayUniqueAndIncreasingWhenClockStallsOrGoesBack() {
+        AtomicLong clock = new AtomicLong(TimeOrderedNumbers.EPOCH + 1000);
+        TimeOrderedNumbers numbers = new TimeOrderedNumbers(7, clock::get);
+        long previous = -1;
+        for (int i = 0; i < 10_000; i++) {
+            // 同一毫秒内远超 4096 个，中途时钟回拨
+            if (i == 5000) {
+                clock.addAndGet(-500);
+            }
+            long next = numbers.next();
+            assertThat(next).isGreaterThan(previous);
+            assertThat(next & TimeOrderedNumbers.MAX_NODE).isEqualTo(7);
+            previous = next;
+        }
+    }
+
+    @Test
+    void blockSequence_shouldHandOutEveryValueOnceAcrossThreads() throws Exception {
+        AtomicLong database = new AtomicLong(1);
+        AtomicLong allocations = new AtomicLong();
+        BlockSequence sequence = new BlockSequence(100, size -> {
+            allocations.incrementAndGet();
+            return database.getAndAdd(size);
+        });
+        int perThread = 50_000;
+
+        Set<String> values = race(perThread, () -> Long.toString(sequence.next()));
+
+        assertThat(values).hasSize(THREADS * perThread);
+        assertThat(allocations.get()).isEqualTo(THREADS * perThread / 100);
+    }
+
+    @Test
+    void generators_sharingDatabase_shouldNeverCollide() throws Exception {
+        // 两个实例：同一个 id_generators，不同节点号；段取得很小以便频繁并发分段
+        DefaultBusinessNumberGenerator first = generator(1, NumberingProperties.Format.SEQUENCE);
+        DefaultBusinessNumberGenerator second = generator(2, NumberingProperties.Format.SEQUENCE);
+        DefaultBusinessNumberGenerator firstTime = generator(1, NumberingProperties.Format.TIME);
+        DefaultBusinessNumberGenerator secondTime = generator(2, NumberingProperties.Format.TIME);
+        int perThread = 20_000;
+        AtomicLong calls = new AtomicLong();
+
+        long started = System.nanoTime();
+        Set<String> numbers = race(perThread, () -> {
+            long call = calls.getAndIncrement();
+            DefaultBusinessNumberGenerator generator = switch ((int) (call % 4)) {
+                case 0 -> first;
+                case 1 -> second;
+                case 2 -> firstTime;
+                default -> secondTime;
+            };
+            return generator.next(BusinessNumberType.REQUEST);
+        });
+        long elapsedMillis = Math.max(1, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+
+        assertThat(numbers).hasSize(THREADS * perThread);
+        assertThat(numbers).allMatch(number -> number.matches("REQ-(\\d{8}-\\d{6,}|\\d+)"));
+        assertThat(THREADS * perThread * 1000L / elapsedMillis).isGreaterThan(10_000);
+    }
+
+    @Test
+    void timeFormatWithoutNodeId_shouldFailAtStartup() {
+        NumberingProperties properties = new NumberingProperties();
+        properties.getFormats().put(BusinessNumberType.ASSET, NumberingProperties.Format.TIME);
+
+        assertThatThrownBy(() -> new DefaultBusinessNumberGenerator(properties, allocator))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("asset.numbering.node-id");
+
+        properties.getFormats().clear();
+        assertThat(new DefaultBusinessNumberGenerator(properties, allocator).next(BusinessNumberType.ASSET))
+                .startsWith("AST-");
+    }
+
+    private DefaultBusinessNumberGenerator generator(int nodeId, NumberingProperties.Format format) {
+        NumberingProperties properties = new NumberingProperties();
+        properties.setNodeId(nodeId);
+        properties.setBlockSize(50);
+        properties.getFormats().put(BusinessNumberType.REQUEST, format);
+        return new DefaultBusinessNumberGenerator(properties, allocator);
+    }
+
+    /**
+     * 各线程同时开始，每个线程生成 perThread 个值，返回去重后的全部值。
+     */
+    private static Set<String> race(int perThread, Supplier<String> next) throws Exception {
+        Set<String> values = ConcurrentHashMap.newKeySet();
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<Void>> futures = new ArrayList<>();
+            for (int i = 0; i < THREADS; i++) {
+                futures.add(executor.submit((Callable<Void>) () -> {
+                    start.await();
+                    for (int n = 0; n < perThread; n++) {
+                        values.add(next.get());
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<Void> future : futures) {
+                future.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        return values;
+    }
+}
@@ -0,0 +1,40 @@
+package com.project.asset.search;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+class SearchIndexTest {
+
+    private final SearchIndex index = new SearchIndex();
+
+    @Test
+    void search_shouldMatchFragmentsAndRankCodesFirst() {
+        index.add(new SearchDocument(SearchDocumentType.ASSET, 1L, "AS-1001", "ThinkPad X1 笔记本电脑", "X1 Carbon"));
+        index.add(new SearchDocument(SearchDocumentType.ASSET, 2L, "AS-1002", "Dell 显示器", "U2720Q"));
+        index.add(new SearchDocument(SearchDocumentType.INVENTORY, 3L, "SN-X1-777", "ThinkPad X1 笔记本电脑", "AS-1001"));
+
+        SearchIndex.Result result = index.search("x1", null, 0, 10);
+        assertThat(result.total()).isEqualTo(2);
+        assertThat(result.hits()).extracting(hit -> hit.document().id()).containsExactly(3L, 1L);
+
+        assertThat(index.search("笔记本", SearchDocumentType.ASSET, 0, 10).hits())
+                .extracting(hit -> hit.document().id())
+                .containsExactly(1L);
+        assertThat(index.search("as-1001", null, 0, 10).hits().get(0).document().id()).isEqualTo(1L);
+        assertThat(index.search("1001x", null, 0, 10).total()).isZero();
+    }
+
+    @Test
+    void add_shouldReplaceExistingDocumentAndPage() {
+        index.add(new SearchDocument(SearchDocumentType.ASSET, 1L, "AS-1", "Old name", null));
+        index.add(new SearchDocument(SearchDocumentType.ASSET, 1L, "AS-1", "New name", null));
+        index.add(new SearchDocument(SearchDocumentType.ASSET, 2L, "AS-2", "Other name", null));
+
+        assertThat(index.size()).isEqualTo(2);
+        assertThat(index.search("old", null, 0, 10).total()).isZero();
+        SearchIndex.Result second = index.search("name", null, 1, 1);
+        assertThat(second.total()).isEqualTo(2);
+        assertThat(second.hits()).hasSize(1);
+    }
+}
@@ -21,8 +21,57 @@ class JwtTokenProviderTest {
     @Autowired
     private JwtProperties jwtProperties;
 
+    @Autowired
+    private SecurityVersionRegistry securityVersionRegistry;
+
     @Test
     void createTokenResponse_shouldContainClaimsAndBeValid() {
+        TokenResponse response = jwtTokenProvider.createTokenResponse(buildUser());
+
+        assertThat(response.getAccessToken()).isNotBlank();
+        assertThat(response.getRefreshToken()).isNotBlank();
+        assertThat(response.getExpiresIn()).isEqualTo(jwtProperties.getAccessTokenExpiration());
+        assertThat(jwtTokenProvider.isTokenValid(response.getAccessToken())).isTrue();
+        assertThat(jwtTokenProvider.extractUsername(response.getAccessToken())).isEqualTo("jwt-user");
+        assertThat(jwtTokenProvider.isAccessToken(response.getAccessToken())).isTrue();
+        assertThat(jwtTokenProvider.isRefreshToken(response.getRefreshToken())).isTrue();
+    }
+
+    @Test
+    void verify_shouldParseOnceAndRejectTamperedToken() {
+        TokenResponse response = jwtTokenProvider.createTokenResponse(buildUser());
+
+        VerifiedToken first = jwtTokenProvider.verify(response.getAccessToken()).orElseThrow();
+        VerifiedToken second = jwtTokenProvider.verify(response.getAccessToken()).orElseThrow();
+
+        assertThat(second).isSameAs(first);
+        assertThat(first.userId()).isEqualTo(99L);
+        assertThat(first.isAccessToken()).isTrue();
+        assertThat(first.permissions()).containsExactly("asset:view");
+        assertThat(jwtTokenProvider.verify(response.getAccessToken() + "x")).isEmpty();
+        assertThat(jwtTokenProvider.verify("not-a-jwt")).isEmpty();
+    }
+
+    @Test
+    void securityVersion_shouldInvalidateTokensIssuedBeforeAccessChange() {
+        User user = buildUser();
+        user.setId(100L);
+        VerifiedToken before = jwtTokenProvider
+                .verify(jwtTokenProvider.createTokenResponse(user).getAccessToken())
+                .orElseThrow();
+        assertThat(securityVersionRegistry.isCurrent(before.userId(), before.securityVersion())).isTrue();
+
+        securityVersionRegistry.bump(100L);
+
+        assertThat(securityVersionRegistry.isCurrent(before.userId(), before.securityVersion())).isFalse();
+        VerifiedToken after = jwtTokenProvider
+                .verify(jwtTokenProvider.createTokenResponse(user).getAccessToken())
+                .orElseThrow();
+        assertThat(securityVersionRegistry.isCurrent(after.userId(), after.securityVersion())).isTrue();
+        assertThat(UserPrincipal.fromToken(after).getPermissionCodes()).containsExactly("asset:view");
+    }
+
+    private User buildUser() {
         Permission permission = new Permission();
         permission.setCode("asset:view");
         permission.setName("view");
@@ -36,16 +85,7 @@ class JwtTokenProviderTest {
         user.setId(99L);
         user.setUsername("jwt-user");
         user.setRoles(Set.of(role));
-
-        TokenResponse response = jwtTokenProvider.createTokenResponse(user);
-
-        assertThat(response.getAccessToken()).isNotBlank();
-        assertThat(response.getRefreshToken()).isNotBlank();
-        assertThat(response.getExpiresIn()).isEqualTo(jwtProperties.getAccessTokenExpiration());
-        assertThat(jwtTokenProvider.isTokenValid(response.getAccessToken())).isTrue();
-        assertThat(jwtTokenProvider.extractUsername(response.getAccessToken())).isEqualTo("jwt-user");
-        assertThat(jwtTokenProvider.isAccessToken(response.getAccessToken())).isTrue();
-        assertThat(jwtTokenProvider.isRefreshToken(response.getRefreshToken())).isTrue();
+        return user;
     }
 }
 
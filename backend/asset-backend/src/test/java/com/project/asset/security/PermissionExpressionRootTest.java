@@ -0,0 +1,76 @@
+package com.project.asset.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.project.asset.domain.entity.Permission;
+import com.project.asset.repository.PermissionRepository;
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.expression.EvaluationContext;
+import org.springframework.expression.spel.standard.SpelExpressionParser;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.util.SimpleMethodInvocation;
+
+class PermissionExpressionRootTest {
+
+    private final SpelExpressionParser parser = new SpelExpressionParser();
+    private PermissionMethodSecurityExpressionHandler handler;
+
+    @BeforeEach
+    void setUp() {
+        PermissionRepository repository = mock(PermissionRepository.class);
+        when(repository.findAll()).thenReturn(List.of(permission(1L, "asset:view"), permission(12L, "audit:view")));
+        PermissionRegistry registry = new PermissionRegistry(repository);
+        registry.refresh();
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+        beanFactory.registerSingleton("permissionRegistry", registry);
+        handler = new PermissionMethodSecurityExpressionHandler(beanFactory.getBeanProvider(PermissionRegistry.class));
+    }
+
+    @Test
+    void registeredCodes_shouldBeCheckedAgainstTheBitmask() throws Exception {
+        // 位图包含 audit:view，但字符串权限集合不包含，验证判断走的是位图
+        UserPrincipal principal = principal(Set.of("asset:view"), PermissionMask.of(List.of(1, 12)));
+
+        assertThat(evaluate(principal, "hasAuthority('asset:view')")).isTrue();
+        assertThat(evaluate(principal, "hasAuthority('audit:view')")).isTrue();
+        assertThat(evaluate(principal, "hasAnyAuthority('user:manage','asset:view')")).isTrue();
+        assertThat(evaluate(principal(Set.of("asset:view"), PermissionMask.of(List.of(1))), "hasAuthority('audit:view')"))
+                .isFalse();
+    }
+
+    @Test
+    void unknownCodesAndRoles_shouldFallBackToAuthorities() throws Exception {
+        UserPrincipal principal = principal(Set.of("user:manage"), PermissionMask.of(List.of()));
+
+        assertThat(evaluate(principal, "hasAuthority('user:manage')")).isTrue();
+        assertThat(evaluate(principal, "hasRole('ADMIN')")).isTrue();
+        assertThat(evaluate(principal(Set.of("asset:view"), null), "hasAuthority('asset:view')")).isTrue();
+    }
+
+    private boolean evaluate(UserPrincipal principal, String expression) throws Exception {
+        UsernamePasswordAuthenticationToken authentication =
+                new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities());
+        EvaluationContext context = handler.createEvaluationContext(
+                () -> authentication, new SimpleMethodInvocation(this, Object.class.getMethod("toString")));
+        return Boolean.TRUE.equals(parser.parseExpression(expression).getValue(context, Boolean.class));
+    }
+
+    private static UserPrincipal principal(Set<String> permissions, PermissionMask mask) {
+        return UserPrincipal.fromToken(new VerifiedToken(
+                1L, "tester", TokenType.ACCESS, Set.of("ROLE_ADMIN"), permissions, mask, 0L, Instant.now(), null, null));
+    }
+
+    private static Permission permission(Long id, String code) {
+        Permission permission = new Permission();
+        permission.setId(id);
+        permission.setCode(code);
+        return permission;
+    }
+}
@@ -0,0 +1,75 @@
+package com.project.asset.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.project.asset.config.JwtProperties;
+import com.project.asset.domain.entity.Permission;
+import com.project.asset.domain.entity.Role;
+import com.project.asset.domain.entity.User;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+class PrincipalCacheTest {
+
+    private final Map<String, PrincipalSnapshot> users = Map.of(
+            "alice", snapshot(1L, "alice", 10L, "ROLE_USER", "asset:view"),
+            "bob", snapshot(2L, "bob", 10L, "ROLE_USER", "asset:view"),
+            "carol", snapshot(3L, "carol", 20L, "ROLE_ADMIN", "audit:view"));
+
+    @Test
+    void roleChange_shouldEvictOnlyMembersOfThatRole() {
+        PrincipalCache cache = new PrincipalCache(new JwtProperties(), new SimpleMeterRegistry());
+        AtomicInteger loads = new AtomicInteger();
+        users.keySet().forEach(username -> cache.get(username, key -> load(key, loads)));
+        users.keySet().forEach(username -> cache.get(username, key -> load(key, loads)));
+        assertThat(loads).hasValue(3);
+        assertThat(cache.stats().hitCount()).isEqualTo(3);
+
+        cache.onAccessChanged(AccessChangedEvent.ofRole(10L, Set.of()));
+
+        assertThat(cache.size()).isEqualTo(1);
+        cache.get("carol", key -> load(key, loads));
+        cache.get("alice", key -> load(key, loads));
+        assertThat(loads).hasValue(4);
+    }
+
+    @Test
+    void userChange_shouldEvictByUserId() {
+        PrincipalCache cache = new PrincipalCache(new JwtProperties(), new SimpleMeterRegistry());
+        AtomicInteger loads = new AtomicInteger();
+        UserPrincipal alice = cache.get("alice", key -> load(key, loads)).principal();
+        cache.get("bob", key -> load(key, loads));
+
+        assertThat(alice.getPassword()).isNull();
+        assertThat(alice.getAuthorities()).extracting("authority").containsExactly("ROLE_USER", "asset:view");
+        cache.onAccessChanged(AccessChangedEvent.ofUser(1L));
+
+        assertThat(cache.size()).isEqualTo(1);
+        cache.get("bob", key -> load(key, loads));
+        assertThat(loads).hasValue(2);
+    }
+
+    private static PrincipalSnapshot snapshot(
+            Long userId, String username, Long roleId, String roleCode, String permissionCode) {
+        Permission permission = new Permission();
+        permission.setCode(permissionCode);
+        Role role = new Role();
+        role.setId(roleId);
+        role.setCode(roleCode);
+        role.setPermissions(Set.of(permission));
+        User user = new User();
+        user.setId(userId);
+        user.setUsername(username);
+        user.setPassword("secret");
+        user.setRoles(Set.of(role));
+        return PrincipalSnapshot.of(user);
+    }
+
+    private PrincipalSnapshot load(String username, AtomicInteger loads) {
+        loads.incrementAndGet();
+        return users.get(username);
+    }
+}
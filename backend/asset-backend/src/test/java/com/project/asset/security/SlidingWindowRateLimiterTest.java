@@ -0,0 +1,30 @@
+package com.project.asset.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import org.junit.jupiter.api.Test;
+
+class SlidingWindowRateLimiterTest {
+
+    private final SlidingWindowRateLimiter limiter = new SlidingWindowRateLimiter(3, Duration.ofSeconds(10), 100);
+
+    @Test
+    void rejectsOnceLimitReachedAndWeighsPreviousWindow() {
+        long start = 1_000_000L;
+        for (int i = 0; i < 3; i++) {
+            assertThat(limiter.tryAcquire("alice", start + i)).isTrue();
+        }
+        assertThat(limiter.tryAcquire("alice", start + 5)).isFalse();
+        assertThat(limiter.tryAcquire("bob", start + 5)).isTrue();
+
+        // 下一窗口刚开始时上一窗口几乎全额计入
+        assertThat(limiter.tryAcquire("alice", start + 10_000)).isFalse();
+        // 过去 60% 后上一窗口只计入 3 * 0.4 = 1.2，当前窗口还能再放行两次
+        assertThat(limiter.tryAcquire("alice", start + 16_000)).isTrue();
+        assertThat(limiter.tryAcquire("alice", start + 16_001)).isTrue();
+        assertThat(limiter.tryAcquire("alice", start + 16_002)).isFalse();
+        // 相隔两个窗口后计数清零
+        assertThat(limiter.tryAcquire("alice", start + 40_000)).isTrue();
+    }
+}
@@ -0,0 +1,122 @@
+package com.project.asset.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.project.asset.domain.entity.Asset;
+import com.project.asset.domain.entity.AssetType;
+import com.project.asset.domain.entity.User;
+import com.project.asset.domain.entity.Vendor;
+import com.project.asset.domain.enums.AssetStatus;
+import com.project.asset.exception.BusinessException;
+import com.project.asset.repository.AssetRepository;
+import com.project.asset.repository.AssetTypeRepository;
+import com.project.asset.repository.UserRepository;
+import com.project.asset.repository.VendorRepository;
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.io.StringWriter;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+@SpringBootTest(properties = {"asset.import.chunk-size=2", "asset.import.parser-threads=2"})
+@Transactional
+class AssetImportServiceTest {
+
+    @Autowired
+    private AssetImportService assetImportService;
+
+    @Autowired
+    private AssetRepository assetRepository;
+
+    @Autowired
+    private AssetTypeRepository assetTypeRepository;
+
+    @Autowired
+    private VendorRepository vendorRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private AssetType laptop;
+    private String csv;
+
+    @BeforeEach
+    void setUp() {
+        laptop = new AssetType();
+        laptop.setName("笔记本");
+        laptop.setCode("IMPORT-LAPTOP");
+        laptop = assetTypeRepository.save(laptop);
+        Vendor vendor = new Vendor();
+        vendor.setName("Import Vendor");
+        vendorRepository.save(vendor);
+        User importer = new User();
+        importer.setUsername("importer");
+        importer.setPassword("encoded");
+        userRepository.save(importer);
+        Asset existing = new Asset();
+        existing.setAssetNo("IMP-EXISTING");
+        existing.setName("Existing");
+        assetRepository.save(existing);
+
+        csv = "\uFEFFassetNo,name,assetTypeId,vendorId,status,price,purchaseDate,createdBy,location\r\n"
+                + "IMP-1,ThinkPad,import-laptop,Import Vendor,in_stock,100.50,2025-01-02,importer,\"仓库A, 3 楼\"\r\n"
+                + "IMP-2,\"Dell \"\"U2720Q\"\"\n显示器\"," + laptop.getId() + ",,,,,,\r\n"
+                + "IMP-3,,IMPORT-LAPTOP,,,,,,\r\n"
+                + "imp-1,Duplicate,,,,,,,\r\n"
+                + "IMP-4,Broken,NOPE,Nobody,LOST,-1,2025-13-01,,\r\n"
+                + "IMP-EXISTING,Existing again,,,,,,,\r\n";
+    }
+
+    @Test
+    void dryRun_shouldValidateEverythingWithoutWriting() throws Exception {
+        StringWriter report = new StringWriter();
+
+        AssetImportService.Result result = assetImportService.importCsv(stream(csv), true, report);
+
+        assertThat(result).isEqualTo(new AssetImportService.Result(6, 2, 4, true));
+        assertThat(report.toString().lines().toList()).containsExactly(
+                "\uFEFFline,assetNo,error",
+                "5,IMP-3,名称不能为空",
+                "6,imp-1,资产编号在文件中重复",
+                "7,IMP-4,采购日期格式不正确：2025-13-01；价格不能为负数；状态格式不正确：LOST；"
+                        + "资产类型不存在：NOPE；供应商不存在：Nobody",
+                "8,IMP-EXISTING,资产编号已存在");
+        assertThat(assetRepository.findByAssetNo("IMP-1")).isEmpty();
+    }
+
+    @Test
+    void import_shouldInsertValidRowsAndResolveReferencesByName() throws Exception {
+        AssetImportService.Result result = assetImportService.importCsv(stream(csv), false, new StringWriter());
+
+        assertThat(result.imported()).isEqualTo(2);
+        Asset first = assetRepository.findByAssetNo("IMP-1").orElseThrow();
+        assertThat(first.getAssetType().getId()).isEqualTo(laptop.getId());
+        assertThat(first.getVendor().getName()).isEqualTo("Import Vendor");
+        assertThat(first.getCreatedBy().getUsername()).isEqualTo("importer");
+        assertThat(first.getStatus()).isEqualTo(AssetStatus.IN_STOCK);
+        assertThat(first.getPrice()).isEqualByComparingTo(new BigDecimal("100.50"));
+        assertThat(first.getPurchaseDate()).isEqualTo(LocalDate.of(2025, 1, 2));
+        assertThat(first.getLocation()).isEqualTo("仓库A, 3 楼");
+        assertThat(assetRepository.findByAssetNo("IMP-2")).get()
+                .extracting(Asset::getName).isEqualTo("Dell \"U2720Q\"\n显示器");
+    }
+
+    @Test
+    void unknownColumn_shouldRejectWholeFile() {
+        assertThatThrownBy(() -> assetImportService.importCsv(
+                        stream("assetNo,name,password\r\nA,B,C\r\n"), true, new StringWriter()))
+                .isInstanceOf(BusinessException.class)
+                .hasMessageContaining("password");
+    }
+
+    private static InputStream stream(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,127 @@
+package com.project.asset.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.project.asset.domain.entity.AuditLog;
+import com.project.asset.dto.audit.AuditLogDto;
+import com.project.asset.dto.audit.AuditLogFilter;
+import com.project.asset.exception.BusinessException;
+import com.project.asset.repository.AuditLogRepository;
+import com.project.asset.response.PageQuery;
+import com.project.asset.response.PageResponse;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+@SpringBootTest
+@Transactional
+class AuditLogServiceTest {
+
+    @Autowired
+    private AuditLogService auditLogService;
+
+    @Autowired
+    private AuditLogRepository auditLogRepository;
+
+    @BeforeEach
+    void setUp() {
+        auditLogRepository.deleteAll();
+        LocalDateTime base = LocalDateTime.of(2024, 1, 1, 8, 0);
+        for (int i = 0; i < 5; i++) {
+            AuditLog log = new AuditLog();
+            log.setAction("ACTION_" + i);
+            // 两条记录时间相同，验证 id 作为次级排序
+            log.setCreatedAt(base.plusMinutes(Math.min(i, 3)));
+            auditLogRepository.save(log);
+        }
+    }
+
+    @Test
+    void list_withCursor_shouldWalkAllRowsWithoutOffset() {
+        List<String> actions = new ArrayList<>();
+        AuditLogFilter all = new AuditLogFilter();
+        PageResponse<AuditLogDto> page = auditLogService.list(new PageQuery(0, 2, "createdAt", null, false, null), all);
+        assertThat(page.getTotalElements()).isNull();
+        while (true) {
+            page.getContent().forEach(dto -> actions.add(dto.getAction()));
+            if (page.getNextCursor() == null) {
+                break;
+            }
+            page = auditLogService.list(new PageQuery(0, 2, "createdAt", page.getNextCursor(), false, null), all);
+        }
+
+        assertThat(actions).containsExactly("ACTION_4", "ACTION_3", "ACTION_2", "ACTION_1", "ACTION_0");
+        PageResponse<AuditLogDto> offset = auditLogService.list(PageQuery.of(0, 2, "createdAt"), all);
+        assertThat(offset.getTotalElements()).isEqualTo(5);
+        assertThat(offset.getNextCursor()).isNull();
+    }
+
+    @Test
+    void list_withCreatedRange_shouldIncludeFromAndExcludeTo() {
+        AuditLogFilter filter = new AuditLogFilter();
+        filter.setCreatedFrom(LocalDateTime.of(2024, 1, 1, 8, 1));
+        filter.setCreatedTo(LocalDateTime.of(2024, 1, 1, 8, 3));
+
+        PageResponse<AuditLogDto> page = auditLogService.list(PageQuery.of(0, 10, "createdAt"), filter);
+
+        assertThat(page.getContent()).extracting(AuditLogDto::getAction).containsExactly("ACTION_2", "ACTION_1");
+    }
+
+    @Test
+    void list_withEntityAndActions_shouldMatchOnlyThoseRows() {
+        LocalDateTime base = LocalDateTime.of(2024, 2, 1, 8, 0);
+        save("CHECKOUT", "Inventory", 4711L, base);
+        save("RETURN", "Inventory", 4711L, base.plusHours(1));
+        save("REPAIR", "Inventory", 4711L, base.plusHours(2));
+        save("CHECKOUT", "Inventory", 4712L, base.plusHours(3));
+        AuditLogFilter filter = new AuditLogFilter();
+        filter.setEntity("Inventory");
+        filter.setEntityId(4711L);
+        filter.setAction(Set.of("CHECKOUT", "RETURN"));
+
+        PageResponse<AuditLogDto> page = auditLogService.list(PageQuery.of(0, 10, "createdAt"), filter);
+
+        assertThat(page.getContent()).extracting(AuditLogDto::getAction).containsExactly("RETURN", "CHECKOUT");
+    }
+
+    @Test
+    void history_shouldPageThroughOneEntityNewestFirst() {
+        LocalDateTime base = LocalDateTime.of(2024, 3, 1, 8, 0);
+        for (int i = 0; i < 3; i++) {
+            save("CHECKOUT_" + i, "Inventory", 4711L, base.plusMinutes(i));
+        }
+        save("CHECKOUT", "AssetRequest", 4711L, base.plusMinutes(10));
+
+        PageResponse<AuditLogDto> first = auditLogService.history("Inventory", 4711L, 2, null, null);
+        PageResponse<AuditLogDto> second = auditLogService.history("Inventory", 4711L, 2, first.getNextCursor(), null);
+
+        assertThat(first.getContent()).extracting(AuditLogDto::getAction).containsExactly("CHECKOUT_2", "CHECKOUT_1");
+        assertThat(second.getContent()).extracting(AuditLogDto::getAction).containsExactly("CHECKOUT_0");
+        assertThat(second.getNextCursor()).isNull();
+    }
+
+    @Test
+    void list_withEntityIdButNoEntity_shouldBeRejected() {
+        AuditLogFilter filter = new AuditLogFilter();
+        filter.setEntityId(4711L);
+
+        assertThatThrownBy(() -> auditLogService.list(PageQuery.of(0, 10, "createdAt"), filter))
+                .isInstanceOf(BusinessException.class);
+    }
+
+    private void save(String action, String entity, Long entityId, LocalDateTime createdAt) {
+        AuditLog log = new AuditLog();
+        log.setAction(action);
+        log.setEntity(entity);
+        log.setEntityId(entityId);
+        log.setCreatedAt(createdAt);
+        auditLogRepository.save(log);
+    }
+}
@@ -0,0 +1,83 @@
+package com.project.asset.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.project.asset.domain.entity.User;
+import com.project.asset.dto.auth.TokenResponse;
+import com.project.asset.exception.BusinessException;
+import com.project.asset.repository.UserRepository;
+import com.project.asset.security.JwtTokenProvider;
+import java.util.HashSet;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@SpringBootTest
+@Transactional
+class AuthServiceTest {
+
+    @Autowired
+    private AuthService authService;
+
+    @Autowired
+    private JwtTokenProvider jwtTokenProvider;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        user = new User();
+        user.setUsername("refresh_user");
+        user.setPassword("encoded");
+        user.setRoles(new HashSet<>());
+        user = userRepository.save(user);
+    }
+
+    /**
+     * 注销记录在独立事务中提交，不随测试事务回滚，需单独删除。
+     */
+    @AfterEach
+    void deleteRevocations() {
+        TransactionTemplate requiresNew = new TransactionTemplate(transactionManager);
+        requiresNew.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        requiresNew.executeWithoutResult(status -> jdbcTemplate.update(
+                "delete from revoked_refresh_tokens where user_id = ?", user.getId()));
+    }
+
+    @Test
+    void refresh_shouldRotateAndRejectReuse() {
+        String original = jwtTokenProvider.createTokenResponse(user).getRefreshToken();
+
+        TokenResponse rotated = authService.refresh(original);
+
+        assertThat(rotated.getRefreshToken()).isNotEqualTo(original);
+        assertThrows(BusinessException.class, () -> authService.refresh(original));
+        assertThat(authService.refresh(rotated.getRefreshToken()).getAccessToken()).isNotBlank();
+    }
+
+    @Test
+    void logout_shouldRevokeRefreshToken() {
+        String refreshToken = jwtTokenProvider.createTokenResponse(user).getRefreshToken();
+
+        authService.logout(refreshToken);
+
+        assertThrows(BusinessException.class, () -> authService.refresh(refreshToken));
+    }
+}
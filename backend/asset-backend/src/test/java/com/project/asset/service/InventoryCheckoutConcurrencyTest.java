@@ -0,0 +1,171 @@
+package com.project.asset.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.project.asset.domain.entity.Asset;
+import com.project.asset.domain.entity.CheckoutRecord;
+import com.project.asset.domain.entity.Inventory;
+import com.project.asset.domain.entity.User;
+import com.project.asset.domain.enums.CheckoutType;
+import com.project.asset.domain.enums.InventoryStatus;
+import com.project.asset.dto.asset.CheckoutRequestDto;
+import com.project.asset.dto.asset.ReturnRequestDto;
+import com.project.asset.exception.BusinessException;
+import com.project.asset.exception.ErrorCode;
+import com.project.asset.repository.AssetRepository;
+import com.project.asset.repository.CheckoutRecordRepository;
+import com.project.asset.repository.InventoryRepository;
+import com.project.asset.repository.UserRepository;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntFunction;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * 多线程同时领用、归还同一件库存，每轮只能有一个请求成功。数据需对各线程可见，因此不使用测试事务，结束后手动清理。
+ */
+@SpringBootTest
+class InventoryCheckoutConcurrencyTest {
+
+    /**
+     * 小于连接池大小：等锁的线程各占一个连接，获胜的事务分配 id 时还需另取一个连接。
+     */
+    private static final int THREADS = 8;
+    private static final int ROUNDS = 20;
+
+    @Autowired
+    private InventoryService inventoryService;
+
+    @Autowired
+    private InventoryRepository inventoryRepository;
+
+    @Autowired
+    private AssetRepository assetRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CheckoutRecordRepository checkoutRecordRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final List<User> users = new ArrayList<>();
+    private Asset asset;
+    private Inventory inventory;
+    private ExecutorService executor;
+
+    @BeforeEach
+    void setUp() {
+        for (int i = 0; i < THREADS; i++) {
+            User user = new User();
+            user.setUsername("race-user-" + i);
+            user.setPassword("encoded");
+            users.add(userRepository.save(user));
+        }
+        asset = new Asset();
+        asset.setAssetNo("RACE-ASSET");
+        asset.setName("Shared laptop");
+        asset = assetRepository.save(asset);
+        inventory = new Inventory();
+        inventory.setAsset(asset);
+        inventory.setSerialNo("RACE-SN");
+        inventory = inventoryRepository.save(inventory);
+        executor = Executors.newFixedThreadPool(THREADS);
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        executor.shutdownNow();
+        executor.awaitTermination(10, TimeUnit.SECONDS);
+        jdbcTemplate.update("DELETE FROM audit_logs WHERE entity = 'Inventory' AND entity_id = ?", inventory.getId());
+        jdbcTemplate.update("DELETE FROM checkout_records WHERE inventory_id = ?", inventory.getId());
+        inventoryRepository.deleteById(inventory.getId());
+        assetRepository.deleteById(asset.getId());
+        userRepository.deleteAll(users);
+    }
+
+    @Test
+    void concurrentCheckoutAndReturn_shouldNeverDoubleCheckout() throws Exception {
+        Long inventoryId = inventory.getId();
+        for (int round = 0; round < ROUNDS; round++) {
+            List<Integer> checkedOut = race(i -> () -> {
+                CheckoutRequestDto dto = new CheckoutRequestDto();
+                dto.setUserId(users.get(i).getId());
+                inventoryService.checkout(inventoryId, dto);
+            });
+            assertThat(checkedOut).hasSize(1);
+            User winner = users.get(checkedOut.get(0));
+            Inventory current = inventoryRepository.findById(inventoryId).orElseThrow();
+            assertThat(current.getStatus()).isEqualTo(InventoryStatus.CHECKED_OUT);
+            assertThat(current.getCurrentHolder().getId()).isEqualTo(winner.getId());
+
+            // 非持有人与持有人的重复请求同时归还，只有持有人的一次成功
+            List<Integer> returned = race(i -> () -> {
+                ReturnRequestDto dto = new ReturnRequestDto();
+                dto.setUserId(i % 2 == 0 ? winner.getId() : users.get(i).getId());
+                inventoryService.returnAsset(inventoryId, dto);
+            });
+            assertThat(returned).hasSize(1);
+            assertThat(inventoryRepository.findById(inventoryId).orElseThrow().getStatus())
+                    .isEqualTo(InventoryStatus.IN_STOCK);
+        }
+
+        List<CheckoutRecord> records = checkoutRecordRepository.findByInventoryIdOrderByCreatedAtDesc(inventoryId);
+        assertThat(records).filteredOn(record -> record.getType() == CheckoutType.CHECKOUT).hasSize(ROUNDS);
+        assertThat(records).filteredOn(record -> record.getType() == CheckoutType.RETURN).hasSize(ROUNDS);
+        Integer audits = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM audit_logs WHERE entity = 'Inventory' AND entity_id = ?",
+                Integer.class, inventoryId);
+        assertThat(audits).isEqualTo(ROUNDS * 2);
+    }
+
+    /**
+     * 所有线程就绪后同时发起请求，返回成功的线程序号；失败必须是冲突，不能是其他异常。
+     */
+    private List<Integer> race(IntFunction<Action> action) throws Exception {
+        CountDownLatch ready = new CountDownLatch(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Boolean>> futures = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            Action task = action.apply(i);
+            futures.add(executor.submit((Callable<Boolean>) () -> {
+                ready.countDown();
+                start.await();
+                try {
+                    task.run();
+                    return true;
+                } catch (BusinessException ex) {
+                    assertThat(ex.getErrorCode()).isEqualTo(ErrorCode.CONFLICT);
+                    return false;
+                }
+            }));
+        }
+        ready.await();
+        start.countDown();
+        List<Integer> succeeded = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            if (futures.get(i).get(30, TimeUnit.SECONDS)) {
+                succeeded.add(i);
+            }
+        }
+        return succeeded;
+    }
+
+    @FunctionalInterface
+    private interface Action {
+        void run();
+    }
+}
@@ -0,0 +1,366 @@
+package com.project.asset.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.project.asset.domain.entity.Asset;
+import com.project.asset.domain.entity.Inventory;
+import com.project.asset.domain.entity.User;
+import com.project.asset.domain.enums.InventoryStatus;
+import com.project.asset.dto.asset.BatchCheckoutRequestDto;
+import com.project.asset.dto.asset.BatchResultDto;
+import com.project.asset.dto.asset.BatchReturnRequestDto;
+import com.project.asset.dto.asset.BatchStockInRequestDto;
+import com.project.asset.dto.asset.CheckoutRequestDto;
+import com.project.asset.dto.asset.InventoryDto;
+import com.project.asset.dto.asset.InventoryFilter;
+import com.project.asset.dto.asset.ReturnRequestDto;
+import com.project.asset.exception.BusinessException;
+import com.project.asset.repository.AssetRepository;
+import com.project.asset.repository.InventoryRepository;
+import com.project.asset.repository.UserRepository;
+import com.project.asset.response.ExportFormat;
+import com.project.asset.response.PageQuery;
+import com.project.asset.response.PageResponse;
+import jakarta.persistence.EntityManager;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import org.hibernate.SessionFactory;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+@SpringBootTest(properties = {
+    "spring.jpa.properties.hibernate.generate_statistics=true",
+    "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+            + "com.project.asset.service.InventoryServiceTest$CapturedSql"
+})
+@Transactional
+class InventoryServiceTest {
+
+    @Autowired
+    private InventoryService inventoryService;
+
+    @Autowired
+    private InventoryRepository inventoryRepository;
+
+    @Autowired
+    private AssetRepository assetRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private User holder;
+
+    @BeforeEach
+    void setUp() {
+        holder = new User();
+        holder.setUsername("holder");
+        holder.setPassword("encoded");
+        holder = userRepository.save(holder);
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < 5; i++) {
+            Asset asset = new Asset();
+            asset.setAssetNo("INV-TEST-" + i);
+            asset.setName("Laptop " + i);
+            asset = assetRepository.save(asset);
+            Inventory inventory = new Inventory();
+            inventory.setAsset(asset);
+            inventory.setSerialNo("SN-TEST-" + i);
+            inventory.setCreatedAt(now.minusDays(i));
+            inventory.setUpdatedAt(now.minusMinutes(i));
+            if (i % 2 == 0) {
+                inventory.setStatus(InventoryStatus.CHECKED_OUT);
+                inventory.setCurrentHolder(holder);
+                inventory.setCheckedOutAt(now.minusDays(10));
+                inventory.setExpectedReturnAt(i == 0 ? now.plusDays(1) : now.minusDays(1));
+            }
+            inventoryRepository.save(inventory);
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void list_shouldLoadPageWithSingleQuery() {
+        Statistics statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        PageResponse<InventoryDto> page =
+                inventoryService.list(new PageQuery(0, 3, "updatedAt", null, false, null), new InventoryFilter());
+
+        assertThat(page.getContent()).extracting(InventoryDto::getSerialNo)
+                .containsExactly("SN-TEST-0", "SN-TEST-1", "SN-TEST-2");
+        assertThat(page.getContent().get(0).getCurrentHolderName()).isEqualTo("holder");
+        assertThat(page.getContent().get(0).getAssetName()).isEqualTo("Laptop 0");
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+
+        PageResponse<InventoryDto> next = inventoryService.list(
+                new PageQuery(0, 3, "updatedAt", page.getNextCursor(), false, null), new InventoryFilter());
+        assertThat(next.getContent()).extracting(InventoryDto::getSerialNo).containsExactly("SN-TEST-3", "SN-TEST-4");
+        assertThat(next.getNextCursor()).isNull();
+    }
+
+    @Test
+    void list_withNullSortKeys_shouldPageThroughNullRowsLast() {
+        entityManager.createNativeQuery(
+                        "UPDATE inventory SET updated_at = NULL WHERE serial_no IN ('SN-TEST-1', 'SN-TEST-3')")
+                .executeUpdate();
+
+        List<String> serialNos = new ArrayList<>();
+        String after = null;
+        do {
+            PageResponse<InventoryDto> page = inventoryService.list(
+                    new PageQuery(0, 2, "updatedAt", after, false, null), new InventoryFilter());
+            page.getContent().forEach(dto -> serialNos.add(dto.getSerialNo()));
+            after = page.getNextCursor();
+        } while (after != null);
+
+        assertThat(serialNos).containsExactly("SN-TEST-0", "SN-TEST-2", "SN-TEST-4", "SN-TEST-3", "SN-TEST-1");
+    }
+
+    @Test
+    void list_offsetWithoutCount_shouldSkipCountQuery() {
+        Statistics statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        PageResponse<InventoryDto> page =
+                inventoryService.list(new PageQuery(1, 3, "updatedAt", null, false, null), new InventoryFilter());
+
+        assertThat(page.getContent()).extracting(InventoryDto::getSerialNo).containsExactly("SN-TEST-3", "SN-TEST-4");
+        assertThat(page.getTotalElements()).isNull();
+        assertThat(page.getTotalPages()).isNull();
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void list_withFilter_shouldApplyPredicatesToPageAndCount() {
+        InventoryFilter filter = new InventoryFilter();
+        filter.setHolderId(holder.getId());
+        filter.setOverdue(true);
+
+        PageResponse<InventoryDto> page = inventoryService.list(PageQuery.of(0, 10, "updatedAt"), filter);
+
+        assertThat(page.getContent()).extracting(InventoryDto::getSerialNo).containsExactly("SN-TEST-2", "SN-TEST-4");
+        assertThat(page.getTotalElements()).isEqualTo(2);
+    }
+
+    @Test
+    void list_withFields_shouldSelectOnlyRequestedColumnsAndSkipJoins() {
+        CapturedSql.STATEMENTS.clear();
+
+        PageResponse<InventoryDto> page = inventoryService.list(
+                new PageQuery(0, 10, "updatedAt", null, false, Set.of("serialNo", "status", "location")),
+                new InventoryFilter());
+
+        assertThat(page.getContent()).hasSize(5).allSatisfy(dto -> {
+            assertThat(dto.getId()).isNotNull();
+            assertThat(dto.getSerialNo()).startsWith("SN-TEST-");
+            assertThat(dto.getAssetName()).isNull();
+            assertThat(dto.getCurrentHolderName()).isNull();
+        });
+        assertThat(CapturedSql.STATEMENTS).singleElement().satisfies(sql -> assertThat(sql.toLowerCase())
+                .doesNotContain(" join ")
+                .doesNotContain("reminder_count"));
+        assertThatThrownBy(() -> inventoryService.list(
+                        new PageQuery(0, 10, "updatedAt", null, false, Set.of("password")), new InventoryFilter()))
+                .isInstanceOf(BusinessException.class);
+    }
+
+    @Test
+    void list_sortedByCreatedAt_shouldReturnTheSortKey() {
+        PageResponse<InventoryDto> page = inventoryService.list(
+                new PageQuery(0, 10, "createdAt", null, false, Set.of("createdAt")), new InventoryFilter());
+
+        assertThat(page.getContent()).extracting(InventoryDto::getCreatedAt)
+                .doesNotContainNull()
+                .isSortedAccordingTo(Comparator.reverseOrder());
+    }
+
+    @Test
+    void export_shouldStreamFilteredRowsWithoutLoadingEntities() throws Exception {
+        Statistics statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        InventoryFilter filter = new InventoryFilter();
+        filter.setHolderId(holder.getId());
+        filter.setOverdue(true);
+        ByteArrayOutputStream csv = new ByteArrayOutputStream();
+
+        long rows = inventoryService.export(filter, ExportFormat.CSV, csv);
+
+        List<String> lines = csv.toString(StandardCharsets.UTF_8).lines().toList();
+        assertThat(rows).isEqualTo(2);
+        assertThat(lines).hasSize(3);
+        assertThat(lines.get(0)).startsWith("\uFEFFid,assetId,assetName,assetNo,serialNo,status");
+        assertThat(lines.get(1)).contains(",Laptop 2,INV-TEST-2,SN-TEST-2,CHECKED_OUT,");
+        assertThat(statistics.getEntityLoadCount()).isZero();
+
+        ByteArrayOutputStream ndjson = new ByteArrayOutputStream();
+        inventoryService.export(new InventoryFilter(), ExportFormat.NDJSON, ndjson);
+        List<String> documents = ndjson.toString(StandardCharsets.UTF_8).lines().toList();
+        assertThat(documents).hasSize(5);
+        assertThat(documents.get(0)).startsWith("{\"id\":").contains("\"serialNo\":\"SN-TEST-0\"");
+    }
+
+    @Test
+    void stockInBatch_shouldBatchInsertsAndReportItemFailures() {
+        Asset asset = assetRepository.findAll().get(0);
+        List<String> serialNos = new ArrayList<>();
+        for (int i = 0; i < 250; i++) {
+            serialNos.add("SN-BATCH-" + i);
+        }
+        serialNos.add("sn-batch-7");
+        serialNos.add("SN-TEST-1");
+        serialNos.add(" ");
+        BatchStockInRequestDto dto = new BatchStockInRequestDto();
+        dto.setAssetId(asset.getId());
+        dto.setSerialNos(serialNos);
+        dto.setLocation("仓库B");
+        CapturedSql.STATEMENTS.clear();
+
+        BatchResultDto result = inventoryService.stockInBatch(dto);
+        entityManager.flush();
+
+        assertThat(result.getTotal()).isEqualTo(253);
+        assertThat(result.getSucceeded()).isEqualTo(250);
+        assertThat(result.getIds()).hasSize(250).doesNotHaveDuplicates();
+        assertThat(result.getFailures()).extracting(BatchResultDto.Failure::getIndex).containsExactly(250, 251, 252);
+        assertThat(result.getFailures().get(1).getMessage()).isEqualTo("序列号已存在");
+        assertThat(inventoryRepository.findBySerialNo("SN-BATCH-249")).get()
+                .extracting(Inventory::getLocation).isEqualTo("仓库B");
+        // 批处理复用同一条预编译语句，自增主键时每行都要单独预编译执行
+        assertThat(CapturedSql.STATEMENTS).filteredOn(sql -> sql.startsWith("insert into inventory")).hasSize(1);
+        assertThat(CapturedSql.STATEMENTS).filteredOn(sql -> sql.startsWith("insert into audit_logs")).hasSize(1);
+    }
+
+    @Test
+    void checkoutAndReturnBatch_shouldLockOnceAndReportItemFailures() {
+        Long inStock1 = inventoryRepository.findBySerialNo("SN-TEST-1").orElseThrow().getId();
+        Long inStock3 = inventoryRepository.findBySerialNo("SN-TEST-3").orElseThrow().getId();
+        Long checkedOut = inventoryRepository.findBySerialNo("SN-TEST-0").orElseThrow().getId();
+        BatchCheckoutRequestDto checkout = new BatchCheckoutRequestDto();
+        checkout.setItems(List.of(
+                checkoutItem(inStock1, holder.getId()),
+                checkoutItem(checkedOut, holder.getId()),
+                checkoutItem(inStock3, holder.getId()),
+                checkoutItem(inStock1, holder.getId()),
+                checkoutItem(-1L, holder.getId()),
+                checkoutItem(inStock3, -1L)));
+        checkout.setRemark("入职批量领用");
+        CapturedSql.STATEMENTS.clear();
+
+        BatchResultDto result = inventoryService.checkoutBatch(checkout);
+        entityManager.flush();
+
+        assertThat(result.getSucceeded()).isEqualTo(2);
+        assertThat(result.getIds()).containsExactly(inStock1, inStock3);
+        assertThat(result.getFailures()).extracting(BatchResultDto.Failure::getIndex).containsExactly(1, 3, 4, 5);
+        assertThat(CapturedSql.STATEMENTS).filteredOn(sql -> sql.contains(" from inventory ")).singleElement()
+                .satisfies(sql -> assertThat(sql).endsWith("for update"));
+        assertThat(CapturedSql.STATEMENTS).filteredOn(sql -> sql.startsWith("update inventory")).hasSize(1);
+        entityManager.clear();
+        assertThat(inventoryRepository.findById(inStock3)).get()
+                .extracting(Inventory::getStatus).isEqualTo(InventoryStatus.CHECKED_OUT);
+
+        BatchReturnRequestDto giveBack = new BatchReturnRequestDto();
+        giveBack.setItems(List.of(returnItem(inStock1, holder.getId()), returnItem(inStock1, holder.getId())));
+        BatchResultDto returned = inventoryService.returnBatch(giveBack);
+        assertThat(returned.getSucceeded()).isEqualTo(1);
+        assertThat(returned.getFailures()).singleElement()
+                .extracting(BatchResultDto.Failure::getMessage).isEqualTo("库存在本批次中重复");
+    }
+
+    @Test
+    void checkoutAndReturn_shouldReadOnlyTheUpdatedViewBack() {
+        Long inStock = inventoryRepository.findBySerialNo("SN-TEST-1").orElseThrow().getId();
+        entityManager.clear();
+        CheckoutRequestDto checkout = new CheckoutRequestDto();
+        checkout.setUserId(holder.getId());
+        CapturedSql.STATEMENTS.clear();
+
+        InventoryDto checkedOut = inventoryService.checkout(inStock, checkout);
+        ReturnRequestDto giveBack = new ReturnRequestDto();
+        giveBack.setUserId(holder.getId());
+        InventoryDto returned = inventoryService.returnAsset(inStock, giveBack);
+        entityManager.flush();
+
+        assertThat(checkedOut.getStatus()).isEqualTo(InventoryStatus.CHECKED_OUT);
+        assertThat(checkedOut.getCurrentHolderId()).isEqualTo(holder.getId());
+        assertThat(checkedOut.getCurrentHolderName()).isEqualTo("holder");
+        assertThat(checkedOut.getSerialNo()).isEqualTo("SN-TEST-1");
+        assertThat(checkedOut.getAssetId()).isNotNull();
+        assertThat(checkedOut.getAssetName()).isNotNull();
+        assertThat(returned.getStatus()).isEqualTo(InventoryStatus.IN_STOCK);
+        assertThat(returned.getCurrentHolderId()).isNull();
+        assertThat(returned.getSerialNo()).isEqualTo("SN-TEST-1");
+        // 每次只按主键读取一次投影，不单独查询库存实体或用户
+        assertThat(CapturedSql.STATEMENTS)
+                .filteredOn(sql -> sql.startsWith("select") && !sql.contains("id_generators"))
+                .hasSize(2)
+                .allSatisfy(sql -> assertThat(sql).contains("join asset").contains("where i1_0.id=?"));
+        assertThat(CapturedSql.STATEMENTS).filteredOn(sql -> sql.startsWith("update inventory")).hasSize(2);
+    }
+
+    @Test
+    void checkoutAndReturn_shouldReportMissingInventoryBeforeMissingUser() {
+        CheckoutRequestDto checkout = new CheckoutRequestDto();
+        checkout.setUserId(-1L);
+        assertThatThrownBy(() -> inventoryService.checkout(-1L, checkout)).hasMessage("库存不存在");
+        Long inStock = inventoryRepository.findBySerialNo("SN-TEST-1").orElseThrow().getId();
+        assertThatThrownBy(() -> inventoryService.checkout(inStock, checkout)).hasMessage("用户不存在");
+
+        Long checkedOut = inventoryRepository.findBySerialNo("SN-TEST-0").orElseThrow().getId();
+        ReturnRequestDto giveBack = new ReturnRequestDto();
+        giveBack.setUserId(-1L);
+        assertThatThrownBy(() -> inventoryService.returnAsset(-1L, giveBack)).hasMessage("库存不存在");
+        assertThatThrownBy(() -> inventoryService.returnAsset(inStock, giveBack)).hasMessage("资产不在领用状态");
+        assertThatThrownBy(() -> inventoryService.returnAsset(checkedOut, giveBack)).hasMessage("用户不存在");
+    }
+
+    private static BatchCheckoutRequestDto.Item checkoutItem(Long inventoryId, Long userId) {
+        BatchCheckoutRequestDto.Item item = new BatchCheckoutRequestDto.Item();
+        item.setInventoryId(inventoryId);
+        item.setUserId(userId);
+        return item;
+    }
+
+    private static BatchReturnRequestDto.Item returnItem(Long inventoryId, Long userId) {
+        BatchReturnRequestDto.Item item = new BatchReturnRequestDto.Item();
+        item.setInventoryId(inventoryId);
+        item.setUserId(userId);
+        return item;
+    }
+
+    @Test
+    void overdueAndHolderViews_shouldUseProjection() {
+        assertThat(inventoryService.listOverdue()).extracting(InventoryDto::getSerialNo)
+                .containsExactlyInAnyOrder("SN-TEST-2", "SN-TEST-4");
+        assertThat(inventoryService.listByHolder(holder.getId())).hasSize(3)
+                .allSatisfy(dto -> assertThat(dto.getCurrentHolderName()).isEqualTo("holder"));
+    }
+
+    public static class CapturedSql implements StatementInspector {
+
+        static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            STATEMENTS.add(sql);
+            return sql;
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.project.asset.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.project.asset.exception.BusinessException;
+import com.project.asset.exception.ErrorCode;
+import com.project.asset.search.SearchDocument;
+import com.project.asset.search.SearchDocumentType;
+import com.project.asset.search.SearchIndex;
+import org.junit.jupiter.api.Test;
+
+class SearchServiceTest {
+
+    private final SearchService searchService = new SearchService(null, null);
+
+    @Test
+    void search_withOversizedPaging_shouldBeRejectedBeforeTouchingTheIndex() {
+        searchService.onDocumentChanged(new SearchDocument(SearchDocumentType.ASSET, 1L, "AS-1", "Laptop", null));
+
+        assertThat(searchService.search("laptop", null, 99, 100).getTotalElements()).isEqualTo(1);
+        assertRejected(0, SearchIndex.MAX_PAGE_SIZE + 1);
+        assertRejected(100, 100);
+        // page * size 溢出为负数
+        assertRejected(Integer.MAX_VALUE / 50, 100);
+    }
+
+    private void assertRejected(int page, int size) {
+        assertThatThrownBy(() -> searchService.search("laptop", null, page, size))
+                .isInstanceOf(BusinessException.class)
+                .extracting(ex -> ((BusinessException) ex).getErrorCode())
+                .isEqualTo(ErrorCode.BAD_REQUEST);
+    }
+}
@@ -27,6 +27,10 @@ const authRequest = async <T>(url: string, data: unknown) => {
   }
   throw new Error(payload?.message || '请求失败')
 }
+
+// 刷新令牌只能使用一次，并发的 401 共享同一次刷新
+let pendingRefresh: Promise<void> | null = null
+
 interface JwtClaims {
   sub: string
   username?: string
@@ -73,10 +77,19 @@ export const useAuthStore = defineStore('auth', {
       if (!this.refreshToken) {
         throw new Error('No refresh token')
       }
-      const data = await authRequest<TokenResponse>('/auth/refresh', { refreshToken: this.refreshToken })
-      this.setTokens(data.accessToken, data.refreshToken)
+      if (!pendingRefresh) {
+        pendingRefresh = authRequest<TokenResponse>('/auth/refresh', { refreshToken: this.refreshToken })
+          .then((data) => this.setTokens(data.accessToken, data.refreshToken))
+          .finally(() => {
+            pendingRefresh = null
+          })
+      }
+      await pendingRefresh
     },
     async logout() {
+      if (this.refreshToken) {
+        await authRequest('/auth/logout', { refreshToken: this.refreshToken }).catch(() => undefined)
+      }
       this.accessToken = ''
       this.refreshToken = ''
       this.username = ''
@@ -6,9 +6,10 @@ export interface ApiResponse<T> {
 
 export interface PageResponse<T> {
   content: T[]
-  totalElements: number
-  totalPages: number
+  totalElements?: number
+  totalPages?: number
   page: number
   size: number
+  nextCursor?: string | null
 }
 
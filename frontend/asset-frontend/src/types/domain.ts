@@ -47,6 +47,8 @@ export interface Inventory {
   serialNo: string
   status: string
   location?: string
+  createdAt?: string
+  updatedAt?: string
   currentHolderId?: number
   currentHolderName?: string
   checkedOutAt?: string